@@ -1,6 +1,6 @@
 #!/bin/bash
 #
-# Copyright 2018-2023 Deere & Company
+# Copyright 2018-2026 Deere & Company
 #
 # Licensed under the Apache License, Version 2.0 (the "License");
 # you may not use this file except in compliance with the License.
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.Work;
+import net.logstash.logback.argument.StructuredArgument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Work#addToMDC(String, String)}, which every work calls for each piece of its metadata:
+ * adding one more key to work that already has some metadata, and a new work adding the five keys an http work adds.
+ * Also measures {@link Work#getMetadata()}, which zombie logging calls.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar AddToMdc}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AddToMdcBenchmark {
+    private Work work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MDC.clear();
+        work = new BenchmarkWork();
+        work.addToMDC("remote_address", "10.0.0.1");
+        work.addToMDC("path", "GET /users");
+    }
+
+    @Benchmark
+    public String addToMDC() {
+        return work.addToMDC("user_id", "test_user");
+    }
+
+    @Benchmark
+    public List<StructuredArgument> getMetadata() {
+        return work.getMetadata();
+    }
+
+    @Benchmark
+    public Work newWorkWithMetadata() {
+        MDC.clear();
+        Work newWork = new BenchmarkWork();
+        newWork.addToMDC("remote_address", "10.0.0.1");
+        newWork.addToMDC("session_id", "3C5E2A0B");
+        newWork.addToMDC("remote_user", "test_user");
+        newWork.addToMDC("path", "GET /users");
+        newWork.addToMDC("accept", "application/json");
+        return newWork;
+    }
+}
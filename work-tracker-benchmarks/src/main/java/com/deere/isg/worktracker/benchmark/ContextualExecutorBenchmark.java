@@ -0,0 +1,141 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.ContextualExecutorService;
+import com.deere.isg.worktracker.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link ContextualExecutorService#submit(Runnable)} adds to handing off a task:
+ * copying the metadata of the current request and putting it in place around the task.
+ * The tasks run on the calling thread so that only the hand off is measured,
+ * {@code plain} is the same executor without the context.
+ * {@code fanOut} submits 100 tasks from one request without running them, the way an endpoint that fans out does,
+ * to measure what the submitting thread pays for each of them.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar ContextualExecutor}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ContextualExecutorBenchmark {
+    private static final int FAN_OUT = 100;
+    private static final Runnable TASK = () -> {
+    };
+
+    @Param({"plain", "contextual"})
+    private String executor;
+
+    private ExecutorService executorService;
+    private ExecutorService fanOutService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executorService = "contextual".equals(executor)
+                ? new ContextualExecutorService(new CallerRunsExecutorService())
+                : new CallerRunsExecutorService();
+        fanOutService = "contextual".equals(executor)
+                ? new ContextualExecutorService(new DiscardingExecutorService())
+                : new DiscardingExecutorService();
+
+        MDC.clear();
+        Work work = new BenchmarkWork();
+        work.addToMDC("remote_address", "10.0.0.1");
+        work.addToMDC("session_id", "3C5E2A0B");
+        work.addToMDC("remote_user", "test_user");
+        work.addToMDC("path", "GET /users");
+        work.addToMDC("accept", "application/json");
+    }
+
+    @Benchmark
+    public Object submit() throws ExecutionException, InterruptedException {
+        return executorService.submit(TASK).get();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public void fanOut(Blackhole blackhole) {
+        for (int i = 0; i < FAN_OUT; i++) {
+            blackhole.consume(fanOutService.submit(TASK));
+        }
+    }
+
+    private static class DiscardingExecutorService extends CallerRunsExecutorService {
+        @Override
+        public void execute(Runnable command) {
+        }
+    }
+
+    private static class CallerRunsExecutorService extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+}
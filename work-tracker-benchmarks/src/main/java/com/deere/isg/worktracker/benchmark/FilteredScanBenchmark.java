@@ -0,0 +1,90 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.PartitionedOutstandingWork;
+import com.deere.isg.worktracker.TaskWork;
+import com.deere.isg.worktracker.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures going through the outstanding work of one type when it is outnumbered 20 to 1 by background tasks,
+ * which is what the flood sensor and zombie detector do when they are filtered to the type of http work.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar FilteredScan}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilteredScanBenchmark {
+    private static final int TASKS_PER_REQUEST = 20;
+
+    @Param({"outstanding", "partitioned"})
+    private String tracker;
+
+    @Param({"100", "500"})
+    private int requests;
+
+    private OutstandingWorkTracker<BenchmarkWork> filtered;
+    private final List<Outstanding<Work>.Ticket> tickets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OutstandingWork<Work> outstanding = "partitioned".equals(tracker)
+                ? new PartitionedOutstandingWork<>(BenchmarkWork.class, TaskWork.class)
+                : new OutstandingWork<>();
+        for (int i = 0; i < requests; i++) {
+            tickets.add(outstanding.create(new BenchmarkWork()));
+            for (int j = 0; j < TASKS_PER_REQUEST; j++) {
+                tickets.add(outstanding.create(new TaskWork("benchmark")));
+            }
+        }
+        filtered = outstanding.filterTo(BenchmarkWork.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tickets.forEach(Outstanding.Ticket::close);
+        tickets.clear();
+    }
+
+    @Benchmark
+    public long countFiltered() {
+        return filtered.stream().count();
+    }
+}
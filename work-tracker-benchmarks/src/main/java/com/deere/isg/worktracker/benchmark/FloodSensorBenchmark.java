@@ -0,0 +1,133 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.servlet.ConnectionLimits;
+import com.deere.isg.worktracker.servlet.HttpFloodSensor;
+import com.deere.isg.worktracker.servlet.HttpWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.deere.isg.worktracker.servlet.ConnectionLimits.SERVICE;
+import static com.deere.isg.worktracker.servlet.ConnectionLimits.SESSION;
+import static com.deere.isg.worktracker.servlet.ConnectionLimits.TOTAL;
+import static com.deere.isg.worktracker.servlet.ConnectionLimits.USER;
+
+/**
+ * Measures the check the {@code RequestBouncerFilter} makes for every request against the default limits,
+ * with {@code size} requests outstanding from 50 users, sessions and services. The limits are set high enough
+ * that the request is let through, so that every limit is checked.
+ * <p>
+ * The {@code indexed} limits are the defaults, which count by attribute with an index.
+ * The {@code scan} limits check the same attributes by going through every outstanding work.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar FloodSensor}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FloodSensorBenchmark {
+    private static final int USERS = 50;
+
+    @Param({"indexed", "scan"})
+    private String limits;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private OutstandingWork<HttpWork> outstanding;
+    private HttpFloodSensor<HttpWork> floodSensor;
+    private HttpWork incoming;
+    private MockHttpServletResponse response;
+    private final List<Outstanding<HttpWork>.Ticket> tickets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outstanding = new OutstandingWork<>();
+        floodSensor = new HttpFloodSensor<>(outstanding, "scan".equals(limits) ? scanLimits() : indexedLimits());
+        for (int i = 0; i < size; i++) {
+            tickets.add(outstanding.create(work(i % USERS)));
+        }
+        incoming = work(0);
+        tickets.add(outstanding.create(incoming));
+        response = new MockHttpServletResponse();
+        MDC.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tickets.forEach(Outstanding.Ticket::close);
+        tickets.clear();
+    }
+
+    @Benchmark
+    public boolean mayProceedOrRedirectTooManyRequest() {
+        incoming.removeLimit(TOTAL);
+        incoming.removeLimit(SESSION);
+        incoming.removeLimit(USER);
+        incoming.removeLimit(SERVICE);
+        return floodSensor.mayProceedOrRedirectTooManyRequest(response);
+    }
+
+    private ConnectionLimits<HttpWork> indexedLimits() {
+        return new ConnectionLimits<>(size * 2, true);
+    }
+
+    private ConnectionLimits<HttpWork> scanLimits() {
+        ConnectionLimits<HttpWork> connectionLimits = new ConnectionLimits<>(false);
+        connectionLimits.addConnectionLimit(size * 2, TOTAL).test(work -> true);
+        connectionLimits.addConnectionLimit(size * 2, SESSION).buildTest(incoming ->
+                work -> Objects.equals(work.getSessionId(), incoming.getSessionId()));
+        connectionLimits.addConnectionLimit(size * 2, USER).buildTest(incoming ->
+                work -> Objects.equals(work.getRemoteUser(), incoming.getRemoteUser()));
+        connectionLimits.addConnectionLimit(size * 2, SERVICE).buildTest(incoming ->
+                work -> Objects.equals(work.getService(), incoming.getService()));
+        return connectionLimits;
+    }
+
+    private static HttpWork work(int user) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/service/" + user);
+        request.setServletPath("/service/" + user);
+        request.setRemoteUser("user_" + user);
+        request.setSession(new MockHttpSession(null, "session_" + user));
+        return new HttpWork(request);
+    }
+}
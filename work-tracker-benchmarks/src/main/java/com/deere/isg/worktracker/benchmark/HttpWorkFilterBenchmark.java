@@ -0,0 +1,92 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.SampledOutstandingWork;
+import com.deere.isg.worktracker.servlet.HttpWork;
+import com.deere.isg.worktracker.servlet.HttpWorkFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.deere.isg.worktracker.servlet.WorkContextListener.OUTSTANDING_ATTR;
+
+/**
+ * Measures what {@link HttpWorkFilter} adds to every request: building the work, tracking it,
+ * and logging its start and end, with a chain that does nothing.
+ * The logs are encoded but thrown away, see {@code logback.xml}.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar HttpWorkFilter}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HttpWorkFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"outstanding", "sampled"})
+    private String tracker;
+
+    private HttpWorkFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServletException {
+        OutstandingWork<HttpWork> outstanding = "sampled".equals(tracker)
+                ? new SampledOutstandingWork<>(100)
+                : new OutstandingWork<>();
+        MockServletContext context = new MockServletContext();
+        context.setAttribute(OUTSTANDING_ATTR, outstanding);
+
+        filter = new HttpWorkFilter();
+        filter.init(new MockFilterConfig(context));
+
+        request = new MockHttpServletRequest(context, "GET", "/users/123/orders");
+        request.setServletPath("/users/123/orders");
+        request.setRemoteUser("test_user");
+        request.addHeader("Accept", "application/json");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilter() throws IOException, ServletException {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+    }
+}
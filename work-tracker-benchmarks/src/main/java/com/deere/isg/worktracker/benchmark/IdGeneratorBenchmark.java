@@ -0,0 +1,69 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.IdGenerator;
+import com.deere.isg.worktracker.TimeOrderedIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating request ids with random UUIDs, which share one {@code SecureRandom},
+ * and with the {@link TimeOrderedIdGenerator}, alone and with every processor generating at once.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar IdGenerator}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+    @Param({"randomUuid", "timeOrdered"})
+    private String generator;
+
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        idGenerator = "randomUuid".equals(generator) ? IdGenerator.randomUuid() : new TimeOrderedIdGenerator();
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String nextIdContended() {
+        return idGenerator.nextId();
+    }
+}
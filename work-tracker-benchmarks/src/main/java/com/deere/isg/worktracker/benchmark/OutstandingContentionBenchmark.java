@@ -0,0 +1,98 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.StripedOutstandingWork;
+import com.deere.isg.worktracker.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening and closing a ticket, which every request does, with one thread and with
+ * every available processor doing it at once.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar OutstandingContention}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutstandingContentionBenchmark {
+    @Param({"outstanding", "striped"})
+    private String tracker;
+
+    /**
+     * Long running work that stays open for the whole run, like the slow requests
+     * that are usually outstanding next to the short ones.
+     */
+    @Param({"0", "100"})
+    private int background;
+
+    private OutstandingWork<Work> outstanding;
+    private final List<Outstanding<Work>.Ticket> backgroundTickets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outstanding = "striped".equals(tracker) ? new StripedOutstandingWork<>() : new OutstandingWork<>();
+        for (int i = 0; i < background; i++) {
+            backgroundTickets.add(outstanding.create(new BenchmarkWork()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backgroundTickets.forEach(Outstanding.Ticket::close);
+        backgroundTickets.clear();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Work openAndClose() {
+        return openAndCloseTicket();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Work openAndCloseContended() {
+        return openAndCloseTicket();
+    }
+
+    private Work openAndCloseTicket() {
+        Work work = new BenchmarkWork();
+        outstanding.create(work).close();
+        return work;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.spring.KeyCleanser;
+import com.deere.isg.worktracker.spring.PathMetadataCleanser;
+import com.deere.isg.worktracker.spring.SpringWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.web.servlet.HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE;
+
+/**
+ * Measures what Spring requests pay once Spring has matched the path:
+ * turning the path into its pattern with {@link SpringWork}, and cleansing each path variable name
+ * with {@link PathMetadataCleanser}. {@code cleanseReservedKey} cleanses a name like {@code id},
+ * which is given context from the path, {@code cleanseKey} a name that is only standardized.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar SpringWork}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpringWorkBenchmark {
+    private static final String URI = "/orgs/42/users/a1b2c3/orders";
+
+    private PathMetadataCleanser cleanser;
+    private MockHttpServletRequest request;
+    private BenchmarkSpringWork work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MDC.clear();
+        cleanser = new PathMetadataCleanser();
+        request = new MockHttpServletRequest("GET", URI);
+        Map<String, String> pathVariables = new LinkedHashMap<>();
+        pathVariables.put("orgId", "42");
+        pathVariables.put("id", "a1b2c3");
+        request.setAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, pathVariables);
+        work = new BenchmarkSpringWork(request);
+    }
+
+    @Benchmark
+    public String setRequestURLPattern() {
+        work.setRequestURLPattern(request, cleanser);
+        return work.getRequestURLPattern();
+    }
+
+    @Benchmark
+    public String cleanseKey() {
+        return cleanser.cleanse("orgId", "42", URI);
+    }
+
+    @Benchmark
+    public String cleanseReservedKey() {
+        return cleanser.cleanse("id", "a1b2c3", URI);
+    }
+
+    private static class BenchmarkSpringWork extends SpringWork {
+        BenchmarkSpringWork(ServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        protected void setRequestURLPattern(HttpServletRequest request, KeyCleanser cleanser) {
+            super.setRequestURLPattern(request, cleanser);
+        }
+    }
+}
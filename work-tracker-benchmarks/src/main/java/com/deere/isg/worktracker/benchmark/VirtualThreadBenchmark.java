@@ -0,0 +1,117 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.OutstandingWork;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks 100,000 requests at once, each on its own virtual thread the way a server that starts
+ * a virtual thread per request would, with and without every request starting a thread of its own.
+ * The score is the time per request. The threads started by requests look up their current work,
+ * which they inherit from the request on Java 8 to 17 but not on Java 21 and later.
+ * <p>
+ * Needs Java 21 or later. Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar VirtualThread}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+    private static final int REQUESTS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean startThread;
+
+    private OutstandingWork<BenchmarkWork> outstanding;
+    private ThreadFactory virtualThreads;
+    private final AtomicInteger inherited = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        outstanding = new OutstandingWork<>();
+        // Thread.ofVirtual().factory(), looked up so the benchmarks still build for Java 8
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        virtualThreads = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+                .getMethod("factory")
+                .invoke(builder);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int concurrentRequests() throws InterruptedException {
+        CountDownLatch opened = new CountDownLatch(REQUESTS);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            virtualThreads.newThread(() -> {
+                outstanding.doInTransaction(new BenchmarkWork(), () -> {
+                    if (startThread) {
+                        startChild();
+                    }
+                    opened.countDown();
+                    awaitUninterruptibly(release);
+                });
+                done.countDown();
+            }).start();
+        }
+        opened.await();
+        release.countDown();
+        done.await();
+        return inherited.get();
+    }
+
+    private void startChild() {
+        Thread child = virtualThreads.newThread(() -> {
+            if (outstanding.current().isPresent()) {
+                inherited.incrementAndGet();
+            }
+        });
+        child.start();
+        try {
+            child.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
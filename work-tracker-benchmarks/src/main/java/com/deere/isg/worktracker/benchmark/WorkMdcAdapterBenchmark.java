@@ -0,0 +1,97 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.Work;
+import com.deere.isg.worktracker.WorkMdcAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a new work adding the five keys an http work adds, with Logback's own MDC adapter
+ * and with the {@link WorkMdcAdapter}, both without logging and when one log event is encoded with the metadata.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar WorkMdcAdapter}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WorkMdcAdapterBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkMdcAdapterBenchmark.class);
+
+    @Param({"logback", "work"})
+    private String adapter;
+
+    private WorkMdcAdapter workMdcAdapter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("work".equals(adapter)) {
+            workMdcAdapter = WorkMdcAdapter.install(new OutstandingWork<>());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (workMdcAdapter != null) {
+            workMdcAdapter.uninstall();
+        }
+    }
+
+    @Benchmark
+    public Work newWorkWithMetadata() {
+        MDC.clear();
+        return newWork();
+    }
+
+    @Benchmark
+    public Work newWorkWithMetadataLogged() {
+        MDC.clear();
+        Work work = newWork();
+        LOGGER.info("Request ended");
+        return work;
+    }
+
+    private Work newWork() {
+        Work work = new BenchmarkWork();
+        work.addToMDC("remote_address", "10.0.0.1");
+        work.addToMDC("session_id", "3C5E2A0B");
+        work.addToMDC("remote_user", "test_user");
+        work.addToMDC("path", "GET /users");
+        work.addToMDC("accept", "application/json");
+        return work;
+    }
+}
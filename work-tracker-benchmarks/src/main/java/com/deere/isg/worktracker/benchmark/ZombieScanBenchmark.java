@@ -0,0 +1,95 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark;
+
+import com.deere.clock.Clock;
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.StartOrderedOutstandingWork;
+import com.deere.isg.worktracker.Work;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the {@code ZombieDetector} does every 30 seconds when lots of long-lived work is outstanding,
+ * and finding the oldest outstanding work.
+ * A few works are older than 30 seconds and the rest started within the last few seconds.
+ * <p>
+ * Run with {@code java -jar work-tracker-benchmarks/target/benchmarks.jar ZombieScan}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZombieScanBenchmark {
+    private static final long SECOND_30 = TimeUnit.SECONDS.toMillis(30);
+    private static final int OLD_WORK = 10;
+
+    @Param({"outstanding", "startOrdered"})
+    private String tracker;
+
+    @Param({"10000", "50000"})
+    private int size;
+
+    private OutstandingWork<Work> outstanding;
+    private final List<Outstanding<Work>.Ticket> tickets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outstanding = "startOrdered".equals(tracker) ? new StartOrderedOutstandingWork<>() : new OutstandingWork<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            Clock.freeze(i < OLD_WORK ? now - 2 * SECOND_30 : now - 5000 + i * 5000L / size);
+            tickets.add(outstanding.create(new BenchmarkWork()));
+        }
+        Clock.freeze(now);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tickets.forEach(Outstanding.Ticket::close);
+        tickets.clear();
+        Clock.clear();
+    }
+
+    @Benchmark
+    public long findLongRunning() {
+        return outstanding.streamOlderThan(SECOND_30).count();
+    }
+
+    @Benchmark
+    public Optional<Work> findOldest() {
+        return outstanding.oldest();
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark.load;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * A small Spring Boot application with one endpoint that takes path variables, to put load on.
+ */
+@Configuration
+@EnableAutoConfiguration
+@Import({LoadWorkTrackerConfig.class, LoadApplication.OrderController.class})
+public class LoadApplication {
+    public static final String PATH = "/users/{userId}/orders/{orderId}";
+
+    @RestController
+    public static class OrderController {
+        @GetMapping(PATH)
+        public String order(@PathVariable("userId") String userId, @PathVariable("orderId") String orderId) {
+            return "{\"userId\":\"" + userId + "\",\"orderId\":\"" + orderId + "\"}";
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark.load;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts {@link LoadApplication} on the loopback interface and sends it requests from several threads at once,
+ * first with every {@link TrackerComponent} switched on, then with each one switched off in turn,
+ * and finally with none of them. For each it reports the throughput, the latency percentiles,
+ * and how much the server allocated per request.
+ * <p>
+ * Run with {@code java -cp work-tracker-benchmarks/target/benchmarks.jar
+ * com.deere.isg.worktracker.benchmark.load.LoadHarness --threads=8 --warmup=10 --seconds=20}, adding
+ * {@code --add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED} on Java 9 and later
+ * for the Spring and Tomcat versions Spring Boot 1.5 uses.
+ * Pass {@code --components=WORK_FILTER,REQUEST_BOUNCER_FILTER} to only run with those components switched on.
+ * Every scenario runs in its own JVM unless {@code --fork=false} is passed.
+ */
+public final class LoadHarness {
+    private static final int BUFFER_SIZE = 1024;
+    private static final String RESULT = "| ";
+    private static final String HEADER = String.format(RESULT + "%-32s | %10s | %8s | %8s | %8s | %11s |",
+            "Scenario", "Requests/s", "p50 us", "p99 us", "p999 us", "Alloc B/req");
+
+    private final int threads;
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    LoadHarness(int threads, int warmupSeconds, int measureSeconds) {
+        this.threads = threads;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.measureNanos = TimeUnit.SECONDS.toNanos(measureSeconds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        LoadHarness harness = new LoadHarness(
+                Integer.parseInt(options.getOrDefault("threads", "8")),
+                Integer.parseInt(options.getOrDefault("warmup", "10")),
+                Integer.parseInt(options.getOrDefault("seconds", "20")));
+        boolean fork = Boolean.parseBoolean(options.getOrDefault("fork", "true"));
+
+        Map<String, Set<TrackerComponent>> scenarios = new LinkedHashMap<>();
+        if (options.containsKey("components")) {
+            String components = options.get("components");
+            scenarios.put(options.getOrDefault("name", components), TrackerComponent.parse(components));
+        } else {
+            scenarios.put("all", EnumSet.allOf(TrackerComponent.class));
+            for (TrackerComponent component : TrackerComponent.values()) {
+                Set<TrackerComponent> without = EnumSet.allOf(TrackerComponent.class);
+                without.remove(component);
+                scenarios.put("without " + component, without);
+            }
+            scenarios.put("none", EnumSet.noneOf(TrackerComponent.class));
+        }
+
+        List<String> report = new ArrayList<>();
+        for (Map.Entry<String, Set<TrackerComponent>> scenario : scenarios.entrySet()) {
+            System.out.println("Running " + scenario.getKey());
+            report.add(fork
+                    ? harness.runForked(scenario.getKey(), scenario.getValue())
+                    : harness.run(scenario.getValue()).format(scenario.getKey()));
+        }
+
+        System.out.println();
+        System.out.println(harness.threads + " threads, " + TimeUnit.NANOSECONDS.toSeconds(harness.measureNanos)
+                + " seconds each, " + Runtime.getRuntime().availableProcessors() + " processors");
+        System.out.println(HEADER);
+        System.out.println(HEADER.replaceAll("[^|]", "-"));
+        report.forEach(row -> System.out.println(RESULT + row));
+
+        // Tomcat can leave non daemon threads behind after it stops
+        System.exit(0);
+    }
+
+    /**
+     * Runs the scenario in a new JVM with the same arguments as this one,
+     * so that it is not measured with the code another scenario compiled.
+     */
+    String runForked(String name, Set<TrackerComponent> components) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), LoadHarness.class.getName(),
+                "--fork=false",
+                "--threads=" + threads,
+                "--warmup=" + TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+                "--seconds=" + TimeUnit.NANOSECONDS.toSeconds(measureNanos),
+                "--components=" + TrackerComponent.format(components),
+                "--name=" + name));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(output::add);
+        }
+        process.waitFor();
+
+        return output.stream()
+                .filter(line -> line.startsWith(RESULT))
+                .map(line -> line.substring(RESULT.length()))
+                .reduce((header, row) -> row)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Scenario " + name + " failed:" + System.lineSeparator()
+                                + String.join(System.lineSeparator(), output)));
+    }
+
+    Result run(Set<TrackerComponent> components) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "server.address=127.0.0.1",
+                        "server.port=0",
+                        "server.tomcat.max-threads=" + Math.max(threads, 10),
+                        TrackerComponent.PROPERTY + "=" + TrackerComponent.format(components))
+                .run()) {
+            int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+            URL url = toUrl(port);
+
+            drive(url, warmupNanos);
+            return drive(url, measureNanos);
+        }
+    }
+
+    /**
+     * Sends requests from every thread for the given time. The server's allocations are everything allocated
+     * while the requests were running, except what the client threads allocated.
+     */
+    private Result drive(URL url, long nanos) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Client client = new Client(url, start, nanos);
+            clients.add(client);
+            client.start();
+        }
+
+        long allocatedBefore = totalAllocatedBytes();
+        start.countDown();
+        for (Client client : clients) {
+            client.join();
+        }
+        long allocated = totalAllocatedBytes() - allocatedBefore;
+
+        Result result = new Result(nanos);
+        for (Client client : clients) {
+            if (client.failure != null) {
+                throw new IllegalStateException("Request failed", client.failure);
+            }
+            allocated -= client.allocated;
+            result.add(client.latencies, client.count);
+        }
+        result.allocated = allocated;
+        return result;
+    }
+
+    private long totalAllocatedBytes() {
+        long[] ids = threadBean.getAllThreadIds();
+        return Arrays.stream(threadBean.getThreadAllocatedBytes(ids)).filter(bytes -> bytes > 0).sum();
+    }
+
+    private static URL toUrl(int port) {
+        try {
+            return new URL("http://127.0.0.1:" + port + "/users/test_user/orders/a1b2c3");
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+        return options;
+    }
+
+    private final class Client extends Thread {
+        private final URL url;
+        private final CountDownLatch start;
+        private final long nanos;
+        private long[] latencies = new long[BUFFER_SIZE * 64];
+        private int count;
+        private long allocated;
+        private Exception failure;
+
+        Client(URL url, CountDownLatch start, long nanos) {
+            super("load-client");
+            this.url = url;
+            this.start = start;
+            this.nanos = nanos;
+        }
+
+        @Override
+        public void run() {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try {
+                start.await();
+                long allocatedBefore = threadBean.getThreadAllocatedBytes(getId());
+                long end = System.nanoTime() + nanos;
+                long now = System.nanoTime();
+                while (now < end) {
+                    request(buffer);
+                    long finished = System.nanoTime();
+                    record(finished - now);
+                    now = finished;
+                }
+                allocated = threadBean.getThreadAllocatedBytes(getId()) - allocatedBefore;
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+
+        private void request(byte[] buffer) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected status " + status);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                while (in.read(buffer) >= 0) {
+                    // read the whole body so that the connection is kept alive
+                }
+            }
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+
+    static final class Result {
+        private final long nanos;
+        private long[] latencies = new long[0];
+        private long allocated;
+
+        Result(long nanos) {
+            this.nanos = nanos;
+        }
+
+        void add(long[] more, int count) {
+            int length = latencies.length;
+            latencies = Arrays.copyOf(latencies, length + count);
+            System.arraycopy(more, 0, latencies, length, count);
+        }
+
+        double throughput() {
+            return latencies.length / (nanos / 1e9);
+        }
+
+        double percentileMicros(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e3;
+        }
+
+        double allocatedPerRequest() {
+            return latencies.length == 0 ? 0 : (double) allocated / latencies.length;
+        }
+
+        String format(String name) {
+            return String.format("%-32s | %10.0f | %8.0f | %8.0f | %8.0f | %11.0f |",
+                    name, throughput(), percentileMicros(0.5), percentileMicros(0.99), percentileMicros(0.999),
+                    allocatedPerRequest());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark.load;
+
+import com.deere.isg.worktracker.spring.SpringLoggerHandlerInterceptor;
+import com.deere.isg.worktracker.spring.SpringRequestBouncerHandlerInterceptor;
+import com.deere.isg.worktracker.spring.SpringWork;
+import com.deere.isg.worktracker.spring.boot.WorkTrackerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+import javax.servlet.ServletRequest;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.BOUNCER_INTERCEPTOR;
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.LOGGER_INTERCEPTOR;
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.POST_AUTH_FILTER;
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.REQUEST_BOUNCER_FILTER;
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.WORK_FILTER;
+import static com.deere.isg.worktracker.benchmark.load.TrackerComponent.ZOMBIE_FILTER;
+
+/**
+ * The default {@link WorkTrackerConfigurer} set up, with the components that are not in
+ * {@value TrackerComponent#PROPERTY} switched off. The limits are high enough that no request is rejected,
+ * but every limit is still checked.
+ */
+@Configuration
+public class LoadWorkTrackerConfig extends WorkTrackerConfigurer<SpringWork> {
+    private static final int LIMIT = 100_000;
+
+    @Value("${" + TrackerComponent.PROPERTY + "}")
+    private String componentNames;
+    private Set<TrackerComponent> components;
+
+    public LoadWorkTrackerConfig() {
+        setLimit(LIMIT);
+    }
+
+    @Override
+    public Function<ServletRequest, SpringWork> workFactory() {
+        return SpringWork::new;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (isOn(LOGGER_INTERCEPTOR)) {
+            registry.addInterceptor(new SpringLoggerHandlerInterceptor(outstanding()));
+        }
+        if (isOn(BOUNCER_INTERCEPTOR)) {
+            registry.addInterceptor(new SpringRequestBouncerHandlerInterceptor(floodSensor()));
+        }
+    }
+
+    @Override
+    @Bean
+    public FilterRegistrationBean springWorkFilterRegistrationBean() {
+        return enabledIf(super.springWorkFilterRegistrationBean(), WORK_FILTER);
+    }
+
+    @Override
+    @Bean
+    public FilterRegistrationBean requestBouncerFilterRegistrationBean() {
+        return enabledIf(super.requestBouncerFilterRegistrationBean(), REQUEST_BOUNCER_FILTER);
+    }
+
+    @Override
+    @Bean
+    public FilterRegistrationBean zombieFilterRegistrationBean() {
+        FilterRegistrationBean filter = super.zombieFilterRegistrationBean();
+        // registered under the same name as the post auth filter, which would keep one of them out
+        filter.setName("zombieFilter");
+        return enabledIf(filter, ZOMBIE_FILTER);
+    }
+
+    @Override
+    @Bean
+    public FilterRegistrationBean authFilterRegistrationBean() {
+        return enabledIf(super.authFilterRegistrationBean(), POST_AUTH_FILTER);
+    }
+
+    private FilterRegistrationBean enabledIf(FilterRegistrationBean filter, TrackerComponent component) {
+        filter.setEnabled(isOn(component));
+        return filter;
+    }
+
+    private boolean isOn(TrackerComponent component) {
+        if (components == null) {
+            components = TrackerComponent.parse(componentNames);
+        }
+        return components.contains(component);
+    }
+}
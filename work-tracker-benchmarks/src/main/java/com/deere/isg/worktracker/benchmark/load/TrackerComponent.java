@@ -0,0 +1,52 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.benchmark.load;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * The parts of the stack {@code WorkTrackerConfigurer} sets up that can be switched off for a load test.
+ */
+public enum TrackerComponent {
+    WORK_FILTER,
+    REQUEST_BOUNCER_FILTER,
+    ZOMBIE_FILTER,
+    POST_AUTH_FILTER,
+    LOGGER_INTERCEPTOR,
+    BOUNCER_INTERCEPTOR;
+
+    public static final String PROPERTY = "work-tracker.load.components";
+
+    /**
+     * @param names comma separated component names, case insensitive
+     * @return the components, empty for a blank string
+     */
+    public static Set<TrackerComponent> parse(String names) {
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> valueOf(name.toUpperCase().replace('-', '_')))
+                .collect(toCollection(() -> EnumSet.noneOf(TrackerComponent.class)));
+    }
+
+    public static String format(Set<TrackerComponent> components) {
+        return components.stream().map(Enum::name).reduce((a, b) -> a + "," + b).orElse("");
+    }
+}
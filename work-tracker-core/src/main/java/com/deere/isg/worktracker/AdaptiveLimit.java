@@ -0,0 +1,152 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * A concurrency limit that tunes itself from how long work takes, so that it does not have to be
+ * guessed up front or changed with every deploy and every slowdown of a downstream service.
+ * <p>
+ * Listen to a tracker with {@link OutstandingWorkTracker#addListener(OutstandingWorkListener)} and every work
+ * that closes becomes a sample. The limit follows the gradient between the long term and the short term
+ * average latency (in the spirit of TCP Vegas): while latency stays near its long term average, the limit grows
+ * by about its square root, which is how much queueing is tolerated; once latency climbs, which means work is
+ * queueing somewhere, the limit shrinks in proportion, by half at most. Work that became a zombie counts as
+ * a drop and cuts the limit by 10%. The limit only grows while at least half of it is in use,
+ * so that a quiet period does not inflate it. {@link Work#isRejected() Rejected} work is not a sample:
+ * it is turned away in a millisecond, and would make latency look steady in the middle of a flood.
+ * <p>
+ * Samples are taken under a lock, which only guards a few arithmetic operations.
+ */
+public class AdaptiveLimit implements OutstandingWorkListener<Work> {
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LONG_DRIFT = 0.95;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<IntConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    private double estimate;
+    private double shortRtt;
+    private double longRtt;
+    private volatile int limit;
+
+    /**
+     * @param initialLimit the limit to start with, until there are samples
+     * @param minLimit     the lowest the limit can go
+     * @param maxLimit     the highest the limit can go
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= maxLimit: " + minLimit + ", " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimate = clamp(initialLimit);
+        this.limit = (int) estimate;
+    }
+
+    /**
+     * @return the current limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return how much of the limit is in use, i.e. the works that have opened but not closed yet
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @param listener told about the new limit every time it changes, on the thread closing the work
+     */
+    public void onChange(IntConsumer listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void opened(Work work) {
+        inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void closed(Work work) {
+        int previousInFlight = inFlight.getAndUpdate(count -> Math.max(count - 1, 0));
+        if (work.isRejected()) {
+            return;
+        }
+        sample(work.getElapsedMillis(), previousInFlight, work.isZombie());
+    }
+
+    /**
+     * @param rttMillis how long the work took
+     * @param inFlight  how many works were in flight, including this one
+     * @param dropped   whether the work failed in a way that means the limit is too high
+     */
+    void sample(long rttMillis, int inFlight, boolean dropped) {
+        int previous;
+        int current;
+        synchronized (this) {
+            previous = limit;
+            if (dropped) {
+                estimate = clamp(estimate * BACKOFF);
+            } else {
+                update(Math.max(rttMillis, 1), inFlight);
+            }
+            limit = (int) estimate;
+            current = limit;
+        }
+        if (current != previous) {
+            listeners.forEach(listener -> listener.accept(current));
+        }
+    }
+
+    private void update(double rtt, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+        }
+        shortRtt += SHORT_ALPHA * (rtt - shortRtt);
+        longRtt += LONG_ALPHA * (rtt - longRtt);
+        if (longRtt / shortRtt > 2) {
+            longRtt *= LONG_DRIFT;
+        }
+        if (inFlight < estimate / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        estimate = clamp(estimate * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
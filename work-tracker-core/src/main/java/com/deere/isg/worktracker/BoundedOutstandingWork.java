@@ -0,0 +1,243 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static com.deere.isg.worktracker.StringUtils.isBlank;
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * An {@link OutstandingWork} that keeps at most {@code capacity} works in its list, so that the memory
+ * it holds on to stays bounded no matter how many requests come in at once.
+ * <p>
+ * Work that comes in while the list is full overflows: it is only counted, by service and by any other
+ * attribute added with {@link #countOverflowBy(String, Function)}. Overflowing work is still the
+ * {@link #current()} work of its thread and is still counted by indexes, so connection limits keep working,
+ * but it does not show up in {@link #stream()} and is not {@link Work#isListed() listed}, so the {@link ZombieDetector}
+ * and the outstanding page do not see it. Listeners are still told about it.
+ * When {@code rejectOverflow} is set, overflowing work is not started at all and {@link #create(Work)}
+ * throws an {@link OverCapacityException} instead.
+ * <p>
+ * A warning is logged when work starts to overflow, and a message with how much overflowed
+ * once everything is back under capacity.
+ * <pre>{@code
+ * BoundedOutstandingWork<HttpWork> outstanding = new BoundedOutstandingWork<HttpWork>(1000, true)
+ *         .countOverflowBy("user", HttpWork::getRemoteUser);
+ * }</pre>
+ *
+ * @param <W> The type passed should extend {@link Work}
+ */
+public class BoundedOutstandingWork<W extends Work> extends OutstandingWork<W> {
+    public static final String SERVICE = "service";
+    static final int MAX_KEYS = 1000;
+    static final String OTHER = "other";
+    static final String UNKNOWN = "unknown";
+
+    private static Logger logger = LoggerFactory.getLogger(BoundedOutstandingWork.class);
+
+    private final int capacity;
+    private final boolean rejectOverflow;
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final AtomicInteger overflowing = new AtomicInteger();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicBoolean overCapacity = new AtomicBoolean();
+    private final List<OverflowCounter<W>> counters = new CopyOnWriteArrayList<>();
+    private final Outstanding<W> overflow = unlistedSegment();
+
+    /**
+     * @param capacity the most work to keep in the list; more is counted but still allowed to start
+     */
+    public BoundedOutstandingWork(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param capacity       the most work to keep in the list
+     * @param rejectOverflow if true, work that would overflow is rejected with an {@link OverCapacityException}
+     */
+    public BoundedOutstandingWork(int capacity, boolean rejectOverflow) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative, was " + capacity);
+        }
+        this.capacity = capacity;
+        this.rejectOverflow = rejectOverflow;
+        countOverflowBy(SERVICE, Work::getService);
+    }
+
+    /**
+     * Also counts the overflowing work by an attribute. At most 1000 different values are counted per attribute,
+     * the rest are counted as {@code other}.
+     *
+     * @param name      the name to show the counts under
+     * @param attribute the attribute to count by, i.e. {@code HttpWork::getRemoteUser}
+     * @return this for chaining
+     */
+    public BoundedOutstandingWork<W> countOverflowBy(String name, Function<? super W, String> attribute) {
+        counters.removeIf(counter -> counter.name.equals(name));
+        counters.add(new OverflowCounter<>(name, attribute));
+        return this;
+    }
+
+    @Override
+    public Outstanding<W>.Ticket create(W payload) {
+        if (payload == null) {
+            return super.create(null);
+        }
+        if (tracked.incrementAndGet() <= capacity) {
+            return super.create(payload);
+        }
+        tracked.decrementAndGet();
+        return overflow(payload);
+    }
+
+    private Outstanding<W>.Ticket overflow(W payload) {
+        overflowed.increment();
+        counters.forEach(counter -> counter.increment(payload));
+        if (overCapacity.compareAndSet(false, true)) {
+            logger.warn("Outstanding work is over capacity, new work is only being counted",
+                    keyValue("capacity", capacity), keyValue("reject_overflow", rejectOverflow));
+        }
+        if (rejectOverflow) {
+            rejected.increment();
+            checkBackUnderCapacity();
+            throw new OverCapacityException(capacity);
+        }
+        overflowing.incrementAndGet();
+        return createTicket(overflow, payload);
+    }
+
+    @Override
+    void closed(Outstanding<W> owner, W payload) {
+        super.closed(owner, payload);
+        if (owner == overflow) {
+            overflowing.decrementAndGet();
+        } else {
+            tracked.decrementAndGet();
+        }
+        checkBackUnderCapacity();
+    }
+
+    private void checkBackUnderCapacity() {
+        if (overCapacity.get() && overflowing.get() == 0 && tracked.get() < capacity
+                && overCapacity.compareAndSet(true, false)) {
+            logger.info("Outstanding work is back under capacity",
+                    keyValue("capacity", capacity), keyValue("overflow_count", overflowed.sum()),
+                    keyValue("rejected_count", rejected.sum()));
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isRejectOverflow() {
+        return rejectOverflow;
+    }
+
+    /**
+     * @return the number of works in the list right now
+     */
+    public int getTrackedCount() {
+        return tracked.get();
+    }
+
+    /**
+     * @return the number of overflowing works running right now
+     */
+    public int getOverflowingCount() {
+        return overflowing.get();
+    }
+
+    /**
+     * @return the number of works that overflowed since this was created, including rejected works
+     */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    /**
+     * @return the number of works that were rejected since this was created
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return for each attribute counted by, how many works overflowed for each of its values since this was created
+     */
+    public Map<String, Map<String, Long>> getOverflowCounts() {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        counters.forEach(counter -> counts.put(counter.name, counter.snapshot()));
+        return counts;
+    }
+
+    void setLogger(Logger logger) {
+        BoundedOutstandingWork.logger = logger;
+    }
+
+    private static final class OverflowCounter<W> {
+        private final String name;
+        private final Function<? super W, String> attribute;
+        private final ConcurrentMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+        OverflowCounter(String name, Function<? super W, String> attribute) {
+            this.name = name;
+            this.attribute = attribute;
+        }
+
+        void increment(W work) {
+            String key = keyOf(work);
+            LongAdder count = counts.get(key);
+            if (count == null) {
+                count = counts.size() < MAX_KEYS
+                        ? counts.computeIfAbsent(key, k -> new LongAdder())
+                        : counts.computeIfAbsent(OTHER, k -> new LongAdder());
+            }
+            count.increment();
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            counts.forEach((key, count) -> snapshot.put(key, count.sum()));
+            return snapshot;
+        }
+
+        private String keyOf(W work) {
+            try {
+                String key = attribute.apply(work);
+                return isBlank(key) ? UNKNOWN : key;
+            } catch (RuntimeException e) {
+                return UNKNOWN;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Map;
+
+/**
+ * The cleansed {@link org.slf4j.MDC} of a thread, taken when it first submits a task and shared by every task
+ * it submits until its {@link org.slf4j.MDC} changes. Tasks put the entries in their own {@link org.slf4j.MDC}
+ * when they start.
+ * <p>
+ * A snapshot is taken from a source that is replaced, or a count of changes that goes up,
+ * whenever the {@link org.slf4j.MDC} changes: the map of Logback's adapter, which it copies before changing
+ * once it has been read, or the work the {@link WorkMdcAdapter} reads from.
+ */
+final class ContextSnapshot {
+    private final Object source;
+    private final long changes;
+    private final Map<String, String> context;
+
+    ContextSnapshot(Object source, long changes, Map<String, String> context) {
+        this.source = source;
+        this.changes = changes;
+        this.context = context;
+    }
+
+    boolean isOf(Object source, long changes) {
+        return this.source == source && this.changes == changes;
+    }
+
+    Map<String, String> getContext() {
+        return context;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 package com.deere.isg.worktracker;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class ContextualExecutor extends ContextualRunner implements Executor {
     private Executor executor;
@@ -35,4 +37,29 @@ public class ContextualExecutor extends ContextualRunner implements Executor {
         Map<String, String> parentMdc = cleanseParentMdc();
         executor.execute(taskDecorator.decorate(parentMdc, runnable));
     }
+
+    /**
+     * Like {@link CompletableFuture#supplyAsync(Supplier)}, but runs the supplier on this executor
+     * with the metadata of the current thread, rather than on the common pool without it.
+     * Pass this executor to the {@code ...Async} methods of the future as well
+     * for the stages that follow to get the metadata too.
+     *
+     * @param supplier what to run
+     * @param <T>      the type of the result
+     * @return the future result of the supplier
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, this);
+    }
+
+    /**
+     * Like {@link CompletableFuture#runAsync(Runnable)}, but runs the task on this executor
+     * with the metadata of the current thread, rather than on the common pool without it.
+     *
+     * @param runnable what to run
+     * @return a future that completes when the task is done
+     */
+    public CompletableFuture<Void> runAsync(Runnable runnable) {
+        return CompletableFuture.runAsync(runnable, this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A {@link ForkJoinPool} that passes the metadata of the thread that submits a task on to the task,
+ * for parallel work inside a request:
+ * <pre>{@code
+ *  ContextualForkJoinPool pool = new ContextualForkJoinPool(new ForkJoinPool(), outstandingTaskDecorator);
+ *
+ *  List<Result> results = pool.invoke(ForkJoinTask.adapt(() -> items.parallelStream()
+ *          .map(this::process)
+ *          .collect(toList())));
+ *  CompletableFuture<Result> result = pool.supplyAsync(() -> process(item));
+ * }</pre>
+ * The task submitted to the pool runs with the metadata, and with an {@link OutstandingTaskDecorator}
+ * it is tracked as a {@link TaskWork} until it and everything it forked has completed.
+ * The subtasks it forks that are stolen by other workers run without the metadata.
+ * <p>
+ * A parallel stream only runs in this pool when it is started by a task running in it, as above;
+ * started from anywhere else it runs in the common pool.
+ */
+public class ContextualForkJoinPool extends ContextualExecutorService {
+    private final ForkJoinPool forkJoinPool;
+
+    public ContextualForkJoinPool(ForkJoinPool forkJoinPool) {
+        this(forkJoinPool, new ContextualTaskDecorator());
+    }
+
+    public ContextualForkJoinPool(ForkJoinPool forkJoinPool, TaskDecorator decorator) {
+        super(forkJoinPool, decorator);
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Runs the task in the pool and waits for it, see {@link ForkJoinPool#invoke(ForkJoinTask)}.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result
+     * @return the result of the task
+     */
+    public <T> T invoke(ForkJoinTask<T> task) {
+        return forkJoinPool.invoke(decorate(task));
+    }
+
+    /**
+     * Submits the task to the pool, see {@link ForkJoinPool#submit(ForkJoinTask)}.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result
+     * @return a task that completes when the submitted task does
+     */
+    public <T> ForkJoinTask<T> submit(ForkJoinTask<T> task) {
+        return forkJoinPool.submit(decorate(task));
+    }
+
+    /**
+     * Runs the task in the pool without waiting for it, see {@link ForkJoinPool#execute(ForkJoinTask)}.
+     *
+     * @param task the task to run
+     */
+    public void execute(ForkJoinTask<?> task) {
+        forkJoinPool.execute(decorate(task));
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    private <T> ForkJoinTask<T> decorate(ForkJoinTask<T> task) {
+        Map<String, String> parentMdc = cleanseParentMdc();
+        Callable<T> invoke = task::invoke;
+        return ForkJoinTask.adapt(taskDecorator.decorate(parentMdc, invoke));
+    }
+}
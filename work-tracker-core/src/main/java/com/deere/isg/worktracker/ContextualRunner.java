@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,23 +15,50 @@
  */
 package com.deere.isg.worktracker;
 
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 
 class ContextualRunner {
     protected final TaskDecorator taskDecorator;
+    private final ThreadLocal<ContextSnapshot> snapshots = new ThreadLocal<>();
 
     ContextualRunner(TaskDecorator taskDecorator) {
         this.taskDecorator = taskDecorator;
     }
 
+    /**
+     * @return the {@link MDC} of the current thread without the keys that are not passed on to tasks.
+     * It is shared by the tasks submitted from the thread until its {@link MDC} changes, so it cannot be modified.
+     */
     protected Map<String, String> cleanseParentMdc() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        if (adapter instanceof LogbackMDCAdapter) {
+            Map<String, String> parentMdc = ((LogbackMDCAdapter) adapter).getPropertyMap();
+            if (parentMdc == null) {
+                return emptyMap();
+            }
+            Map<String, String> context = snapshot(parentMdc, 0);
+            return context != null ? context : snapshot(parentMdc, 0, new HashMap<>(parentMdc));
+        }
+        if (adapter instanceof WorkMdcAdapter) {
+            WorkMdcAdapter workAdapter = (WorkMdcAdapter) adapter;
+            Work work = workAdapter.source();
+            if (work != null) {
+                long changes = workAdapter.changes();
+                Map<String, String> context = snapshot(work, changes);
+                return context != null ? context : snapshot(work, changes, MDC.getCopyOfContextMap());
+            }
+        }
         return cleanseParentMdc(MDC.getCopyOfContextMap());
     }
 
@@ -59,4 +86,15 @@ class ContextualRunner {
     protected void setLogger(Logger logger) {
         taskDecorator.setLogger(logger);
     }
+
+    private Map<String, String> snapshot(Object source, long changes) {
+        ContextSnapshot snapshot = snapshots.get();
+        return snapshot != null && snapshot.isOf(source, changes) ? snapshot.getContext() : null;
+    }
+
+    private Map<String, String> snapshot(Object source, long changes, Map<String, String> parentMdc) {
+        Map<String, String> context = unmodifiableMap(cleanseParentMdc(parentMdc));
+        snapshots.set(new ContextSnapshot(source, changes, context));
+        return context;
+    }
 }
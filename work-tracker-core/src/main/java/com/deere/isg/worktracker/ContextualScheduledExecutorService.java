@@ -0,0 +1,68 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ScheduledExecutorService} that passes the metadata of the thread that schedules a task on to the task.
+ * Periodic tasks get the metadata of the thread that scheduled them for every run, and a new task id for each run.
+ */
+public class ContextualScheduledExecutorService extends ContextualExecutorService implements ScheduledExecutorService {
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    public ContextualScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+        this(scheduledExecutorService, new ContextualTaskDecorator());
+    }
+
+    public ContextualScheduledExecutorService(ScheduledExecutorService scheduledExecutorService,
+                                              TaskDecorator decorator) {
+        super(scheduledExecutorService, decorator);
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Map<String, String> parentMdc = cleanseParentMdc();
+        return scheduledExecutorService.schedule(taskDecorator.decorate(parentMdc, command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Map<String, String> parentMdc = cleanseParentMdc();
+        return scheduledExecutorService.schedule(taskDecorator.decorate(parentMdc, callable), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Map<String, String> parentMdc = cleanseParentMdc();
+        return scheduledExecutorService.scheduleAtFixedRate(
+                taskDecorator.decorate(parentMdc, command), initialDelay, period, unit
+        );
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Map<String, String> parentMdc = cleanseParentMdc();
+        return scheduledExecutorService.scheduleWithFixedDelay(
+                taskDecorator.decorate(parentMdc, command), initialDelay, delay, unit
+        );
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,6 @@ import org.slf4j.MDC;
 
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.Callable;
 
 import static java.util.Collections.emptyMap;
@@ -85,7 +84,7 @@ public class ContextualTaskDecorator implements TaskDecorator {
     }
 
     private void addMetadataToMDC(String className) {
-        MDC.put(TASK_ID, UUID.randomUUID().toString());
+        MDC.put(TASK_ID, Work.getIdGenerator().nextId());
 
         if (className != null) {
             MDC.put(TASK_CLASS_NAME, className);
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.deere.isg.worktracker.StringUtils.isBlank;
+
+/**
+ * Learns what the work of each value of an attribute (i.e. each endpoint) costs, so that limits can budget
+ * the cost of the work in flight rather than count it, and a 40 second report does not take up the same
+ * share of a limit as a 2 millisecond lookup.
+ * <p>
+ * Listen to a tracker with {@link OutstandingWorkTracker#addListener(OutstandingWorkListener)} and every work
+ * that closes becomes a sample of how long it took and, when it closes on the thread that opened it and the JVM
+ * measures it, how much CPU time it used. Each value keeps a moving average of both, and so does every work
+ * together. The cost of a value is its averages over the averages of every work, so an average work costs
+ * about {@value Work#DEFAULT_COST} and limits keep their meaning: when both are known, it is the mean of the
+ * two ratios. Costs are kept within a minimum and a maximum, so that no work is free
+ * and none takes up a whole limit by itself.
+ * <p>
+ * Works whose cost was declared (see {@link Work#setCost(double)}) keep it, but still teach the estimator.
+ * {@link Work#isRejected() Rejected} works do not: they are turned away before doing any of their work.
+ * Only the first {@value RateLimiter#DEFAULT_MAX_KEYS} values are learned; the others cost
+ * {@value Work#DEFAULT_COST}.
+ *
+ * @param <W> The type of work being estimated
+ */
+public class CostEstimator<W extends Work> implements OutstandingWorkListener<W> {
+    public static final double DEFAULT_MIN_COST = .1;
+    public static final double DEFAULT_MAX_COST = 10;
+
+    private static final double SMOOTHING = .1;
+    private static final long UNKNOWN = -1;
+
+    private final Function<? super W, String> key;
+    private final double minCost;
+    private final double maxCost;
+    private final int maxKeys;
+    private final LongSupplier cpuTime;
+    private final ConcurrentMap<String, Average> averages = new ConcurrentHashMap<>();
+    private final Average overall = new Average();
+    private final ConcurrentMap<W, Start> starts = new ConcurrentHashMap<>();
+
+    /**
+     * @param key gets the attribute to learn the cost of from a work, i.e. {@code HttpWork::getService}
+     */
+    public CostEstimator(Function<? super W, String> key) {
+        this(key, DEFAULT_MIN_COST, DEFAULT_MAX_COST);
+    }
+
+    /**
+     * @param key     gets the attribute to learn the cost of from a work, i.e. {@code HttpWork::getService}
+     * @param minCost the lowest cost of a work
+     * @param maxCost the highest cost of a work
+     */
+    public CostEstimator(Function<? super W, String> key, double minCost, double maxCost) {
+        this(key, minCost, maxCost, RateLimiter.DEFAULT_MAX_KEYS, currentThreadCpuTime());
+    }
+
+    CostEstimator(Function<? super W, String> key, double minCost, double maxCost, int maxKeys, LongSupplier cpuTime) {
+        if (!(minCost > 0) || minCost > maxCost) {
+            throw new IllegalArgumentException("Expected 0 < minCost <= maxCost: " + minCost + ", " + maxCost);
+        }
+        this.key = key;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.maxKeys = maxKeys;
+        this.cpuTime = cpuTime;
+    }
+
+    /**
+     * @param value the attribute value, i.e. an endpoint
+     * @return the cost of its works, {@value Work#DEFAULT_COST} until both it and every work have a sample
+     */
+    public double costOf(String value) {
+        Average average = value != null ? averages.get(value) : null;
+        if (average == null) {
+            return Work.DEFAULT_COST;
+        }
+        double[] mine = average.get();
+        double[] all = overall.get();
+        if (mine[0] <= 0 || all[0] <= 0) {
+            return Work.DEFAULT_COST;
+        }
+        double cost = mine[0] / all[0];
+        if (mine[1] > 0 && all[1] > 0) {
+            cost = (cost + mine[1] / all[1]) / 2;
+        }
+        return Math.max(minCost, Math.min(maxCost, cost));
+    }
+
+    /**
+     * Sets the cost of a work from its current attribute value, unless its cost was declared.
+     * {@link FloodSensor} does this for the incoming work before every check that budgets cost,
+     * since attributes like the endpoint may only be known once the work is under way.
+     *
+     * @param work the work to estimate
+     */
+    public void estimate(W work) {
+        if (work != null) {
+            work.estimateCost(costOf(keyOf(work)));
+        }
+    }
+
+    @Override
+    public void opened(W work) {
+        long cpu = cpuTime.getAsLong();
+        if (cpu != UNKNOWN) {
+            starts.put(work, new Start(Thread.currentThread(), cpu));
+        }
+        estimate(work);
+    }
+
+    @Override
+    public void closed(W work) {
+        Start start = starts.remove(work);
+        long cpuNanos = start != null && start.thread == Thread.currentThread() ? cpuTime.getAsLong() - start.cpu : UNKNOWN;
+        String value = keyOf(work);
+        if (value == null || work.isRejected()) {
+            return;
+        }
+
+        double elapsedMillis = Math.max(work.getElapsedMillis(), 1);
+        double cpuMillis = cpuNanos >= 0 ? Math.max(cpuNanos / (double) TimeUnit.MILLISECONDS.toNanos(1), .001) : UNKNOWN;
+        Average average = averages.get(value);
+        if (average == null && averages.size() < maxKeys) {
+            average = averages.computeIfAbsent(value, v -> new Average());
+        }
+        if (average != null) {
+            average.add(elapsedMillis, cpuMillis);
+        }
+        overall.add(elapsedMillis, cpuMillis);
+    }
+
+    /**
+     * @return how many values have been learned, for tests
+     */
+    int size() {
+        return averages.size();
+    }
+
+    private String keyOf(W work) {
+        try {
+            String value = key.apply(work);
+            return isBlank(value) ? null : value;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static LongSupplier currentThreadCpuTime() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!threads.isCurrentThreadCpuTimeSupported() || !threads.isThreadCpuTimeEnabled()) {
+            return () -> UNKNOWN;
+        }
+        return threads::getCurrentThreadCpuTime;
+    }
+
+    private static final class Start {
+        private final Thread thread;
+        private final long cpu;
+
+        Start(Thread thread, long cpu) {
+            this.thread = thread;
+            this.cpu = cpu;
+        }
+    }
+
+    /**
+     * Moving averages of the elapsed and CPU milliseconds of some works, 0 until there is a sample.
+     */
+    private static final class Average {
+        private double elapsedMillis;
+        private double cpuMillis;
+
+        synchronized void add(double elapsed, double cpu) {
+            elapsedMillis = elapsedMillis > 0 ? elapsedMillis + SMOOTHING * (elapsed - elapsedMillis) : elapsed;
+            if (cpu >= 0) {
+                cpuMillis = cpuMillis > 0 ? cpuMillis + SMOOTHING * (cpu - cpuMillis) : cpu;
+            }
+        }
+
+        synchronized double[] get() {
+            return new double[]{elapsedMillis, cpuMillis};
+        }
+    }
+}
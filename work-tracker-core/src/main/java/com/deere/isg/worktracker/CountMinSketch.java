@@ -0,0 +1,97 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Arrays;
+
+/**
+ * Estimates how much weight has been added for each key in fixed memory: each key is counted in one cell
+ * of every row, picked by hashing its characters with a different seed per row, and its estimate is the smallest
+ * of its cells. Keys with the same {@link String#hashCode()} still land in different cells.
+ * Estimates are never too low, and too high by at most a small share of the total weight,
+ * about {@code e / width}, nearly always.
+ * <p>
+ * Not thread safe, {@link HeavyHitters} guards each sketch itself.
+ */
+final class CountMinSketch {
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final int depth;
+    private final int mask;
+    private final long[] cells;
+
+    /**
+     * @param depth how many rows, up to 8: each halves or so the chance of an estimate being off by more than the bound
+     * @param width how many cells per row, a power of 2
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be from 1 to " + SEEDS.length + ": " + depth);
+        }
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of 2: " + width);
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.cells = new long[depth * width];
+    }
+
+    /**
+     * @param key    what to count
+     * @param weight how much to count it for
+     */
+    void add(String key, long weight) {
+        for (int row = 0; row < depth; row++) {
+            cells[cell(row, key)] += weight;
+        }
+    }
+
+    /**
+     * @return the weight added for the key, or a little more
+     */
+    long estimate(String key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells[cell(row, key)]);
+        }
+        return estimate;
+    }
+
+    void clear() {
+        Arrays.fill(cells, 0);
+    }
+
+    private int cell(int row, String key) {
+        return row * (mask + 1) + (int) (hash(key, SEEDS[row]) & mask);
+    }
+
+    /**
+     * FNV-1a over the characters of the key, starting from the seed, then mixed so the low bits depend on all of them.
+     */
+    private static long hash(String key, long seed) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 33);
+    }
+}
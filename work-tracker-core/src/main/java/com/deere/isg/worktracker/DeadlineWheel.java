@@ -0,0 +1,259 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.LongSupplier;
+
+/**
+ * A hashed timer wheel: runs tasks after a delay, to within one tick, at a constant cost
+ * to schedule and cancel them however many are waiting.
+ * <p>
+ * Tasks are handed over to the thread turning the wheel through a queue, placed in the slot of the tick they are due in,
+ * and run by that thread when the wheel gets to their slot on the last round. Cancelled tasks are taken out of
+ * their slot on the next tick, so that cancelling most of them, as {@link ZombieDetector} does, does not leave them
+ * waiting until they would have been due. Tasks run on the thread turning the wheel, so they have to be quick.
+ * <p>
+ * {@link #shared()} is turned by one daemon thread for the whole JVM.
+ */
+final class DeadlineWheel {
+    private static final long TICK_MILLIS = 100;
+    private static final int WHEEL_SIZE = 512;
+    private static final DeadlineWheel SHARED = new DeadlineWheel(TICK_MILLIS, WHEEL_SIZE, System::nanoTime);
+    private static final AtomicInteger STARTED = new AtomicInteger();
+
+    private final Logger logger = LoggerFactory.getLogger(DeadlineWheel.class);
+    private final long tickNanos;
+    private final Slot[] wheel;
+    private final int mask;
+    private final LongSupplier nanoTime;
+    private final long startTime;
+    private final Queue<Deadline> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Deadline> cancelled = new ConcurrentLinkedQueue<>();
+    private long tick;
+
+    DeadlineWheel(long tickMillis, int wheelSize, LongSupplier nanoTime) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2: " + wheelSize);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Slot();
+        }
+        this.mask = wheelSize - 1;
+        this.nanoTime = nanoTime;
+        this.startTime = nanoTime.getAsLong();
+    }
+
+    /**
+     * @return the wheel shared by every {@link ZombieDetector}, started on first use
+     */
+    static DeadlineWheel shared() {
+        if (STARTED.compareAndSet(0, 1)) {
+            Thread thread = new Thread(SHARED::run, "work-tracker-deadlines");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return SHARED;
+    }
+
+    /**
+     * @param task  what to run once the delay has passed, on the thread turning the wheel
+     * @param delay how long to wait, at least one tick
+     * @param unit  the unit of the delay
+     * @return the deadline, to cancel the task with
+     */
+    Deadline schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = nanoTime.getAsLong() - startTime + Math.max(unit.toNanos(delay), 0);
+        Deadline scheduledDeadline = new Deadline(this, task, deadline);
+        scheduled.add(scheduledDeadline);
+        return scheduledDeadline;
+    }
+
+    /**
+     * Turns the wheel up to now, running every task that is due. Only one thread may turn a wheel.
+     */
+    void advance() {
+        long now = nanoTime.getAsLong() - startTime;
+        while ((tick + 1) * tickNanos <= now) {
+            removeCancelled();
+            placeScheduled();
+            wheel[(int) (tick & mask)].expire((tick + 1) * tickNanos);
+            tick++;
+        }
+    }
+
+    /**
+     * @return how many tasks are waiting, for tests
+     */
+    int size() {
+        int size = scheduled.size();
+        for (Slot slot : wheel) {
+            for (Deadline deadline = slot.head; deadline != null; deadline = deadline.next) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long sleepNanos = (tick + 1) * tickNanos - (nanoTime.getAsLong() - startTime);
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            advance();
+        }
+    }
+
+    private void removeCancelled() {
+        Deadline deadline;
+        while ((deadline = cancelled.poll()) != null) {
+            if (deadline.slot != null) {
+                deadline.slot.remove(deadline);
+            }
+        }
+    }
+
+    private void placeScheduled() {
+        Deadline deadline;
+        while ((deadline = scheduled.poll()) != null) {
+            if (deadline.state != Deadline.WAITING) {
+                continue;
+            }
+            long dueTick = Math.max(deadline.deadline / tickNanos, tick);
+            deadline.rounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(deadline);
+        }
+    }
+
+    private void run(Deadline deadline) {
+        if (Deadline.STATE.compareAndSet(deadline, Deadline.WAITING, Deadline.EXPIRED)) {
+            try {
+                deadline.task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Deadline task failed", e);
+            }
+        }
+    }
+
+    /**
+     * A task waiting on the wheel.
+     */
+    static final class Deadline {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Deadline> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Deadline.class, "state");
+
+        private final DeadlineWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = WAITING;
+        private long rounds;
+        private Slot slot;
+        private Deadline previous;
+        private Deadline next;
+
+        private Deadline(DeadlineWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Stops the task from running, if it has not started yet.
+         */
+        void cancel() {
+            if (STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                wheel.cancelled.add(this);
+            }
+        }
+
+        boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+
+    /**
+     * The deadlines in one slot of the wheel, only touched by the thread turning it.
+     */
+    private final class Slot {
+        private Deadline head;
+        private Deadline tail;
+
+        void add(Deadline deadline) {
+            deadline.slot = this;
+            if (head == null) {
+                head = deadline;
+            } else {
+                tail.next = deadline;
+                deadline.previous = tail;
+            }
+            tail = deadline;
+        }
+
+        void remove(Deadline deadline) {
+            if (deadline.previous != null) {
+                deadline.previous.next = deadline.next;
+            } else {
+                head = deadline.next;
+            }
+            if (deadline.next != null) {
+                deadline.next.previous = deadline.previous;
+            } else {
+                tail = deadline.previous;
+            }
+            deadline.slot = null;
+            deadline.previous = null;
+            deadline.next = null;
+        }
+
+        void expire(long tickEnd) {
+            Deadline deadline = head;
+            while (deadline != null) {
+                Deadline next = deadline.next;
+                if (deadline.isCancelled()) {
+                    remove(deadline);
+                } else if (deadline.rounds <= 0 && deadline.deadline <= tickEnd) {
+                    remove(deadline);
+                    run(deadline);
+                } else {
+                    deadline.rounds--;
+                }
+                deadline = next;
+            }
+        }
+    }
+}
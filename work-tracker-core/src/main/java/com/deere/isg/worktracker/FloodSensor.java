@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker;
 
 import net.logstash.logback.argument.StructuredArgument;
@@ -21,8 +20,15 @@ import net.logstash.logback.argument.StructuredArguments;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -33,11 +39,26 @@ import static com.deere.isg.worktracker.StringUtils.isNotBlank;
  * {@link FloodSensor} helps the JVM stay healthy by detecting requests that exceeds
  * a certain limit. In other words, it protects from Denial of Service attacks.
  * Limits can be anything that can be checked against the Work object.
+ * <p>
+ * When a limit on outstanding work is exceeded, the retry after is how long the works over the limit
+ * should take to close at the rate works with the same attribute have been closing
+ * (see {@link OutstandingWorkIndex#drainRate(String)}), or else how long the oldest of them has been running.
+ * Either way, it is doubled for each time in a row the same client was rejected (see {@link #clientOf(Work)}),
+ * up to {@value #MAX_ESCALATIONS} times, then spread out by up to as much again at random so that rejected
+ * clients do not all come back at once, and kept within the max time of the incoming work.
  *
  * @param <W> The type passed should extend {@link Work}
  */
 public abstract class FloodSensor<W extends Work> {
+    private static final int MAX_ESCALATIONS = 5;
+    private static final long FORGET_REJECTIONS_MINUTES = 1;
+
     private final OutstandingWorkTracker<W> outstanding;
+    private final ConcurrentMap<Function<W, String>, Optional<OutstandingWorkIndex<W>>> indexes = new ConcurrentHashMap<>();
+    private final Set<W> suspended = ConcurrentHashMap.newKeySet();
+    private final RejectionHistory rejections =
+            new RejectionHistory(RateLimiter.DEFAULT_MAX_KEYS, FORGET_REJECTIONS_MINUTES, TimeUnit.MINUTES, System::nanoTime);
+    private DoubleSupplier jitter = () -> ThreadLocalRandom.current().nextDouble();
     private static Logger logger = LoggerFactory.getLogger(FloodSensor.class);
 
     public FloodSensor(OutstandingWorkTracker<W> outstanding) {
@@ -57,19 +78,114 @@ public abstract class FloodSensor<W extends Work> {
         if (exceeds(limit, predicate) && notCheckedYet) {
             return likeThingsStream(predicate)
                     .findFirst()
-                    .map(oldestSimilar -> getRetryAfter(oldestSimilar, incoming.getMaxTime(), typeName, message));
+                    .map(oldestSimilar -> getRetryAfter(incoming, oldestSimilar, 0, typeName, message));
         }
         return Optional.empty();
     }
 
+    /**
+     * Checks a limit on the number of outstanding works that share an attribute with the incoming work.
+     * The first check for a getter creates an {@link OutstandingWorkIndex} for it, so keep using the same
+     * getter instance (i.e. a method reference stored in a field) rather than creating a new one each time.
+     * When the tracker cannot keep an index, every outstanding work is checked instead.
+     */
     protected Optional<Integer> shouldRetryLater(W incoming, Function<W, String> getter, int limit, String typeName, String message) {
         return Optional.ofNullable(incoming)
                 .map(getter)
                 .flatMap(attribute -> isNotBlank(attribute)
-                        ? shouldRetryLater(incoming, compose(getter, attribute::equals), limit, typeName, message)
+                        ? shouldRetryLater(incoming, getter, attribute, null, limit, typeName, message)
+                        : Optional.empty());
+    }
+
+    /**
+     * Checks a limit on the cost (see {@link Work#getCost()}) of the outstanding works that share an attribute
+     * with the incoming work, rather than on their number, so that the limit budgets the resources in flight.
+     * The incoming work is estimated first, and is let in whatever it costs if it is the only one.
+     * Without an index, every outstanding work is summed up instead.
+     */
+    protected Optional<Integer> shouldRetryLater(W incoming, CostEstimator<W> costs, Function<W, String> getter, int limit, String typeName, String message) {
+        costs.estimate(incoming);
+        return Optional.ofNullable(incoming)
+                .map(getter)
+                .flatMap(attribute -> isNotBlank(attribute)
+                        ? shouldRetryLater(incoming, getter, attribute, costs, limit, typeName, message)
                         : Optional.empty());
     }
 
+    /**
+     * @param costs null to count the works rather than sum their cost
+     */
+    private Optional<Integer> shouldRetryLater(W incoming, Function<W, String> getter, String attribute, CostEstimator<W> costs,
+                                               int limit, String typeName, String message) {
+        Optional<OutstandingWorkIndex<W>> index = indexes.computeIfAbsent(getter, outstanding::index);
+        if (!index.isPresent()) {
+            Predicate<W> predicate = compose(getter, attribute::equals);
+            return costs != null
+                    ? shouldRetryLaterByCost(incoming, predicate, limit, typeName, message)
+                    : shouldRetryLater(incoming, predicate, limit, typeName, message);
+        }
+
+        OutstandingWorkIndex<W> likeThings = index.get();
+        likeThings.refresh(incoming);
+        boolean notCheckedYet = !incoming.checkLimit(typeName);
+        int count = likeThings.count(attribute);
+        double inFlight = costs != null ? likeThings.cost(attribute) : count;
+        if (inFlight > limit && (costs == null || count > 1) && notCheckedYet) {
+            double drainRate = likeThings.drainRate(attribute);
+            double drainSeconds = drainRate > 0 ? (inFlight - limit) * count / inFlight / drainRate : 0;
+            return likeThings.oldest(attribute)
+                    .map(oldestSimilar -> getRetryAfter(incoming, oldestSimilar, drainSeconds, typeName, message));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Integer> shouldRetryLaterByCost(W incoming, Predicate<W> predicate, int limit, String typeName, String message) {
+        boolean notCheckedYet = !incoming.checkLimit(typeName);
+        int sampleRate = Math.max(1, outstanding.getSampleRate());
+        DoubleSummaryStatistics inFlight = likeThingsStream(predicate).mapToDouble(Work::getCost).summaryStatistics();
+        if (inFlight.getSum() * sampleRate > limit && inFlight.getCount() * sampleRate > 1 && notCheckedYet) {
+            return likeThingsStream(predicate)
+                    .findFirst()
+                    .map(oldestSimilar -> getRetryAfter(incoming, oldestSimilar, 0, typeName, message));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks a limit on how often works that share an attribute with the incoming work may arrive,
+     * taking one permit from the limiter for that attribute. Unlike the limits on outstanding work,
+     * the retry after is exactly how long until the next permit, rounded up to the second.
+     */
+    protected Optional<Integer> shouldRetryLater(W incoming, RateLimiter limiter, Function<W, String> getter, int limit, String typeName, String message) {
+        String attribute = incoming != null ? getter.apply(incoming) : null;
+        if (isNotBlank(attribute) && !incoming.checkLimit(typeName)) {
+            long waitNanos = limiter.tryAcquire(attribute, limit);
+            if (waitNanos > 0) {
+                int retryAfterSeconds = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (waitNanos + 999_999_999) / 1_000_000_000));
+                logFloodDetected(typeName, message, retryAfterSeconds);
+                return Optional.of(retryAfterSeconds);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks a limit on how much load works that share an attribute with the incoming work have driven lately,
+     * as counted by the heavy hitters for one of their dimensions: the limit is in seconds of work over their window,
+     * so a limit of the window in seconds lets each value keep one work outstanding on average. Like rate limits,
+     * the retry after is exact: when the oldest part of the window drops out.
+     */
+    protected Optional<Integer> shouldRetryLater(W incoming, HeavyHitters<W> hitters, String dimension, int limit, String typeName, String message) {
+        String attribute = hitters.keyOf(dimension, incoming);
+        if (attribute != null && !incoming.checkLimit(typeName)
+                && hitters.estimate(dimension, attribute) > TimeUnit.SECONDS.toMillis(limit)) {
+            int retryAfterSeconds = (int) Math.max(1, (hitters.getMillisUntilSlide() + 999) / 1000);
+            logFloodDetected(typeName, message, retryAfterSeconds);
+            return Optional.of(retryAfterSeconds);
+        }
+        return Optional.empty();
+    }
+
     /**
      * An abstract method to provide the implementation for how to check the limits.
      * Provide a stream of limit checks that returns {@code Optional<Integer>}
@@ -78,17 +194,61 @@ public abstract class FloodSensor<W extends Work> {
      */
     protected abstract Stream<Function<W, Optional<Integer>>> checkLimits();
 
+    /**
+     * Rejections of the same client in a row get longer retry afters. Returns null by default,
+     * so that every rejection gets the same one.
+     *
+     * @param work the rejected work
+     * @return who sent the work, i.e. a user name, or null if unknown
+     */
+    protected String clientOf(W work) {
+        return null;
+    }
+
+    /**
+     * Stops counting an outstanding work against the limits, i.e. while it waits to be admitted,
+     * so that works waiting for each other do not keep each other out. Checking it still counts itself.
+     *
+     * @param work the outstanding work to stop counting, until {@link #resume(Work)}
+     */
+    protected void suspend(W work) {
+        suspended.add(work);
+        indexes.values().forEach(index -> index.ifPresent(likeThings -> likeThings.suspend(work)));
+    }
+
+    /**
+     * @param work a work passed to {@link #suspend(Work)}, to count against the limits again
+     */
+    protected void resume(W work) {
+        indexes.values().forEach(index -> index.ifPresent(likeThings -> likeThings.resume(work)));
+        suspended.remove(work);
+    }
+
     private Stream<W> likeThingsStream(Predicate<W> predicate) {
-        return outstanding.stream().filter(predicate);
+        Stream<W> works = outstanding.stream();
+        return suspended.isEmpty() ? works.filter(predicate) : works.filter(work -> !suspended.contains(work)).filter(predicate);
     }
 
+    /**
+     * When the tracker only lists a sample of the work, each listed work stands for {@code sampleRate} works.
+     */
     private boolean exceeds(int limit, Predicate<W> predicate) {
-        return likeThingsStream(predicate).limit(limit + 1).count() > limit;
+        int sampleRate = Math.max(1, outstanding.getSampleRate());
+        return likeThingsStream(predicate).limit(limit / sampleRate + 1).count() * sampleRate > limit;
     }
 
-    private int getRetryAfter(W oldestSimilar, long maxTime, String typeName, String message) {
-        long timeInMillis = oldestSimilar.getElapsedMillis();
-        int retryAfterSeconds = calculateRetryAfterFromMillis(maxTime, timeInMillis);
+    /**
+     * @param drainSeconds how long the works over the limit should take to close, 0 if unknown
+     */
+    private int getRetryAfter(W incoming, W oldestSimilar, double drainSeconds, String typeName, String message) {
+        long maxTime = incoming.getMaxTime();
+        double seconds = drainSeconds > 0
+                ? drainSeconds
+                : calculateRetryAfterFromMillis(maxTime, oldestSimilar.getElapsedMillis());
+        String client = clientOf(incoming);
+        int inARow = client != null ? rejections.reject(client) : 1;
+        seconds = Math.max(seconds, 1) * (1 << Math.min(inARow - 1, MAX_ESCALATIONS)) * (1 + jitter.getAsDouble());
+        int retryAfterSeconds = (int) Math.max(1, Math.min(Math.ceil(seconds), Math.ceil(maxTime / 1000.0)));
         logFloodDetected(typeName, message, retryAfterSeconds);
         return retryAfterSeconds;
     }
@@ -108,4 +268,11 @@ public abstract class FloodSensor<W extends Work> {
     protected void setLogger(Logger logger) {
         this.logger = logger;
     }
+
+    /**
+     * @param jitter returns how much of the retry after to add at random, from 0 to 1
+     */
+    void setJitter(DoubleSupplier jitter) {
+        this.jitter = jitter;
+    }
 }
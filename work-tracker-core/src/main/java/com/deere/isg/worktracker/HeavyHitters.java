@@ -0,0 +1,272 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.deere.isg.worktracker.StringUtils.isBlank;
+
+/**
+ * Finds which values of an attribute (i.e. which users) have driven the most load lately, in fixed memory.
+ * Load is the elapsed time of each work, counted when its ticket closes, so add this as a listener to the
+ * outstanding work (see {@link OutstandingWorkTracker#addListener}).
+ * <p>
+ * Each tracked attribute, or dimension, splits the window into {@value #SLICES} slices. Each slice has
+ * a {@link CountMinSketch} of the load of every value, and a Space-Saving summary that keeps the values that
+ * might be the heaviest in {@code 4 * top} counters. The load of a value over the window is the sum of
+ * its estimates in the slices, and the heaviest values are found among the ones kept by any slice.
+ * As slices are reused when they get too old, the window is the last window to within one slice.
+ * <p>
+ * Each slice of each dimension is locked while a work is counted in it, which only takes
+ * a few hash lookups, and the {@code 4 * top} counters are only walked when a new value takes one over.
+ *
+ * @param <W> The type of work counted
+ */
+public class HeavyHitters<W extends Work> implements OutstandingWorkListener<W> {
+    public static final int DEFAULT_TOP = 10;
+
+    private static final int SLICES = 5;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 512;
+    private static final int COUNTERS_PER_TOP = 4;
+
+    private final int top;
+    private final long sliceNanos;
+    private final LongSupplier nanoTime;
+    private final long startTime;
+    private volatile Map<String, Dimension<W>> dimensions = Collections.emptyMap();
+
+    /**
+     * @param top    how many of the heaviest values to list for each dimension
+     * @param window how long to count load for
+     * @param unit   the unit of the window
+     */
+    public HeavyHitters(int top, long window, TimeUnit unit) {
+        this(top, window, unit, System::nanoTime);
+    }
+
+    HeavyHitters(int top, long window, TimeUnit unit, LongSupplier nanoTime) {
+        if (top < 1) {
+            throw new IllegalArgumentException("top must be positive: " + top);
+        }
+        this.top = top;
+        this.sliceNanos = Math.max(unit.toNanos(window) / SLICES, 1);
+        this.nanoTime = nanoTime;
+        this.startTime = nanoTime.getAsLong();
+    }
+
+    /**
+     * Starts counting load by an attribute. Works with a blank value are not counted.
+     *
+     * @param dimension the name of the attribute, i.e. "user"
+     * @param key       gets the attribute from a work, i.e. {@code HttpWork::getRemoteUser}
+     * @return this, to track more dimensions
+     */
+    public synchronized HeavyHitters<W> track(String dimension, Function<? super W, String> key) {
+        Map<String, Dimension<W>> tracked = new LinkedHashMap<>(dimensions);
+        tracked.put(dimension, new Dimension<>(key, top * COUNTERS_PER_TOP));
+        dimensions = Collections.unmodifiableMap(tracked);
+        return this;
+    }
+
+    @Override
+    public void opened(W work) {
+    }
+
+    @Override
+    public void closed(W work) {
+        long load = Math.max(work.getElapsedMillis(), 1);
+        long slice = currentSlice();
+        for (Dimension<W> dimension : dimensions.values()) {
+            String value = dimension.keyOf(work);
+            if (value != null) {
+                dimension.add(value, load, slice);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the tracked dimensions, in the order they were tracked
+     */
+    public Set<String> getDimensions() {
+        return dimensions.keySet();
+    }
+
+    /**
+     * @param dimension the name of a tracked dimension
+     * @param value     the value of its attribute, i.e. a user name
+     * @return the milliseconds works with that value took over the window, or a little more;
+     * 0 if the dimension is not tracked
+     */
+    public long estimate(String dimension, String value) {
+        Dimension<W> tracked = dimensions.get(dimension);
+        return tracked != null && value != null ? tracked.estimate(value, currentSlice()) : 0;
+    }
+
+    /**
+     * @param dimension the name of a tracked dimension
+     * @return the heaviest values over the window, with the milliseconds their works took, heaviest first;
+     * empty if the dimension is not tracked
+     */
+    public Map<String, Long> top(String dimension) {
+        Dimension<W> tracked = dimensions.get(dimension);
+        return tracked != null ? tracked.top(top, currentSlice()) : Collections.emptyMap();
+    }
+
+    public long getWindowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(sliceNanos * SLICES);
+    }
+
+    /**
+     * @return the milliseconds until the oldest slice of load drops out of the window
+     */
+    public long getMillisUntilSlide() {
+        long elapsed = nanoTime.getAsLong() - startTime;
+        return TimeUnit.NANOSECONDS.toMillis(sliceNanos - elapsed % sliceNanos);
+    }
+
+    /**
+     * @return the value of the attribute of the dimension for the work, null if it is blank or not tracked
+     */
+    String keyOf(String dimension, W work) {
+        Dimension<W> tracked = dimensions.get(dimension);
+        return tracked != null && work != null ? tracked.keyOf(work) : null;
+    }
+
+    private long currentSlice() {
+        return (nanoTime.getAsLong() - startTime) / sliceNanos;
+    }
+
+    private static final class Dimension<W> {
+        private final Function<? super W, String> key;
+        private final Slice[] slices = new Slice[SLICES];
+
+        Dimension(Function<? super W, String> key, int counters) {
+            this.key = key;
+            for (int i = 0; i < SLICES; i++) {
+                slices[i] = new Slice(counters);
+            }
+        }
+
+        String keyOf(W work) {
+            try {
+                String value = key.apply(work);
+                return isBlank(value) ? null : value;
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        void add(String value, long load, long current) {
+            Slice slice = slices[(int) (current % SLICES)];
+            synchronized (slice) {
+                slice.moveTo(current);
+                slice.sketch.add(value, load);
+                slice.add(value, load);
+            }
+        }
+
+        long estimate(String value, long current) {
+            long estimate = 0;
+            for (Slice slice : slices) {
+                synchronized (slice) {
+                    if (slice.isLive(current)) {
+                        estimate += slice.sketch.estimate(value);
+                    }
+                }
+            }
+            return estimate;
+        }
+
+        Map<String, Long> top(int top, long current) {
+            Set<String> candidates = new HashSet<>();
+            for (Slice slice : slices) {
+                synchronized (slice) {
+                    if (slice.isLive(current)) {
+                        candidates.addAll(slice.counters.keySet());
+                    }
+                }
+            }
+
+            Map<String, Long> heaviest = new LinkedHashMap<>();
+            candidates.stream()
+                    .map(value -> new AbstractMap.SimpleImmutableEntry<>(value, estimate(value, current)))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(top)
+                    .forEachOrdered(entry -> heaviest.put(entry.getKey(), entry.getValue()));
+            return heaviest;
+        }
+    }
+
+    /**
+     * One slice of the window of a dimension, only used while holding its lock.
+     */
+    private static final class Slice {
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final Map<String, Long> counters = new HashMap<>();
+        private final int capacity;
+        private long index = -1;
+
+        Slice(int capacity) {
+            this.capacity = capacity;
+        }
+
+        boolean isLive(long current) {
+            return index >= 0 && index > current - SLICES;
+        }
+
+        /**
+         * Clears the slice if it was last used for an older part of the window.
+         */
+        void moveTo(long current) {
+            if (index != current) {
+                index = current;
+                sketch.clear();
+                counters.clear();
+            }
+        }
+
+        /**
+         * Space-Saving: once every counter is taken, a new value takes over the smallest counter
+         * and adds to its count, so that values are only ever counted too high.
+         */
+        void add(String value, long load) {
+            Long count = counters.get(value);
+            if (count != null || counters.size() < capacity) {
+                counters.put(value, (count != null ? count : 0) + load);
+                return;
+            }
+
+            Map.Entry<String, Long> smallest = null;
+            for (Map.Entry<String, Long> counter : counters.entrySet()) {
+                if (smallest == null || counter.getValue() < smallest.getValue()) {
+                    smallest = counter;
+                }
+            }
+            counters.remove(smallest.getKey());
+            counters.put(value, smallest.getValue() + load);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.UUID;
+
+/**
+ * Generates the request ids of {@link Work} and the task ids of tasks run through the contextual executors.
+ * The one in use is set with {@link Work#setIdGenerator(IdGenerator)}, and is
+ * {@link TimeOrderedIdGenerator} unless set otherwise.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+    /**
+     * @return a new id, unique enough to find the logs of one request or task
+     */
+    String nextId();
+
+    /**
+     * @return a generator of {@link UUID#randomUUID() random UUIDs}, which take a lock on a shared
+     * {@code SecureRandom} for every id
+     */
+    static IdGenerator randomUuid() {
+        return () -> UUID.randomUUID().toString();
+    }
+}
@@ -17,17 +17,41 @@
 package com.deere.isg.worktracker;
 
 import com.deere.isg.outstanding.Outstanding;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 public class OutstandingWork<W extends Work> extends Outstanding<W> implements OutstandingWorkTracker<W> {
-    private InheritableThreadLocal<PayloadHolder<W>> currentPayload = new InheritableThreadLocal<>();
+    private WorkLocal<PayloadHolder<W>> currentPayload = new WorkLocal<>();
+    private List<OutstandingWorkIndex<W>> indexes = new CopyOnWriteArrayList<>();
+    private List<OutstandingWorkListener<? super W>> listeners = new CopyOnWriteArrayList<>();
 
     @Override
     protected Ticket createTicket(W payload) {
-        ThreadTrackedTicket ticket = new ThreadTrackedTicket(payload);
+        return track(new ThreadTrackedTicket(payload));
+    }
+
+    /**
+     * Creates a ticket that is tracked by this instance but belongs to another {@link Outstanding}.
+     */
+    Outstanding<W>.Ticket createTicket(Outstanding<W> owner, W payload) {
+        ThreadTrackedTicket ticket = new ThreadTrackedTicket(owner, payload);
+        if (payload != null && owner instanceof OutstandingWork.Segment && !((OutstandingWork<?>.Segment) owner).listed) {
+            payload.setListed(false);
+        }
+        return payload != null ? track(ticket) : ticket;
+    }
+
+    private ThreadTrackedTicket track(ThreadTrackedTicket ticket) {
         if (currentPayload != null) {
             currentPayload.set(ticket.holder);
         }
+        W payload = ticket.holder.getPayload();
+        if (payload != null && indexes != null) {
+            indexes.forEach(index -> index.add(payload));
+            listeners.forEach(listener -> listener.opened(payload));
+        }
         return ticket;
     }
 
@@ -35,6 +59,38 @@ public class OutstandingWork<W extends Work> extends Outstanding<W> implements O
         return Optional.ofNullable(currentPayload.get()).map(PayloadHolder::getPayload);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void attach(Outstanding<W>.Ticket ticket) {
+        if (ticket instanceof OutstandingWork.ThreadTrackedTicket) {
+            currentPayload.set(((ThreadTrackedTicket) ticket).holder);
+        }
+    }
+
+    @Override
+    public void detach() {
+        currentPayload.set(null);
+    }
+
+    @Override
+    public Optional<OutstandingWorkIndex<W>> index(Function<? super W, String> attribute) {
+        OutstandingWorkIndex<W> index = new OutstandingWorkIndex<>(attribute);
+        indexes.add(index);
+        index.backfill(this);
+        return Optional.of(index);
+    }
+
+    @Override
+    public boolean addListener(OutstandingWorkListener<? super W> listener) {
+        listeners.add(listener);
+        return true;
+    }
+
+    @Override
+    public void removeListener(OutstandingWorkListener<? super W> listener) {
+        listeners.remove(listener);
+    }
+
     private static class PayloadHolder<P> {
         private volatile P payload;
         PayloadHolder(P payload) {
@@ -48,11 +104,62 @@ public class OutstandingWork<W extends Work> extends Outstanding<W> implements O
         }
     }
 
+    /**
+     * Called once for every closed ticket that had a payload.
+     *
+     * @param owner the {@link Outstanding} the ticket belongs to
+     * @param payload the work that finished
+     */
+    void closed(Outstanding<W> owner, W payload) {
+        indexes.forEach(index -> index.remove(payload));
+        listeners.forEach(listener -> listener.closed(payload));
+    }
+
+    /**
+     * A separate list of work whose tickets are tracked by this instance,
+     * for trackers that keep their work in more than one list.
+     */
+    class Segment extends Outstanding<W> {
+        private final boolean listed;
+
+        Segment() {
+            this(true);
+        }
+
+        private Segment(boolean listed) {
+            this.listed = listed;
+        }
+
+        @Override
+        protected Ticket createTicket(W payload) {
+            return OutstandingWork.this.createTicket(this, payload);
+        }
+    }
+
+    /**
+     * A segment for work that is only counted: its tickets are created with {@link #createTicket(Outstanding, Work)}
+     * and never linked into it, and their work is not {@link Work#isListed() listed}.
+     * Closing a ticket needs the head of its list to have a link, so the segment is given one empty ticket that stays in it.
+     */
+    Segment unlistedSegment() {
+        Segment segment = new Segment(false);
+        segment.create(null);
+        return segment;
+    }
+
     private class ThreadTrackedTicket extends Outstanding<W>.Ticket {
         private final PayloadHolder<W> holder;
+        private final Outstanding<W> owner;
 
         ThreadTrackedTicket(W payload) {
             this.holder = new PayloadHolder<>(payload);
+            this.owner = OutstandingWork.this;
+        }
+
+        ThreadTrackedTicket(Outstanding<W> owner, W payload) {
+            owner.super();
+            this.holder = new PayloadHolder<>(payload);
+            this.owner = owner;
         }
 
         public Optional<W> getPayload() {
@@ -64,7 +171,11 @@ public class OutstandingWork<W extends Work> extends Outstanding<W> implements O
         }
 
         public void clearPayload() {
+            W payload = holder.getPayload();
             holder.clearPayload();
+            if (payload != null) {
+                closed(owner, payload);
+            }
         }
     }
 }
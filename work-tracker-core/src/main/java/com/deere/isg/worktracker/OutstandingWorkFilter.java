@@ -18,12 +18,16 @@ package com.deere.isg.worktracker;
 import com.deere.isg.outstanding.Outstanding;
 
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class OutstandingWorkFilter<W extends Work> implements OutstandingWorkTracker<W> {
     private OutstandingWorkTracker<? super W> parent;
     private Class<W> clazz;
+    private Map<OutstandingWorkListener<? super W>, OutstandingWorkListener<Work>> listeners = new ConcurrentHashMap<>();
 
     public OutstandingWorkFilter(OutstandingWorkTracker<? super W> parent, Class<W> clazz) {
         this.parent = parent;
@@ -40,6 +44,12 @@ public class OutstandingWorkFilter<W extends Work> implements OutstandingWorkTra
         return clazz.isAssignableFrom(w.getClass());
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<W> streamOlderThan(long elapsedMillis) {
+        return (Stream<W>) parent.streamOlderThan(elapsedMillis).filter(this::isExpectedWork);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Optional<W> current() {
@@ -57,6 +67,59 @@ public class OutstandingWorkFilter<W extends Work> implements OutstandingWorkTra
         parent.doInTransaction(payload, transaction);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void attach(Outstanding<W>.Ticket ticket) {
+        ((OutstandingWorkTracker<W>) parent).attach(ticket);
+    }
+
+    @Override
+    public void detach() {
+        parent.detach();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<OutstandingWorkIndex<W>> index(Function<? super W, String> attribute) {
+        return parent.index(w -> isExpectedWork(w) ? attribute.apply((W) w) : null)
+                .map(index -> (OutstandingWorkIndex<W>) index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addListener(OutstandingWorkListener<? super W> listener) {
+        OutstandingWorkListener<Work> filtered = new OutstandingWorkListener<Work>() {
+            @Override
+            public void opened(Work work) {
+                if (isExpectedWork(work)) {
+                    listener.opened((W) work);
+                }
+            }
+
+            @Override
+            public void closed(Work work) {
+                if (isExpectedWork(work)) {
+                    listener.closed((W) work);
+                }
+            }
+        };
+        if (parent.addListener(filtered)) {
+            listeners.put(listener, filtered);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void removeListener(OutstandingWorkListener<? super W> listener) {
+        Optional.ofNullable(listeners.remove(listener)).ifPresent(parent::removeListener);
+    }
+
+    @Override
+    public int getSampleRate() {
+        return parent.getSampleRate();
+    }
+
     @Override
     public Iterator<W> iterator() {
         return stream().iterator();
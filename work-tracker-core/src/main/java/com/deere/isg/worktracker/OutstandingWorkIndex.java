@@ -0,0 +1,303 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.deere.isg.worktracker.StringUtils.isBlank;
+
+/**
+ * Keeps a live count of the outstanding work for each value of an attribute, along with the
+ * oldest work for each value, so that questions like "how many requests does this user have in flight"
+ * can be answered without walking every outstanding work.
+ * <p>
+ * Work is added to the index when its ticket opens and removed when its ticket closes.
+ * Attributes that are filled in after the ticket opens (i.e. the user after authentication)
+ * are picked up by calling {@link #refresh(Work)}, which {@link FloodSensor} does for the incoming work
+ * before every check. Work with a blank attribute value is not counted.
+ * <p>
+ * The index also sums the cost of the outstanding work of each value (see {@link #cost(String)}),
+ * and measures how fast the works of each value close (see {@link #drainRate(String)}),
+ * for as long as that value has outstanding work. {@link Work#isRejected() Rejected} works close at once
+ * without draining anything, so they do not count as closes.
+ * <p>
+ * Indexes are created by {@link OutstandingWorkTracker#index(Function)}.
+ *
+ * @param <W> The type of work being indexed
+ */
+public class OutstandingWorkIndex<W extends Work> {
+    private final Function<? super W, String> attribute;
+    private final ConcurrentMap<W, Entry<W>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bucket<W>> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private LongSupplier nanoTime = System::nanoTime;
+
+    OutstandingWorkIndex(Function<? super W, String> attribute) {
+        this.attribute = attribute;
+    }
+
+    /**
+     * @param key the attribute value
+     * @return the number of outstanding works that currently have that attribute value
+     */
+    public int count(String key) {
+        Bucket<W> bucket = key != null ? buckets.get(key) : null;
+        return bucket != null ? bucket.size : 0;
+    }
+
+    /**
+     * @param key the attribute value
+     * @return the outstanding work with that attribute value that was opened first
+     */
+    public Optional<W> oldest(String key) {
+        return Optional.ofNullable(key)
+                .map(buckets::get)
+                .map(bucket -> bucket.works.firstEntry())
+                .map(Map.Entry::getValue);
+    }
+
+    /**
+     * @param key the attribute value
+     * @return the sum of the costs (see {@link Work#getCost()}) of the outstanding works that currently have
+     * that attribute value, as of when each was added or last refreshed
+     */
+    public double cost(String key) {
+        Bucket<W> bucket = key != null ? buckets.get(key) : null;
+        return bucket != null ? bucket.cost : 0;
+    }
+
+    /**
+     * The rate is a moving average of the time between closes, which counts the time since the last close
+     * once that is longer, so that it falls as soon as works stop closing.
+     *
+     * @param key the attribute value
+     * @return how many outstanding works with that attribute value close per second,
+     * 0 if fewer than two have closed since the value last had no outstanding work
+     */
+    public double drainRate(String key) {
+        Bucket<W> bucket = key != null ? buckets.get(key) : null;
+        return bucket != null ? bucket.drainRate(nanoTime.getAsLong()) : 0;
+    }
+
+    /**
+     * Re-evaluates the attribute and cost of an outstanding work and moves it to its new value if either changed.
+     * Does nothing if the work is not outstanding.
+     *
+     * @param work the work to re-evaluate
+     */
+    public void refresh(W work) {
+        Entry<W> entry = work != null ? entries.get(work) : null;
+        if (entry != null) {
+            String key = keyOf(work);
+            double cost = work.getCost();
+            synchronized (entry) {
+                if (!entry.removed && !entry.suspended && (!Objects.equals(key, entry.key) || cost != entry.cost)) {
+                    unlink(entry, false);
+                    entry.key = key;
+                    entry.cost = cost;
+                    link(entry);
+                }
+            }
+        }
+    }
+
+    void add(W work) {
+        add(work, false);
+    }
+
+    /**
+     * Stops counting an outstanding work, i.e. while it waits to be admitted, until it is resumed.
+     */
+    void suspend(W work) {
+        Entry<W> entry = work != null ? entries.get(work) : null;
+        if (entry != null) {
+            synchronized (entry) {
+                if (!entry.removed && !entry.suspended) {
+                    entry.suspended = true;
+                    unlink(entry, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts a suspended work again, with its current attribute value.
+     */
+    void resume(W work) {
+        Entry<W> entry = work != null ? entries.get(work) : null;
+        if (entry != null) {
+            synchronized (entry) {
+                if (!entry.removed && entry.suspended) {
+                    entry.suspended = false;
+                    entry.key = keyOf(work);
+                    entry.cost = work.getCost();
+                    link(entry);
+                }
+            }
+        }
+    }
+
+    void remove(W work) {
+        Entry<W> entry = entries.remove(work);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.removed = true;
+                if (!entry.suspended) {
+                    unlink(entry, !work.isRejected());
+                }
+            }
+        }
+    }
+
+    void setNanoTime(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Indexes the work that was already outstanding when the index was created.
+     * Anything that closed while it was being added is taken out again afterwards,
+     * since its close may have happened before it was added.
+     */
+    void backfill(OutstandingWorkTracker<? extends W> outstanding) {
+        outstanding.stream().forEach(work -> add(work, true));
+
+        Set<W> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        outstanding.stream().forEach(live::add);
+        entries.values().stream()
+                .filter(entry -> entry.backfilled && !live.contains(entry.work))
+                .forEach(entry -> remove(entry.work));
+    }
+
+    private void add(W work, boolean backfilled) {
+        Entry<W> entry = new Entry<>(sequence.incrementAndGet(), work, keyOf(work), work.getCost(), backfilled);
+        if (entries.putIfAbsent(work, entry) == null) {
+            synchronized (entry) {
+                if (!entry.removed) {
+                    link(entry);
+                }
+            }
+        }
+    }
+
+    private String keyOf(W work) {
+        try {
+            String key = attribute.apply(work);
+            return isBlank(key) ? null : key;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void link(Entry<W> entry) {
+        if (entry.key != null) {
+            buckets.compute(entry.key, (key, bucket) -> {
+                Bucket<W> result = bucket != null ? bucket : new Bucket<>();
+                result.add(entry);
+                return result;
+            });
+        }
+    }
+
+    private void unlink(Entry<W> entry, boolean closed) {
+        if (entry.key != null) {
+            long now = closed ? nanoTime.getAsLong() : 0;
+            buckets.computeIfPresent(entry.key, (key, bucket) -> bucket.remove(entry, closed, now) ? null : bucket);
+        }
+    }
+
+    private static final class Entry<W> {
+        private final long sequence;
+        private final W work;
+        private final boolean backfilled;
+        private String key;
+        private double cost;
+        private boolean removed;
+        private boolean suspended;
+
+        Entry(long sequence, W work, String key, double cost, boolean backfilled) {
+            this.sequence = sequence;
+            this.work = work;
+            this.key = key;
+            this.cost = cost;
+            this.backfilled = backfilled;
+        }
+    }
+
+    /**
+     * Only modified while holding the lock {@link ConcurrentHashMap#compute} takes for its key,
+     * but read without it.
+     */
+    private static final class Bucket<W> {
+        private static final double SMOOTHING = .2;
+        private static final long NEVER = Long.MIN_VALUE;
+
+        private final ConcurrentSkipListMap<Long, W> works = new ConcurrentSkipListMap<>();
+        private volatile int size;
+        private volatile double cost;
+        private volatile long lastClosed = NEVER;
+        private volatile double closeInterval;
+
+        void add(Entry<W> entry) {
+            if (works.put(entry.sequence, entry.work) == null) {
+                size++;
+                cost += entry.cost;
+            }
+        }
+
+        /**
+         * @return true if the bucket is now empty
+         */
+        boolean remove(Entry<W> entry, boolean closed, long now) {
+            if (works.remove(entry.sequence) != null) {
+                size--;
+                cost = size > 0 ? cost - entry.cost : 0;
+                if (closed) {
+                    closed(now);
+                }
+            }
+            return size == 0;
+        }
+
+        double drainRate(long now) {
+            long last = lastClosed;
+            double interval = closeInterval;
+            if (interval <= 0) {
+                return 0;
+            }
+            return TimeUnit.SECONDS.toNanos(1) / Math.max(interval, now - last);
+        }
+
+        private void closed(long now) {
+            if (lastClosed != NEVER) {
+                double interval = Math.max(now - lastClosed, 1);
+                closeInterval = closeInterval > 0 ? closeInterval + SMOOTHING * (interval - closeInterval) : interval;
+            }
+            lastClosed = now;
+        }
+    }
+}
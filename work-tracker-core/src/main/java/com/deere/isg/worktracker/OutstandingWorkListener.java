@@ -0,0 +1,29 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+/**
+ * Told about every work as it starts and finishes being outstanding, see
+ * {@link OutstandingWorkTracker#addListener(OutstandingWorkListener)}.
+ * Both are called on the thread opening or closing the ticket, so they have to be quick and must not throw.
+ *
+ * @param <W> The type of work listened to
+ */
+public interface OutstandingWorkListener<W extends Work> {
+    void opened(W work);
+
+    void closed(W work);
+}
@@ -19,8 +19,10 @@ import com.deere.isg.outstanding.Outstanding;
 import net.logstash.logback.argument.StructuredArgument;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public interface OutstandingWorkTracker<W extends Work> extends Iterable<W> {
@@ -51,12 +53,80 @@ public interface OutstandingWorkTracker<W extends Work> extends Iterable<W> {
         return value;
     }
 
+    /**
+     * Makes the work of an open ticket the current work of this thread again, i.e. when an asynchronous request
+     * is dispatched to a thread other than the one it started on. Does nothing if this tracker has no current work.
+     *
+     * @param ticket the ticket of the work, created by this tracker
+     */
+    default void attach(Outstanding<W>.Ticket ticket) {
+    }
+
+    /**
+     * Leaves this thread without a current work, i.e. when an asynchronous request leaves the thread it started on,
+     * so that the next work to use the thread does not find it there.
+     */
+    default void detach() {
+    }
+
     default <E extends Throwable, E2 extends Throwable> void doInTransactionChecked(W payload, CheckedRunnable<E, E2> runnable) throws E, E2 {
         try (Outstanding<W>.Ticket ignored = this.create(payload)) {
             runnable.run();
         }
     }
 
+    /**
+     * @param elapsedMillis how long the work has to have been running
+     * @return the outstanding work that has been running for longer than {@code elapsedMillis}
+     */
+    default Stream<W> streamOlderThan(long elapsedMillis) {
+        return stream().filter(work -> work.getElapsedMillis() > elapsedMillis);
+    }
+
+    /**
+     * @return the outstanding work that started first
+     */
+    default Optional<W> oldest() {
+        return stream().min(Comparator.comparingLong(Work::getStartTime));
+    }
+
+    /**
+     * Starts keeping a live count of the outstanding work by the value of an attribute,
+     * so that limits on that attribute can be checked without walking every outstanding work.
+     * <p>
+     * Every index adds a little work to opening and closing tickets, so create one per attribute and keep it.
+     *
+     * @param attribute the attribute to count by, i.e. {@code HttpWork::getRemoteUser}
+     * @return the index, or empty if this tracker cannot keep one, in which case use {@link #stream()} instead
+     */
+    default Optional<OutstandingWorkIndex<W>> index(Function<? super W, String> attribute) {
+        return Optional.empty();
+    }
+
+    /**
+     * Starts telling the listener about every work as it starts and finishes being outstanding.
+     *
+     * @param listener the listener to tell
+     * @return false if this tracker cannot tell listeners, in which case use {@link #stream()} instead
+     */
+    default boolean addListener(OutstandingWorkListener<? super W> listener) {
+        return false;
+    }
+
+    /**
+     * @param listener a listener added with {@link #addListener(OutstandingWorkListener)}
+     */
+    default void removeListener(OutstandingWorkListener<? super W> listener) {
+    }
+
+    /**
+     * @return how many works are started for every work that shows up in {@link #stream()},
+     * so that counts taken from the stream can be scaled up to all the outstanding work
+     */
+    default int getSampleRate() {
+        return 1;
+    }
+
     default <T extends W> OutstandingWorkTracker<T> filterTo(Class<T> clazz) {
         return new OutstandingWorkFilter<>(this, clazz);
     }
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An {@link OutstandingWork} that keeps the work of each registered type in its own list,
+ * so that {@link #filterTo(Class)} for a registered type only looks at work of that type,
+ * instead of checking the type of every outstanding work.
+ * <p>
+ * Work goes to the list of the most specific registered type it is an instance of,
+ * and work that is not an instance of any registered type goes to a list of its own.
+ * {@link #stream()} goes through all the lists one after another.
+ * Filtering to a type that was not registered checks the type of every outstanding work as before.
+ * <p>
+ * For example, to keep background tasks out of the way of the {@code HttpFloodSensor}:
+ * <pre>{@code
+ * OutstandingWorkTracker<Work> outstanding = new PartitionedOutstandingWork<>(HttpWork.class, TaskWork.class);
+ * OutstandingWorkTracker<HttpWork> http = outstanding.filterTo(HttpWork.class);
+ * }</pre>
+ *
+ * @param <W> The type passed should extend {@link Work}
+ */
+public class PartitionedOutstandingWork<W extends Work> extends OutstandingWork<W> {
+    private final Map<Class<?>, Outstanding<W>> partitions = new LinkedHashMap<>();
+    private final Outstanding<W> unregistered = new Segment();
+    private final ClassValue<Outstanding<W>> routes = new ClassValue<Outstanding<W>>() {
+        @Override
+        protected Outstanding<W> computeValue(Class<?> type) {
+            return partitions.entrySet().stream()
+                    .filter(partition -> partition.getKey().isAssignableFrom(type))
+                    .reduce((a, b) -> a.getKey().isAssignableFrom(b.getKey()) ? b : a)
+                    .map(Map.Entry::getValue)
+                    .orElse(unregistered);
+        }
+    };
+
+    /**
+     * @param types the types of work to keep in their own lists
+     */
+    @SafeVarargs
+    public PartitionedOutstandingWork(Class<? extends W>... types) {
+        for (Class<? extends W> type : types) {
+            partitions.putIfAbsent(type, new Segment());
+        }
+    }
+
+    @Override
+    public Outstanding<W>.Ticket create(W payload) {
+        if (payload == null) {
+            return super.create(null);
+        }
+        return routes.get(payload.getClass()).create(payload);
+    }
+
+    @Override
+    public Stream<W> stream() {
+        return Stream.concat(partitions.values().stream(), Stream.of(unregistered))
+                .flatMap(Outstanding::stream);
+    }
+
+    @Override
+    public Iterator<W> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return unregistered.isEmpty() && partitions.values().stream().allMatch(Outstanding::isEmpty);
+    }
+
+    @Override
+    public <T extends W> OutstandingWorkTracker<T> filterTo(Class<T> clazz) {
+        if (!partitions.containsKey(clazz)) {
+            return super.filterTo(clazz);
+        }
+        List<Outstanding<W>> matching = partitions.entrySet().stream()
+                .filter(partition -> clazz.isAssignableFrom(partition.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(toList());
+        return new PartitionFilter<>(this, clazz, matching);
+    }
+
+    /**
+     * Only the partitions of the filtered type and its registered subtypes can hold work of that type,
+     * and everything in them is of that type.
+     */
+    private static class PartitionFilter<T extends W, W extends Work> extends OutstandingWorkFilter<T> {
+        private final List<Outstanding<W>> partitions;
+
+        PartitionFilter(OutstandingWorkTracker<W> parent, Class<T> clazz, List<Outstanding<W>> partitions) {
+            super(parent, clazz);
+            this.partitions = partitions;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Stream<T> stream() {
+            return (Stream<T>) partitions.stream().flatMap(Outstanding::stream);
+        }
+
+        @Override
+        public Stream<T> streamOlderThan(long elapsedMillis) {
+            return stream().filter(work -> work.getElapsedMillis() > elapsedMillis);
+        }
+    }
+}
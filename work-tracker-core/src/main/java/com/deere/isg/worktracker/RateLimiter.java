@@ -0,0 +1,112 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many times something may happen for each key (i.e. each user) over time, as opposed to how many
+ * may be outstanding at once. The state of each key is one {@code long}, updated with compare-and-set,
+ * so keys never block each other or themselves.
+ * <p>
+ * Memory is bounded: keys that have gone idle (i.e. would be allowed their full limit again) are swept out
+ * at most once per idle period, and once {@code maxKeys} keys are held, new keys are allowed without being
+ * tracked until the next sweep frees up room. Sweeping a key at the same moment it is used may lose that
+ * one use.
+ * <p>
+ * See {@link TokenBucketRateLimiter} and {@link SlidingWindowRateLimiter}.
+ */
+public abstract class RateLimiter {
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+    private static final long MIN_SWEEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final LongSupplier nanoTime;
+    private final long startTime;
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    protected RateLimiter(int maxKeys, LongSupplier nanoTime) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        this.nanoTime = nanoTime;
+        this.startTime = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes one permit for the key if the limit allows it.
+     *
+     * @param key   what is being limited, i.e. a user name
+     * @param limit how many permits the key may have, read on every call so that it can change
+     * @return 0 if a permit was taken, otherwise how many nanoseconds until one will be available
+     */
+    public long tryAcquire(String key, int limit) {
+        long now = nanoTime.getAsLong() - startTime;
+        sweepIfDue(now);
+
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            if (states.size() >= maxKeys) {
+                return 0;
+            }
+            state = states.computeIfAbsent(key, k -> new AtomicLong(initialState(now)));
+        }
+        return tryAcquire(state, Math.max(limit, 0), now);
+    }
+
+    /**
+     * @return how many keys are being tracked
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * @param now nanoseconds since the limiter was created
+     * @return the state of a key that has not been used yet
+     */
+    protected abstract long initialState(long now);
+
+    /**
+     * Takes one permit from the state if the limit allows it, retrying the compare-and-set as needed.
+     *
+     * @return 0 if a permit was taken, otherwise how many nanoseconds until one will be available
+     */
+    protected abstract long tryAcquire(AtomicLong state, int limit, long now);
+
+    /**
+     * @return true if the key would be allowed its full limit again, so forgetting it changes nothing
+     */
+    protected abstract boolean isIdle(long state, long now);
+
+    /**
+     * @return how long a key takes to go idle after its last use, which is also how often keys are swept
+     */
+    protected abstract long idleNanos();
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + Math.max(idleNanos(), MIN_SWEEP_NANOS))) {
+            states.entrySet().removeIf(entry -> isIdle(entry.getValue().get(), now));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts how many times in a row each client has been rejected, so that {@link FloodSensor} can tell clients
+ * that keep retrying into a flood to wait longer each time. A client's count starts over once it has not been
+ * rejected for a while.
+ * <p>
+ * Like {@link RateLimiter}, the state of each client is one {@code long}: the time of its last rejection
+ * in milliseconds and the count in its lowest byte. Memory is bounded the same way, by sweeping forgotten clients
+ * and not tracking new ones while {@code maxKeys} are held.
+ */
+final class RejectionHistory {
+    private static final int COUNT_BITS = 8;
+    private static final long MAX_COUNT = (1L << COUNT_BITS) - 1;
+    private static final long MIN_SWEEP_MILLIS = 1000;
+
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final long forgetMillis;
+    private final LongSupplier nanoTime;
+    private final long startTime;
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    /**
+     * @param maxKeys    how many clients may be tracked at once
+     * @param forgetTime how long after its last rejection a client's count starts over
+     * @param unit       the unit of the forget time
+     * @param nanoTime   the source of time, {@code System::nanoTime} but in tests
+     */
+    RejectionHistory(int maxKeys, long forgetTime, TimeUnit unit, LongSupplier nanoTime) {
+        this.maxKeys = maxKeys;
+        this.forgetMillis = unit.toMillis(forgetTime);
+        this.nanoTime = nanoTime;
+        this.startTime = nanoTime.getAsLong();
+    }
+
+    /**
+     * Records a rejection of the client.
+     *
+     * @param client who was rejected
+     * @return how many times in a row the client has been rejected, this one included, up to 255
+     */
+    int reject(String client) {
+        long now = TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startTime);
+        sweepIfDue(now);
+
+        AtomicLong state = states.get(client);
+        if (state == null) {
+            if (states.size() >= maxKeys) {
+                return 1;
+            }
+            state = states.computeIfAbsent(client, k -> new AtomicLong(now << COUNT_BITS));
+        }
+        long current;
+        long count;
+        do {
+            current = state.get();
+            count = isForgotten(current, now) ? 1 : Math.min((current & MAX_COUNT) + 1, MAX_COUNT);
+        } while (!state.compareAndSet(current, now << COUNT_BITS | count));
+        return (int) count;
+    }
+
+    /**
+     * @return how many clients are being tracked
+     */
+    int size() {
+        return states.size();
+    }
+
+    private boolean isForgotten(long state, long now) {
+        return now - (state >>> COUNT_BITS) >= forgetMillis;
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now >= due && nextSweep.compareAndSet(due, now + Math.max(forgetMillis, MIN_SWEEP_MILLIS))) {
+            states.entrySet().removeIf(entry -> isForgotten(entry.getValue().get(), now));
+        }
+    }
+}
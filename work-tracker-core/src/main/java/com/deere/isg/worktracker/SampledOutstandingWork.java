@@ -0,0 +1,128 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link OutstandingWork} for services with so many requests that tracking and logging each one
+ * costs more than handling it. Only one in every {@code sampleRate} works is tracked in full,
+ * the rest are only counted.
+ * <p>
+ * Work that is not sampled is still the {@link #current()} work of its thread and is still counted by indexes,
+ * so connection limits that use {@link OutstandingWorkTracker#index(java.util.function.Function)} see every work.
+ * It does not show up in {@link #stream()} and is not {@link Work#isListed() listed}, so the {@link ZombieDetector}
+ * and the outstanding page only look at the sampled work, though listeners are still told about it,
+ * and {@link Work#isSampled()} is false so that its start and end are not logged.
+ * Work that turns out to be slow is promoted when it finishes: it is marked as sampled so that its end is logged.
+ * <pre>{@code
+ * SampledOutstandingWork<HttpWork> outstanding = new SampledOutstandingWork<>(100);
+ * }</pre>
+ *
+ * @param <W> The type passed should extend {@link Work}
+ */
+public class SampledOutstandingWork<W extends Work> extends OutstandingWork<W> {
+    public static final long DEFAULT_PROMOTE_AFTER_MILLIS = 1000;
+
+    private final int sampleRate;
+    private final long promoteAfterMillis;
+    private final AtomicLong started = new AtomicLong();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder unsampledCount = new LongAdder();
+    private final LongAdder promoted = new LongAdder();
+    private final Outstanding<W> unsampled = unlistedSegment();
+
+    /**
+     * @param sampleRate track one in every {@code sampleRate} works in full, 1 tracks all of them
+     */
+    public SampledOutstandingWork(int sampleRate) {
+        this(sampleRate, DEFAULT_PROMOTE_AFTER_MILLIS);
+    }
+
+    /**
+     * @param sampleRate         track one in every {@code sampleRate} works in full, 1 tracks all of them
+     * @param promoteAfterMillis work that is not sampled but takes at least this long is logged when it finishes
+     */
+    public SampledOutstandingWork(int sampleRate, long promoteAfterMillis) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be at least 1, was " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.promoteAfterMillis = promoteAfterMillis;
+    }
+
+    @Override
+    public Outstanding<W>.Ticket create(W payload) {
+        if (payload == null) {
+            return super.create(null);
+        }
+        if (started.getAndIncrement() % sampleRate == 0) {
+            sampledCount.increment();
+            return super.create(payload);
+        }
+        payload.setSampled(false);
+        unsampledCount.increment();
+        return createTicket(unsampled, payload);
+    }
+
+    @Override
+    void closed(Outstanding<W> owner, W payload) {
+        super.closed(owner, payload);
+        if (owner != unsampled) {
+            sampledCount.decrement();
+        } else {
+            unsampledCount.decrement();
+            if (payload.getElapsedMillis() >= promoteAfterMillis) {
+                payload.setSampled(true);
+                promoted.increment();
+            }
+        }
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getPromoteAfterMillis() {
+        return promoteAfterMillis;
+    }
+
+    /**
+     * @return the number of sampled works running right now
+     */
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    /**
+     * @return the number of works running right now, sampled or not
+     */
+    public long getInFlightCount() {
+        return sampledCount.sum() + unsampledCount.sum();
+    }
+
+    /**
+     * @return the number of works that were not sampled but were promoted because they were slow,
+     * since this was created
+     */
+    public long getPromotedCount() {
+        return promoted.sum();
+    }
+}
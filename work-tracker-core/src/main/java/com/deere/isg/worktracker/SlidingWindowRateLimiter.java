@@ -0,0 +1,137 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Allows each key up to {@code limit} permits in any window of the given length.
+ * <p>
+ * Each key counts its permits in the current and the previous fixed window, and weighs the previous
+ * one by how much of it still overlaps the sliding window, which smooths out the bursts a fixed window
+ * allows at its edges. Both counts and the window they belong to are packed in one {@code long},
+ * so limits are capped at {@value #MAX_LIMIT} per window.
+ */
+public class SlidingWindowRateLimiter extends RateLimiter {
+    public static final int MAX_LIMIT = (1 << 20) - 1;
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = MAX_LIMIT;
+    private static final long WINDOW_MASK = (1L << 24) - 1;
+
+    private final long windowNanos;
+
+    /**
+     * @param window the length of the sliding window
+     * @param unit   the unit of the window
+     */
+    public SlidingWindowRateLimiter(long window, TimeUnit unit) {
+        this(window, unit, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param window  the length of the sliding window
+     * @param unit    the unit of the window
+     * @param maxKeys how many keys to track at most
+     */
+    public SlidingWindowRateLimiter(long window, TimeUnit unit, int maxKeys) {
+        this(window, unit, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRateLimiter(long window, TimeUnit unit, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        this.windowNanos = unit.toNanos(window);
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + window + " " + unit);
+        }
+    }
+
+    @Override
+    protected long initialState(long now) {
+        return pack(windowOf(now), 0, 0);
+    }
+
+    @Override
+    protected long tryAcquire(AtomicLong state, int limit, long now) {
+        int cappedLimit = Math.min(limit, MAX_LIMIT);
+        long window = windowOf(now);
+        long elapsed = now % windowNanos;
+        while (true) {
+            long packed = state.get();
+            long previous = previousCount(packed, window);
+            long current = currentCount(packed, window);
+            if (estimate(previous, current, elapsed) + 1 > cappedLimit) {
+                return waitNanos(previous, current, elapsed, cappedLimit);
+            }
+            if (state.compareAndSet(packed, pack(window, previous, current + 1))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    protected boolean isIdle(long state, long now) {
+        long window = windowOf(now);
+        return previousCount(state, window) == 0 && currentCount(state, window) == 0;
+    }
+
+    @Override
+    protected long idleNanos() {
+        return windowNanos;
+    }
+
+    private long windowOf(long now) {
+        return (now / windowNanos) & WINDOW_MASK;
+    }
+
+    private double estimate(long previous, long current, long elapsed) {
+        return previous * (double) (windowNanos - elapsed) / windowNanos + current;
+    }
+
+    /**
+     * The weight of the previous window drops as the current one goes by, so the wait is until it is light
+     * enough, or, if the current window is full on its own, until the next window has taken over.
+     */
+    private long waitNanos(long previous, long current, long elapsed, int limit) {
+        if (limit == 0) {
+            return windowNanos - elapsed;
+        }
+        if (current + 1 <= limit) {
+            long until = (long) Math.ceil(windowNanos * (1 - (limit - 1 - current) / (double) previous));
+            return Math.max(until - elapsed, 1);
+        }
+        long untilNext = (long) Math.ceil(windowNanos * (1 - (limit - 1) / (double) current));
+        return windowNanos - elapsed + Math.max(untilNext, 0);
+    }
+
+    private static long previousCount(long packed, long window) {
+        long packedWindow = packed >>> (2 * COUNT_BITS);
+        if (packedWindow == window) {
+            return (packed >>> COUNT_BITS) & COUNT_MASK;
+        }
+        return packedWindow == ((window - 1) & WINDOW_MASK) ? packed & COUNT_MASK : 0;
+    }
+
+    private static long currentCount(long packed, long window) {
+        return packed >>> (2 * COUNT_BITS) == window ? packed & COUNT_MASK : 0;
+    }
+
+    private static long pack(long window, long previous, long current) {
+        return window << (2 * COUNT_BITS) | previous << COUNT_BITS | current;
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An {@link OutstandingWork} that keeps its work in the order it started, so that finding the work
+ * that has been running longer than some time only has to look at the oldest work,
+ * instead of at everything that is outstanding.
+ * This is what the {@link ZombieDetector} does every 30 seconds.
+ * <p>
+ * Work is kept in the order its ticket was created, which is the order it started as long as the work
+ * is created right before its ticket, as all the filters and decorators in this library do.
+ * Work that was created more than {@code toleranceMillis} before its ticket is kept in a separate list
+ * that is always checked in full, so it is still found, just not as cheaply.
+ * <pre>{@code
+ * OutstandingWorkTracker<HttpWork> outstanding = new StartOrderedOutstandingWork<>();
+ * }</pre>
+ *
+ * @param <W> The type passed should extend {@link Work}
+ */
+public class StartOrderedOutstandingWork<W extends Work> extends OutstandingWork<W> {
+    private static final long DEFAULT_TOLERANCE_MILLIS = 1000;
+
+    private final long toleranceMillis;
+    private final Outstanding<W> late = new Segment();
+
+    public StartOrderedOutstandingWork() {
+        this(DEFAULT_TOLERANCE_MILLIS);
+    }
+
+    /**
+     * @param toleranceMillis how long work may have been running before its ticket was created
+     *                        and still be kept in start order
+     */
+    public StartOrderedOutstandingWork(long toleranceMillis) {
+        if (toleranceMillis < 0) {
+            throw new IllegalArgumentException("toleranceMillis cannot be negative, was " + toleranceMillis);
+        }
+        this.toleranceMillis = toleranceMillis;
+    }
+
+    @Override
+    public Outstanding<W>.Ticket create(W payload) {
+        if (payload != null && payload.getElapsedMillis() > toleranceMillis) {
+            return late.create(payload);
+        }
+        return super.create(payload);
+    }
+
+    @Override
+    public Stream<W> stream() {
+        return Stream.concat(inStartOrder(), late.stream());
+    }
+
+    @Override
+    public Iterator<W> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return super.isEmpty() && late.isEmpty();
+    }
+
+    private Stream<W> inStartOrder() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(super.iterator(), Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Stops looking at work in start order once it reaches work that is younger than {@code elapsedMillis}
+     * by more than twice the tolerance. One tolerance allows for work that was created a little before its ticket,
+     * the other for threads that are paused between checking that and creating the ticket.
+     */
+    @Override
+    public Stream<W> streamOlderThan(long elapsedMillis) {
+        long stopAt = elapsedMillis - 2 * toleranceMillis;
+        List<W> older = new ArrayList<>();
+        Iterator<W> inStartOrder = super.iterator();
+        while (inStartOrder.hasNext()) {
+            W work = inStartOrder.next();
+            long elapsed = work.getElapsedMillis();
+            if (elapsed <= stopAt) {
+                break;
+            }
+            if (elapsed > elapsedMillis) {
+                older.add(work);
+            }
+        }
+        late.stream()
+                .filter(work -> work.getElapsedMillis() > elapsedMillis)
+                .forEach(older::add);
+        return older.stream();
+    }
+
+    @Override
+    public Optional<W> oldest() {
+        Iterator<W> inStartOrder = super.iterator();
+        W oldest = inStartOrder.hasNext() ? inStartOrder.next() : null;
+        long stopAt = oldest != null ? oldest.getStartTime() + 2 * toleranceMillis : 0;
+        while (inStartOrder.hasNext()) {
+            W work = inStartOrder.next();
+            if (work.getStartTime() > stopAt) {
+                break;
+            }
+            if (work.getStartTime() < oldest.getStartTime()) {
+                oldest = work;
+            }
+        }
+        return Stream.concat(Stream.of(oldest).filter(Objects::nonNull), late.stream())
+                .min(Comparator.comparingLong(Work::getStartTime));
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,15 +13,18 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public final class StringUtils {
     private static final Pattern SNAKE_CASE = Pattern.compile("^([a-z][a-z0-9]*)(_[a-z0-9]+)*$");
     private static final Pattern WHITESPACE = Pattern.compile("\\s+");
     private static final Pattern CAMEL_TO_SNAKE_CASE = Pattern.compile("(.)(\\p{javaUpperCase})");
+    private static final int MAX_SNAKE_CASE_KEYS = 1000;
+    private static final Set<String> SNAKE_CASE_KEYS = ConcurrentHashMap.newKeySet();
 
     private StringUtils(){
 
@@ -39,8 +42,23 @@ public final class StringUtils {
         return isBlank(value) ? "" : value;
     }
 
+    /**
+     * Keys are checked every time metadata is added, and there are only ever a few of them,
+     * so the ones that passed are remembered, up to {@value #MAX_SNAKE_CASE_KEYS} of them.
+     */
     public static boolean isSnakeCase(String value) {
-        return value != null && SNAKE_CASE.matcher(value.trim()).matches();
+        if (value == null) {
+            return false;
+        }
+        if (SNAKE_CASE_KEYS.contains(value)) {
+            return true;
+        }
+
+        boolean snakeCase = SNAKE_CASE.matcher(value.trim()).matches();
+        if (snakeCase && SNAKE_CASE_KEYS.size() < MAX_SNAKE_CASE_KEYS) {
+            SNAKE_CASE_KEYS.add(value);
+        }
+        return snakeCase;
     }
 
     public static String trimToEmpty(String value) {
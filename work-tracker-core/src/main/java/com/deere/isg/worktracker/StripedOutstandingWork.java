@@ -0,0 +1,96 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * An {@link OutstandingWork} that spreads its work across several lists (stripes) instead of one,
+ * so that threads starting and finishing work at the same time rarely touch the same list.
+ * Each thread always uses the same stripe.
+ * <p>
+ * {@link #stream()} and {@link #iterator()} visit one stripe after another, so the work they return is only
+ * in the order it started within each stripe, and like {@link OutstandingWork} they may or may not include
+ * work that starts or finishes while they are being read.
+ * <p>
+ * Use it in place of {@code OutstandingWork} on machines with many cores that handle many short requests:
+ * <pre>{@code
+ * OutstandingWorkTracker<HttpWork> outstanding = new StripedOutstandingWork<>();
+ * }</pre>
+ *
+ * @param <W> The type passed should extend {@link Work}
+ */
+public class StripedOutstandingWork<W extends Work> extends OutstandingWork<W> {
+    private final Outstanding<W>[] stripes;
+    private final int mask;
+
+    /**
+     * Creates a stripe for every available processor
+     */
+    public StripedOutstandingWork() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stripes the number of stripes, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public StripedOutstandingWork(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1, was " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Outstanding[Math.max(size, 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Segment();
+        }
+        this.mask = this.stripes.length - 1;
+    }
+
+    @Override
+    public Outstanding<W>.Ticket create(W payload) {
+        return stripe().create(payload);
+    }
+
+    @Override
+    public Stream<W> stream() {
+        return Arrays.stream(stripes).flatMap(Outstanding::stream);
+    }
+
+    @Override
+    public Iterator<W> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return Arrays.stream(stripes).allMatch(Outstanding::isEmpty);
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    private Outstanding<W> stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,14 +19,13 @@ import net.logstash.logback.argument.StructuredArgument;
 import org.slf4j.MDC;
 
 import java.util.List;
-import java.util.UUID;
 
 import static com.deere.isg.worktracker.ContextualTaskDecorator.*;
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
 public class TaskWork extends Work {
     private String service;
-    private String taskId = addToMDC(TASK_ID, UUID.randomUUID().toString());
+    private String taskId = addToMDC(TASK_ID, getIdGenerator().nextId());
     private Boolean success = null;
     private String extraInfo;
 
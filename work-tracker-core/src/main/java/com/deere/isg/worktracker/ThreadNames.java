@@ -0,0 +1,31 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+/**
+ * Names threads in logs.
+ * <p>
+ * On Java 21 and later, this class is replaced by the one in {@code src/main/java21},
+ * which also names virtual threads, since they have no name unless they are given one.
+ */
+final class ThreadNames {
+    private ThreadNames() {
+    }
+
+    static String nameOf(Thread thread) {
+        return thread.getName();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates ids that look like any other UUID, but start with the time they were generated,
+ * so that sorting them as strings puts them in the order they were generated to the millisecond.
+ * The layout is that of a version 7 UUID: 48 bits of milliseconds since the epoch, then 74 random bits
+ * from {@link ThreadLocalRandom}, which does not lock, around the version and variant bits.
+ * <p>
+ * The random bits are not from a secure source, so do not use these ids as secrets.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final int VERSION = 0x7000;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_BITS = 0x3FFFFFFFFFFFFFFFL;
+    private static final int RANDOM_SHORT = 0x0FFF;
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (Clock.milliseconds() << 16) | VERSION | (random.nextInt() & RANDOM_SHORT);
+        long leastSignificant = VARIANT | (random.nextLong() & RANDOM_BITS);
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+}
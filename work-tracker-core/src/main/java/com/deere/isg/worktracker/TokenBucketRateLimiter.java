@@ -0,0 +1,85 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket per key: the bucket holds up to {@code limit} permits and refills at a fixed rate,
+ * so a key can burst up to its limit and then keeps to the rate.
+ * <p>
+ * Instead of a token count, each key only keeps the time at which its bucket would be full again
+ * (the generic cell rate algorithm), which also gives the exact wait for the next permit.
+ */
+public class TokenBucketRateLimiter extends RateLimiter {
+    private final long refillNanos;
+
+    /**
+     * @param permitsPerSecond how fast each bucket refills
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * @param permitsPerSecond how fast each bucket refills
+     * @param maxKeys          how many keys to track at most
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int maxKeys) {
+        this(permitsPerSecond, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        this.refillNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    }
+
+    @Override
+    protected long initialState(long now) {
+        return now;
+    }
+
+    @Override
+    protected long tryAcquire(AtomicLong state, int limit, long now) {
+        long capacity = refillNanos * limit;
+        while (true) {
+            long full = state.get();
+            long next = Math.max(full, now) + refillNanos;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    protected boolean isIdle(long state, long now) {
+        return state <= now;
+    }
+
+    @Override
+    protected long idleNanos() {
+        return refillNanos;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,18 +19,15 @@ import com.deere.clock.Clock;
 import net.logstash.logback.argument.StructuredArgument;
 import net.logstash.logback.composite.loggingevent.ThreadNameJsonProvider;
 import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static com.deere.isg.worktracker.StringUtils.*;
-import static java.util.stream.Collectors.toList;
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
 public abstract class Work {
@@ -40,15 +37,22 @@ public abstract class Work {
     public static final String TIME_INTERVAL = "time_interval";
     public static final String ZOMBIE = "zombie";
     public static final String REQUEST_URL = "request_url";
+    public static final double DEFAULT_COST = 1;
     private static final long DEFAULT_MAX_TIME = TimeUnit.MILLISECONDS.convert(5, TimeUnit.MINUTES);
+    private static volatile IdGenerator idGenerator = new TimeOrderedIdGenerator();
 
     private long maxTime = DEFAULT_MAX_TIME;
     private long startTime = Clock.milliseconds();
-    private Map<String, String> mdc;
+    private final WorkMetadata metadata = new WorkMetadata();
     private final String requestId;
     private Thread thread = Thread.currentThread();
-    private String threadName = addToMDC(THREAD_NAME, thread.getName());
-    private Set<String> checkedLimits = new HashSet<>();
+    private String threadName = addToMDC(THREAD_NAME, ThreadNames.nameOf(thread));
+    private Set<String> checkedLimits;
+    private volatile boolean sampled = true;
+    private volatile boolean listed = true;
+    private volatile boolean rejected;
+    private volatile double cost = DEFAULT_COST;
+    private volatile boolean costDeclared;
 
     protected Work() {
         this(null);
@@ -106,10 +110,82 @@ public abstract class Work {
         thread.interrupt();
     }
 
+    /**
+     * @return false if a {@link SampledOutstandingWork} is only counting this work,
+     * in which case it should not be logged in full
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    void setSampled(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    /**
+     * @return false if the tracker is only counting this work (see {@link BoundedOutstandingWork} and
+     * {@link SampledOutstandingWork}), in which case it does not show up in its stream, and listeners that
+     * hold on to each work, like the {@link ZombieDetector}, should leave it out
+     */
+    public boolean isListed() {
+        return listed;
+    }
+
+    void setListed(boolean listed) {
+        this.listed = listed;
+    }
+
+    /**
+     * @return true if a limit turned this work away, in which case how long it took says nothing about how long
+     * admitted work takes, and listeners that learn from it, like the {@link AdaptiveLimit}, should leave it out
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    public void setRejected(boolean rejected) {
+        this.rejected = rejected;
+    }
+
+    /**
+     * How much of the resources this work is expected to take compared to an average work, for limits that
+     * budget the cost of the work in flight rather than count it (see {@link CostEstimator}).
+     *
+     * @return the declared or estimated cost, {@value #DEFAULT_COST} until either is known
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Declares the cost of this work, which a {@link CostEstimator} will then keep instead of its estimate.
+     *
+     * @param cost how much of the resources this work takes compared to an average work
+     * @throws IllegalArgumentException if the cost is not positive
+     */
+    public void setCost(double cost) {
+        if (!(cost > 0)) {
+            throw new IllegalArgumentException("cost must be positive: " + cost);
+        }
+        this.cost = cost;
+        this.costDeclared = true;
+    }
+
+    public boolean isCostDeclared() {
+        return costDeclared;
+    }
+
+    void estimateCost(double cost) {
+        if (!costDeclared) {
+            this.cost = cost;
+        }
+    }
+
     /**
      * Adds metadata to every subsequent log message created on this thread (i.e. stored in the {@link MDC}),
      * and also makes sure that metadata is available to loggers that are running
      * outside the current thread and are logging about this work, see {@code ZombieDetector}.
+     * When a {@link WorkMdcAdapter} is installed, the value is only stored in this work and the {@link MDC} reads it from here.
      *
      * @param key   must be in snake_case because that is most efficiently managed in Elasticsearch.
      * @param value which must be a String because of historical limitations of SLF4J.
@@ -124,18 +200,32 @@ public abstract class Work {
             String trimKey = key.trim();
             String trimValue = value.trim();
             if (isNotEmpty(trimValue)) {
-                MDC.put(trimKey, trimValue);
+                metadata.put(trimKey, trimValue);
 
-                if (mdc != null) {
-                    mdc.put(trimKey, trimValue);
+                MDCAdapter adapter = MDC.getMDCAdapter();
+                if (adapter instanceof WorkMdcAdapter) {
+                    ((WorkMdcAdapter) adapter).put(this, trimKey);
                 } else {
-                    mdc = MDC.getCopyOfContextMap();
+                    MDC.put(trimKey, trimValue);
                 }
             }
         }
         return value;
     }
 
+    /**
+     * Puts the metadata of this work in the {@link MDC} of the current thread, i.e. to log about the work
+     * on a thread that did not add it, like the one completing an asynchronous request.
+     */
+    public void putMetadataInMDC() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        if (adapter instanceof WorkMdcAdapter) {
+            metadata.forEach((key, value) -> ((WorkMdcAdapter) adapter).put(this, key));
+        } else {
+            metadata.forEach(MDC::put);
+        }
+    }
+
     protected void validateKey(String key) throws IllegalArgumentException {
         if (isNotSnakeCase(key)) {
             throw new IllegalArgumentException("Key "+key+" should be in snake_case and cannot be null");
@@ -167,40 +257,61 @@ public abstract class Work {
             return false;
         }
 
-        boolean hasLimit = checkedLimits.contains(limit);
-        if (!hasLimit) {
-            checkedLimits.add(limit);
+        if (checkedLimits == null) {
+            checkedLimits = new HashSet<>();
         }
-        return hasLimit;
+        return !checkedLimits.add(limit);
     }
 
     public Set<String> getLimits() {
-        return new HashSet<>(checkedLimits);
+        return checkedLimits != null ? new HashSet<>(checkedLimits) : new HashSet<>();
     }
 
     public boolean removeLimit(String limit) {
-        return checkedLimits.remove(limit);
+        return checkedLimits != null && checkedLimits.remove(limit);
     }
 
+    /**
+     * @return the metadata added with {@link #addToMDC(String, String)} in the order it was added,
+     * followed by the {@link #getThreadInfo() thread info}
+     */
     public final List<StructuredArgument> getMetadata() {
-        List<StructuredArgument> metadata = mdc.entrySet().stream()
-                .map(entry -> keyValue(entry.getKey(), entry.getValue()))
-                .collect(toList());
-        metadata.addAll(getThreadInfo());
-
-        return new ArrayList<>(metadata);
+        List<StructuredArgument> args = new ArrayList<>(metadata.size() + 2);
+        metadata.forEach((key, value) -> args.add(keyValue(key, value)));
+        args.addAll(getThreadInfo());
+        return args;
     }
 
     public final List<StructuredArgument> getThreadInfo() {
-        List<StructuredArgument> args = Arrays.asList(
-                keyValue(ELAPSED_MS, getElapsedMillis()),
-                keyValue(ZOMBIE, isZombie())
-        );
-        return new ArrayList<>(args);
+        List<StructuredArgument> args = new ArrayList<>(3);
+        args.add(keyValue(ELAPSED_MS, getElapsedMillis()));
+        args.add(keyValue(ZOMBIE, isZombie()));
+        return args;
+    }
+
+    WorkMetadata metadata() {
+        return metadata;
     }
 
     protected String generatedRequestId() {
-        return UUID.randomUUID().toString();
+        return idGenerator.nextId();
+    }
+
+    public static IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    /**
+     * Sets how request ids and task ids are generated from now on,
+     * i.e. {@link IdGenerator#randomUuid()} to go back to random UUIDs.
+     *
+     * @param generator the generator to use, not null
+     */
+    public static void setIdGenerator(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("IdGenerator cannot be null");
+        }
+        idGenerator = generator;
     }
 
     private List<StructuredArgument> getIntervalInfo(String interval) {
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+/**
+ * Holds the work that is current on each thread.
+ * Threads inherit the work that was current on the thread that created them.
+ * <p>
+ * On Java 21 and later, this class is replaced by the one in {@code src/main/java21},
+ * which does not let virtual threads inherit work or pass it on.
+ *
+ * @param <T> the type of the value held for each thread
+ */
+final class WorkLocal<T> {
+    private final ThreadLocal<T> local = new InheritableThreadLocal<>();
+
+    T get() {
+        return local.get();
+    }
+
+    void set(T value) {
+        local.set(value);
+    }
+}
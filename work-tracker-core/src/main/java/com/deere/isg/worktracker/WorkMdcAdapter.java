@@ -0,0 +1,193 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link MDCAdapter} that reads the metadata of a {@link Work} straight from the work instead of
+ * from a copy of it in the {@link MDC}. Once installed, {@link Work#addToMDC(String, String)} only stores
+ * the value in the work, and the {@link MDC} finds it there when a log event asks for it.
+ * Anything else put in the {@link MDC} is kept in a small map for the thread, and wins over the work's value.
+ * <p>
+ * The work is the last one that added metadata on the thread, until the {@link MDC} is cleared.
+ * If there is none, it is the {@link OutstandingWorkTracker#current() current work} of the tracker it was installed with.
+ * <p>
+ * SLF4J 1.7 has no way to choose the adapter, so {@link #install(OutstandingWorkTracker)} replaces it in {@link MDC}.
+ * Install it once at startup, before any request is handled:
+ * <pre>{@code
+ *  WorkMdcAdapter.install(outstanding);
+ * }</pre>
+ */
+public class WorkMdcAdapter implements MDCAdapter {
+    private static final String REMOVED = new String("");
+
+    private final OutstandingWorkTracker<?> outstanding;
+    private final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+    private MDCAdapter previous;
+
+    WorkMdcAdapter(OutstandingWorkTracker<?> outstanding) {
+        this.outstanding = outstanding;
+    }
+
+    /**
+     * @param outstanding the tracker to find the current work with when no work added metadata on the thread,
+     *                    may be null
+     * @return the adapter now used by {@link MDC}
+     * @throws IllegalStateException if the adapter could not be replaced
+     */
+    public static WorkMdcAdapter install(OutstandingWorkTracker<?> outstanding) {
+        WorkMdcAdapter adapter = new WorkMdcAdapter(outstanding);
+        adapter.previous = replace(adapter);
+        return adapter;
+    }
+
+    /**
+     * Puts back the adapter that was used before this one was installed.
+     */
+    public void uninstall() {
+        replace(previous);
+    }
+
+    @Override
+    public void put(String key, String value) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        Context current = context.get();
+        current.values().put(key, value);
+        current.changes++;
+    }
+
+    /**
+     * Called by the work when it adds metadata, instead of {@link #put(String, String)}.
+     */
+    void put(Work work, String key) {
+        Context current = context.get();
+        current.work = work;
+        if (current.values != null) {
+            current.values.remove(key);
+        }
+        current.changes++;
+    }
+
+    @Override
+    public String get(String key) {
+        Context current = context.get();
+        if (current.values != null && current.values.containsKey(key)) {
+            String value = current.values.get(key);
+            return value != REMOVED ? value : null;
+        }
+        return work(current).map(work -> work.metadata().get(key)).orElse(null);
+    }
+
+    @Override
+    public void remove(String key) {
+        Context current = context.get();
+        if (work(current).map(work -> work.metadata().get(key)).isPresent()) {
+            current.values().put(key, REMOVED);
+        } else if (current.values != null) {
+            current.values.remove(key);
+        }
+        current.changes++;
+    }
+
+    @Override
+    public void clear() {
+        Context current = context.get();
+        current.work = null;
+        current.values = null;
+        current.changes++;
+    }
+
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        Context current = context.get();
+        Map<String, String> copy = new HashMap<>();
+        work(current).ifPresent(work -> work.metadata().forEach(copy::put));
+        if (current.values != null) {
+            current.values.forEach((key, value) -> {
+                if (value != REMOVED) {
+                    copy.put(key, value);
+                } else {
+                    copy.remove(key);
+                }
+            });
+        }
+        return copy.isEmpty() ? null : copy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setContextMap(Map contextMap) {
+        Context current = context.get();
+        current.work = null;
+        current.values = new HashMap<>(contextMap);
+        current.changes++;
+    }
+
+    /**
+     * @return the work the {@link MDC} of the current thread reads from, if any
+     */
+    Work source() {
+        return work(context.get()).orElse(null);
+    }
+
+    /**
+     * @return how many times the {@link MDC} of the current thread has changed
+     */
+    long changes() {
+        return context.get().changes;
+    }
+
+    private Optional<? extends Work> work(Context current) {
+        if (current.work != null) {
+            return Optional.of(current.work);
+        }
+        return outstanding != null ? outstanding.current() : Optional.empty();
+    }
+
+    private static MDCAdapter replace(MDCAdapter adapter) {
+        try {
+            Field field = MDC.class.getDeclaredField("mdcAdapter");
+            field.setAccessible(true);
+            MDCAdapter replaced = (MDCAdapter) field.get(null);
+            field.set(null, adapter);
+            return replaced;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Could not replace the MDC adapter of SLF4J", e);
+        }
+    }
+
+    private static final class Context {
+        private Work work;
+        private Map<String, String> values;
+        private long changes;
+
+        Map<String, String> values() {
+            if (values == null) {
+                values = new HashMap<>();
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * The metadata of a {@link Work}, kept as keys and values side by side in one array in the order they were added.
+ * Work has a handful of keys, so looking one up by walking the array is cheaper than hashing it,
+ * and the array takes a fraction of the memory of a map.
+ * <p>
+ * Only the thread doing the work adds to it, but other threads read it (i.e. {@link ZombieDetector}).
+ * The array is written before the size, and read after it, so readers see every entry the size counts.
+ */
+final class WorkMetadata {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile String[] entries = new String[INITIAL_CAPACITY * 2];
+    private volatile int size;
+
+    void put(String key, String value) {
+        String[] current = entries;
+        int index = indexOf(current, size, key);
+        if (index >= 0) {
+            current[index + 1] = value;
+            return;
+        }
+
+        int length = size * 2;
+        if (length == current.length) {
+            current = Arrays.copyOf(current, length * 2);
+        }
+        current[length] = key;
+        current[length + 1] = value;
+        entries = current;
+        size++;
+    }
+
+    String get(String key) {
+        int count = size;
+        String[] current = entries;
+        int index = indexOf(current, count, key);
+        return index >= 0 ? current[index + 1] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(BiConsumer<String, String> action) {
+        int count = size;
+        String[] current = entries;
+        for (int i = 0; i < count * 2; i += 2) {
+            action.accept(current[i], current[i + 1]);
+        }
+    }
+
+    private static int indexOf(String[] entries, int count, String key) {
+        for (int i = 0; i < count * 2; i += 2) {
+            if (entries[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -19,11 +19,23 @@ package com.deere.isg.worktracker;
 import com.deere.clock.Clock;
 
 import javax.annotation.PreDestroy;
-import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledFuture;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Logs work that has been outstanding for more than 30 seconds, every 30 seconds it stays outstanding,
+ * and kills work once it becomes a zombie (see {@link Work#isZombie()}).
+ * <p>
+ * When the tracker tells it about work opening and closing (see {@link OutstandingWorkTracker#addListener}),
+ * each work gets one deadline for its next check on a timer wheel shared by every detector,
+ * so zombies are killed as soon as they pass their max time. Otherwise, the detector falls back to
+ * scanning all outstanding work every 30 seconds. Work the tracker only counts (see {@link Work#isListed()})
+ * is not watched either way, so that the memory of the detector stays bounded along with the tracker's.
+ */
 public class ZombieDetector implements AutoCloseable {
     public static final String ZOMBIE = "ZOMBIE";
     public static final String LONG_RUNNING = "LONG_RUNNING";
@@ -31,18 +43,44 @@ public class ZombieDetector implements AutoCloseable {
     private static final long SECOND_30 = TimeUnit.MILLISECONDS.convert(30, TimeUnit.SECONDS);
 
     private final OutstandingWorkTracker<?> outstanding;
+    private final ConcurrentMap<Work, DeadlineWheel.Deadline> deadlines = new ConcurrentHashMap<>();
+    private final OutstandingWorkListener<Work> listener = new OutstandingWorkListener<Work>() {
+        @Override
+        public void opened(Work work) {
+            if (work.isListed()) {
+                watch(work);
+            }
+        }
+
+        @Override
+        public void closed(Work work) {
+            unwatch(work);
+        }
+    };
 
     private ZombieLogger logger = ZombieLogger.getLogger();
-    private ScheduledFuture<?> future;
+    private DeadlineWheel wheel;
+    private volatile DeadlineWheel.Deadline scan;
+    private volatile boolean closed;
 
     public ZombieDetector(OutstandingWorkTracker<?> outstanding) {
+        this(outstanding, null);
+    }
+
+    ZombieDetector(OutstandingWorkTracker<?> outstanding, DeadlineWheel wheel) {
         this.outstanding = outstanding;
+        this.wheel = wheel;
     }
 
     public void start() {
-        future = Executors.newScheduledThreadPool(1).scheduleAtFixedRate(
-                this::doWork, 30, 30, TimeUnit.SECONDS
-        );
+        if (wheel == null) {
+            wheel = DeadlineWheel.shared();
+        }
+        if (outstanding.addListener(listener)) {
+            watchOutstanding();
+        } else {
+            scheduleScan();
+        }
     }
 
     /**
@@ -87,12 +125,17 @@ public class ZombieDetector implements AutoCloseable {
     @Override
     @PreDestroy
     public void close() {
-        Optional.ofNullable(future).ifPresent(f -> f.cancel(true));
+        closed = true;
+        outstanding.removeListener(listener);
+        deadlines.values().forEach(DeadlineWheel.Deadline::cancel);
+        deadlines.clear();
+        if (scan != null) {
+            scan.cancel();
+        }
     }
 
     void doWork() {
-        outstanding.stream()
-                .filter(this::isLoggable)
+        outstanding.streamOlderThan(SECOND_30)
                 .peek(this::logZombie)
                 .filter(Work::isZombie)
                 .forEach(this::killZombie);
@@ -103,7 +146,78 @@ public class ZombieDetector implements AutoCloseable {
     }
 
     boolean isCancelled() {
-        return future.isCancelled();
+        return closed;
+    }
+
+    /**
+     * @return how many works have a deadline, for tests
+     */
+    int watching() {
+        return deadlines.size();
+    }
+
+    private void scheduleScan() {
+        if (!closed) {
+            scan = wheel.schedule(() -> {
+                try {
+                    doWork();
+                } finally {
+                    scheduleScan();
+                }
+            }, SECOND_30, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Watches the work that was already outstanding when the detector started listening.
+     * Anything that closed while it was being watched is unwatched again afterwards,
+     * since its close may have happened before it was watched.
+     */
+    private void watchOutstanding() {
+        Set<Work> backfilled = Collections.newSetFromMap(new IdentityHashMap<>());
+        outstanding.stream().forEach(work -> {
+            backfilled.add(work);
+            watch(work);
+        });
+        outstanding.stream().forEach(backfilled::remove);
+        backfilled.forEach(this::unwatch);
+    }
+
+    private void watch(Work work) {
+        if (!closed) {
+            DeadlineWheel.Deadline previous = deadlines.put(work, nextCheck(work));
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+    }
+
+    private void unwatch(Work work) {
+        DeadlineWheel.Deadline deadline = deadlines.remove(work);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    private DeadlineWheel.Deadline nextCheck(Work work) {
+        long elapsed = work.getElapsedMillis();
+        long untilLongRunning = SECOND_30 - elapsed % SECOND_30 + 1;
+        long untilZombie = work.getMaxTime() - elapsed + 1;
+        long delay = untilZombie > 0 ? Math.min(untilZombie, untilLongRunning) : untilLongRunning;
+        return wheel.schedule(() -> check(work), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void check(Work work) {
+        if (!deadlines.containsKey(work)) {
+            return;
+        }
+        if (work.isZombie() || work.getElapsedMillis() > SECOND_30) {
+            logZombie(work);
+        }
+        if (work.isZombie()) {
+            killZombie(work);
+        }
+        deadlines.computeIfPresent(work, (key, deadline) -> nextCheck(key));
     }
 
     private void killZombie(Work work) {
@@ -115,10 +229,6 @@ public class ZombieDetector implements AutoCloseable {
         }
     }
 
-    private boolean isLoggable(Work work) {
-        return work.getElapsedMillis() > SECOND_30;
-    }
-
     private void logZombie(Work work) {
         logger.logZombie(work.isZombie() ? ZOMBIE : LONG_RUNNING, work);
     }
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+/**
+ * Names threads in logs. Virtual threads have no name unless they are given one,
+ * so they are named after their id, the way {@link Thread#toString()} shows them.
+ */
+final class ThreadNames {
+    private static final String VIRTUAL = "virtual-";
+
+    private ThreadNames() {
+    }
+
+    static String nameOf(Thread thread) {
+        String name = thread.getName();
+        return thread.isVirtual() && name.isEmpty() ? VIRTUAL + thread.threadId() : name;
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveLimitTest {
+    private static final int INITIAL = 20;
+
+    private AdaptiveLimit limit;
+    private List<Integer> changes;
+
+    @Before
+    public void setUp() {
+        limit = new AdaptiveLimit(INITIAL, 5, 1000);
+        changes = new ArrayList<>();
+        limit.onChange(changes::add);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+    }
+
+    @Test
+    public void startsAtInitialLimitWithinBounds() {
+        assertThat(limit.getLimit()).isEqualTo(INITIAL);
+        assertThat(new AdaptiveLimit(100, 5, 50).getLimit()).isEqualTo(50);
+        assertThat(new AdaptiveLimit(1, 5, 50).getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void growsWhileLatencyHoldsSteadyAndLimitIsInUse() {
+        sample(50, 10, true);
+
+        assertThat(limit.getLimit()).isGreaterThan(INITIAL);
+        assertThat(changes).isNotEmpty().isSorted();
+    }
+
+    @Test
+    public void doesNotGrowWhileMostOfLimitIsUnused() {
+        for (int i = 0; i < 50; i++) {
+            limit.sample(10, 1, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(INITIAL);
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void shrinksOnceLatencyClimbs() {
+        sample(50, 10, true);
+        int grown = limit.getLimit();
+
+        sample(20, 100, true);
+
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    public void shrinksWhileRejectedWorkIsFastAndLatencyClimbs() {
+        sample(50, 10, true);
+        int grown = limit.getLimit();
+        Clock.freeze();
+        for (int i = 0; i < grown; i++) {
+            limit.opened(new MockWork());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            MockWork admitted = new MockWork();
+            limit.opened(admitted);
+            List<MockWork> rejected = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                MockWork work = new MockWork();
+                work.setRejected(true);
+                limit.opened(work);
+                rejected.add(work);
+            }
+            Clock.freeze(Clock.now().plus(1));
+            rejected.forEach(limit::closed);
+            Clock.freeze(Clock.now().plus(99));
+            limit.closed(admitted);
+        }
+
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    public void backsOffOnDrops() {
+        limit.sample(10, INITIAL, true);
+        assertThat(limit.getLimit()).isEqualTo(18);
+
+        for (int i = 0; i < 20; i++) {
+            limit.sample(10, INITIAL, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void staysWithinMaxLimit() {
+        AdaptiveLimit bounded = new AdaptiveLimit(INITIAL, 5, 25);
+        for (int i = 0; i < 100; i++) {
+            bounded.sample(10, 1000, false);
+        }
+
+        assertThat(bounded.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    public void countsWorkInFlight() {
+        MockWork first = new MockWork();
+        MockWork second = new MockWork();
+
+        limit.opened(first);
+        limit.opened(second);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+
+        limit.closed(first);
+        limit.closed(second);
+        limit.closed(new MockWork());
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minLimitMustNotExceedMaxLimit() {
+        new AdaptiveLimit(INITIAL, 10, 5);
+    }
+
+    private void sample(int times, long rttMillis, boolean busy) {
+        for (int i = 0; i < times; i++) {
+            limit.sample(rttMillis, busy ? limit.getLimit() : 1, false);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BoundedOutstandingWorkTest {
+    private static final String TEST_USER = "test_user";
+    private static final String OTHER_USER = "other_user";
+
+    @Mock
+    private Logger logger;
+
+    private BoundedOutstandingWork<MockWork> outstanding;
+
+    @Before
+    public void setUp() {
+        outstanding = new BoundedOutstandingWork<>(2);
+        outstanding.setLogger(logger);
+    }
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void capacityCannotBeNegative() {
+        assertThatThrownBy(() -> new BoundedOutstandingWork<>(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void underCapacityWorkIsTracked() {
+        MockWork work = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(work);
+
+        assertThat(outstanding.stream().collect(toList())).containsExactly(work);
+        assertThat(outstanding.getTrackedCount()).isEqualTo(1);
+        assertThat(outstanding.getOverflowCount()).isEqualTo(0);
+
+        ticket.close();
+
+        assertThat(outstanding.isEmpty()).isTrue();
+        assertThat(outstanding.getTrackedCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void overflowingWorkIsOnlyCounted() {
+        MockWork first = new MockWork(TEST_USER);
+        MockWork second = new MockWork(TEST_USER);
+        MockWork overflowing = new MockWork(OTHER_USER);
+        outstanding.create(first);
+        outstanding.create(second);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(overflowing);
+
+        assertThat(outstanding.stream().collect(toList())).containsExactly(first, second);
+        assertThat(outstanding.current()).contains(overflowing);
+        assertThat(outstanding.getTrackedCount()).isEqualTo(2);
+        assertThat(outstanding.getOverflowingCount()).isEqualTo(1);
+        assertThat(outstanding.getOverflowCount()).isEqualTo(1);
+        assertThat(outstanding.getRejectedCount()).isEqualTo(0);
+
+        ticket.close();
+
+        assertThat(outstanding.current()).isEmpty();
+        assertThat(outstanding.getOverflowingCount()).isEqualTo(0);
+        assertThat(outstanding.getOverflowCount()).isEqualTo(1);
+        assertThat(outstanding.stream().collect(toList())).containsExactly(first, second);
+    }
+
+    @Test
+    public void overflowIsCountedByServiceAndAddedAttributes() {
+        outstanding = new BoundedOutstandingWork<>(0);
+        outstanding.setLogger(logger);
+        outstanding.countOverflowBy("user", MockWork::getUser);
+
+        outstanding.create(new MockWork(TEST_USER)).close();
+        outstanding.create(new MockWork(TEST_USER)).close();
+        outstanding.create(new MockWork(OTHER_USER)).close();
+        outstanding.create(new MockWork()).close();
+
+        Map<String, Map<String, Long>> counts = outstanding.getOverflowCounts();
+        assertThat(counts).containsOnlyKeys(BoundedOutstandingWork.SERVICE, "user");
+        assertThat(counts.get(BoundedOutstandingWork.SERVICE))
+                .containsEntry(BoundedOutstandingWork.UNKNOWN, 4L);
+        assertThat(counts.get("user"))
+                .containsEntry(TEST_USER, 2L)
+                .containsEntry(OTHER_USER, 1L)
+                .containsEntry(BoundedOutstandingWork.UNKNOWN, 1L);
+    }
+
+    @Test
+    public void overflowCountsKeepABoundedNumberOfKeys() {
+        outstanding = new BoundedOutstandingWork<>(0);
+        outstanding.setLogger(logger);
+        outstanding.countOverflowBy("user", MockWork::getUser);
+
+        for (int i = 0; i < BoundedOutstandingWork.MAX_KEYS + 5; i++) {
+            outstanding.create(new MockWork(TEST_USER + i)).close();
+        }
+
+        Map<String, Long> users = outstanding.getOverflowCounts().get("user");
+        assertThat(users).hasSize(BoundedOutstandingWork.MAX_KEYS + 1);
+        assertThat(users).containsEntry(BoundedOutstandingWork.OTHER, 5L);
+    }
+
+    @Test
+    public void overflowingWorkIsStillIndexed() {
+        OutstandingWorkIndex<MockWork> index = outstanding.index(MockWork::getUser).orElse(null);
+        outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(TEST_USER));
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(new MockWork(TEST_USER));
+
+        assertThat(index.count(TEST_USER)).isEqualTo(3);
+
+        ticket.close();
+        assertThat(index.count(TEST_USER)).isEqualTo(2);
+    }
+
+    @Test
+    public void rejectOverflowThrowsWithoutStartingWork() {
+        outstanding = new BoundedOutstandingWork<>(1, true);
+        outstanding.setLogger(logger);
+        MockWork work = new MockWork(TEST_USER);
+        outstanding.create(work);
+
+        assertThatThrownBy(() -> outstanding.create(new MockWork(OTHER_USER)))
+                .isInstanceOf(OverCapacityException.class)
+                .hasFieldOrPropertyWithValue("capacity", 1);
+
+        assertThat(outstanding.current()).contains(work);
+        assertThat(outstanding.getOverflowingCount()).isEqualTo(0);
+        assertThat(outstanding.getOverflowCount()).isEqualTo(1);
+        assertThat(outstanding.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void doInTransactionRejectsWithoutRunning() {
+        outstanding = new BoundedOutstandingWork<>(0, true);
+        outstanding.setLogger(logger);
+        Runnable runnable = () -> {
+            throw new AssertionError("should not run");
+        };
+
+        assertThatThrownBy(() -> outstanding.doInTransaction(new MockWork(TEST_USER), runnable))
+                .isInstanceOf(OverCapacityException.class);
+    }
+
+    @Test
+    public void logsWhenGoingOverAndBackUnderCapacity() {
+        Outstanding<MockWork>.Ticket first = outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(TEST_USER));
+        Outstanding<MockWork>.Ticket overflowing = outstanding.create(new MockWork(TEST_USER));
+        Outstanding<MockWork>.Ticket overflowingAgain = outstanding.create(new MockWork(TEST_USER));
+
+        verify(logger, times(1)).warn(anyString(), any(), any());
+
+        overflowing.close();
+        overflowingAgain.close();
+        verify(logger, never()).info(anyString(), any(), any(), any());
+
+        first.close();
+        verify(logger, times(1)).info(anyString(), any(), any(), any());
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import java.util.Map;
 import static com.deere.isg.worktracker.ExecutorTestUtils.UUID_PATTERN;
 import static net.logstash.logback.argument.StructuredArguments.kv;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
@@ -113,4 +114,53 @@ public class ContextualExecutorTest extends ExecutorTestHelper {
         assertThat(map).containsEntry("key1", "value1");
         assertThat(map).containsEntry("key2", "value2");
     }
+
+    @Test
+    public void parentMdcIsSharedUntilItChanges() {
+        MDC.put(PARENT, TEST);
+        MDC.put("exception_name", "test_exception_name");
+
+        Map<String, String> first = contextualExecutor.cleanseParentMdc();
+        Map<String, String> second = contextualExecutor.cleanseParentMdc();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).containsOnly(entry(PARENT, TEST));
+
+        MDC.put(PARENT, "changed");
+        Map<String, String> changed = contextualExecutor.cleanseParentMdc();
+
+        assertThat(changed).isNotSameAs(first).containsOnly(entry(PARENT, "changed"));
+        assertThat(first).containsOnly(entry(PARENT, TEST));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedParentMdcCannotBeModified() {
+        MDC.put(PARENT, TEST);
+
+        contextualExecutor.cleanseParentMdc().put(PARENT, "changed");
+    }
+
+    @Test
+    public void emptyParentMdcIsEmpty() {
+        assertThat(contextualExecutor.cleanseParentMdc()).isEmpty();
+    }
+
+    @Test
+    public void parentMdcFromWorkIsSharedUntilTheWorkChanges() {
+        WorkMdcAdapter adapter = WorkMdcAdapter.install(null);
+        try {
+            MockWork work = new MockWork("user_1");
+
+            Map<String, String> first = contextualExecutor.cleanseParentMdc();
+            assertThat(contextualExecutor.cleanseParentMdc()).isSameAs(first);
+            assertThat(first).containsEntry(MockWork.USER, "user_1");
+
+            work.setUser("user_2");
+
+            assertThat(contextualExecutor.cleanseParentMdc()).containsEntry(MockWork.USER, "user_2");
+        } finally {
+            MDC.clear();
+            adapter.uninstall();
+        }
+    }
 }
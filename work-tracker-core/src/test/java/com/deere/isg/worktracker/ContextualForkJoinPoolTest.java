@@ -0,0 +1,122 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.deere.isg.worktracker.TaskDecorator.TASK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContextualForkJoinPoolTest {
+    private static final String PARENT = "parent";
+    private static final String TEST = "test";
+
+    private ForkJoinPool forkJoinPool;
+    private ContextualForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        MDC.clear();
+        forkJoinPool = new ForkJoinPool(2);
+        pool = new ContextualForkJoinPool(forkJoinPool);
+        MDC.put(PARENT, TEST);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        forkJoinPool.shutdownNow();
+        forkJoinPool.awaitTermination(10, TimeUnit.SECONDS);
+        MDC.clear();
+    }
+
+    @Test
+    public void invokedTaskHasParentMetadata() {
+        String parent = pool.invoke(new ParentTask());
+
+        assertThat(parent).isEqualTo(TEST);
+    }
+
+    @Test
+    public void submittedTaskHasParentMetadata() {
+        assertThat(pool.submit(new ParentTask()).join()).isEqualTo(TEST);
+    }
+
+    @Test
+    public void executedTaskHasParentMetadata() {
+        ParentTask task = new ParentTask();
+
+        pool.execute(task);
+
+        assertThat(task.join()).isEqualTo(TEST);
+    }
+
+    @Test
+    public void parallelStreamStartedInTheTaskRunsInThePool() {
+        ForkJoinPool used = pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, 1000)
+                .parallel()
+                .mapToObj(i -> ForkJoinTask.getPool())
+                .filter(p -> p != null && p != forkJoinPool)
+                .findAny()
+                .orElse(forkJoinPool)));
+
+        assertThat(used).isSameAs(forkJoinPool);
+    }
+
+    @Test
+    public void supplyAsyncHasParentMetadata() {
+        String parent = pool.supplyAsync(() -> MDC.get(PARENT)).join();
+
+        assertThat(parent).isEqualTo(TEST);
+    }
+
+    @Test
+    public void runAsyncHasTaskMetadata() {
+        String[] taskId = new String[1];
+
+        pool.runAsync(() -> taskId[0] = MDC.get(TASK_ID)).join();
+
+        assertThat(taskId[0]).isNotNull();
+        assertThat(MDC.get(TASK_ID)).isNull();
+    }
+
+    @Test
+    public void taskIsTrackedWithAnOutstandingTaskDecorator() {
+        OutstandingWork<Work> outstanding = new OutstandingWork<>();
+        ContextualForkJoinPool trackedPool = new ContextualForkJoinPool(forkJoinPool,
+                new OutstandingTaskDecorator<>(outstanding, (task, parent) -> new TaskWork(task.getClass().getName(), parent)));
+
+        long tracked = trackedPool.invoke(ForkJoinTask.adapt(() -> outstanding.stream().count()));
+
+        assertThat(tracked).isEqualTo(1);
+        assertThat(outstanding.stream().count()).isZero();
+    }
+
+    private static class ParentTask extends RecursiveTask<String> {
+        @Override
+        protected String compute() {
+            return MDC.get(PARENT);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.worktracker.ExecutorTestUtils.MockCallable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.deere.isg.worktracker.ExecutorTestUtils.UUID_PATTERN;
+import static com.deere.isg.worktracker.TaskDecorator.TASK_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ContextualScheduledExecutorServiceTest {
+    private static final String PARENT = "parent";
+    private static final String TEST = "test";
+
+    private ScheduledExecutorService scheduler;
+    private ContextualScheduledExecutorService contextualScheduler;
+
+    @Before
+    public void setUp() {
+        MDC.clear();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        contextualScheduler = new ContextualScheduledExecutorService(scheduler);
+        MDC.put(PARENT, TEST);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void hasSameFunctionalityAsScheduledExecutorService() {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        ContextualScheduledExecutorService contextualService = new ContextualScheduledExecutorService(executor);
+
+        contextualService.shutdown();
+        verify(executor).shutdown();
+
+        contextualService.isShutdown();
+        verify(executor).isShutdown();
+    }
+
+    @Test
+    public void scheduledRunnableHasParentMetadata() throws Exception {
+        ExecutorTestUtils.MockRunnable runnable = new ExecutorTestUtils.MockRunnable();
+
+        contextualScheduler.schedule(runnable, 1, TimeUnit.MILLISECONDS).get();
+
+        assertThat(runnable.getValue(PARENT)).isEqualTo(TEST);
+        assertThat(UUID_PATTERN.matcher(runnable.getValue(TASK_ID)).matches()).isTrue();
+        assertThat(runnable.getValue("task_class_name")).contains("MockRunnable");
+    }
+
+    @Test
+    public void scheduledCallableHasParentMetadata() throws Exception {
+        MockCallable callable = new MockCallable();
+
+        String output = contextualScheduler.schedule(callable, 1, TimeUnit.MILLISECONDS).get();
+
+        assertThat(output).isEqualTo("test");
+        assertThat(callable.getValue(PARENT)).isEqualTo(TEST);
+        assertThat(callable.getValue("task_class_name")).contains("MockCallable");
+    }
+
+    @Test
+    public void everyRunAtFixedRateHasParentMetadataAndItsOwnTaskId() throws Exception {
+        assertPeriodicRuns(contextualScheduler::scheduleAtFixedRate);
+    }
+
+    @Test
+    public void everyRunWithFixedDelayHasParentMetadataAndItsOwnTaskId() throws Exception {
+        assertPeriodicRuns(contextualScheduler::scheduleWithFixedDelay);
+    }
+
+    private void assertPeriodicRuns(Periodic periodic) throws InterruptedException {
+        List<String> parents = new CopyOnWriteArrayList<>();
+        List<String> taskIds = new CopyOnWriteArrayList<>();
+        CountDownLatch runs = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = periodic.schedule(() -> {
+            parents.add(MDC.get(PARENT));
+            taskIds.add(MDC.get(TASK_ID));
+            runs.countDown();
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        assertThat(runs.await(10, TimeUnit.SECONDS)).isTrue();
+        future.cancel(false);
+
+        assertThat(parents).containsOnly(TEST);
+        assertThat(taskIds).doesNotHaveDuplicates();
+    }
+
+    private interface Periodic {
+        ScheduledFuture<?> schedule(Runnable command, long initialDelay, long period, TimeUnit unit);
+    }
+}
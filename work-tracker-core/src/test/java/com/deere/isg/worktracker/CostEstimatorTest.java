@@ -0,0 +1,163 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+public class CostEstimatorTest {
+    private static final String LOOKUP = "lookup";
+    private static final String REPORT = "report";
+
+    private AtomicLong cpuNanos;
+    private CostEstimator<MockWork> costs;
+
+    @Before
+    public void setUp() {
+        Clock.freeze();
+        cpuNanos = new AtomicLong(-1);
+        costs = new CostEstimator<>(MockWork::getUser, .1, 5, 100, cpuNanos::get);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+    }
+
+    @Test
+    public void costIsDefaultUntilLearned() {
+        assertThat(costs.costOf(LOOKUP)).isEqualTo(Work.DEFAULT_COST);
+        assertThat(costs.costOf(null)).isEqualTo(Work.DEFAULT_COST);
+
+        close(LOOKUP, 10, 0);
+        assertThat(costs.costOf(LOOKUP)).isEqualTo(1);
+        assertThat(costs.costOf(REPORT)).isEqualTo(Work.DEFAULT_COST);
+    }
+
+    @Test
+    public void costIsElapsedTimeOverAverageOfEveryWork() {
+        close(LOOKUP, 100, 0);
+        close(REPORT, 300, 0);
+
+        assertThat(costs.costOf(LOOKUP)).isCloseTo(100 / 120.0, offset(.0001));
+        assertThat(costs.costOf(REPORT)).isCloseTo(300 / 120.0, offset(.0001));
+    }
+
+    @Test
+    public void costIsKeptWithinMinAndMax() {
+        close(LOOKUP, 2, 0);
+        close(REPORT, 40_000, 0);
+
+        assertThat(costs.costOf(LOOKUP)).isEqualTo(.1);
+        assertThat(costs.costOf(REPORT)).isEqualTo(5);
+    }
+
+    @Test
+    public void rejectedWorkIsNotLearned() {
+        close(REPORT, 300, 0);
+        MockWork rejected = new MockWork(LOOKUP);
+        costs.opened(rejected);
+        rejected.setRejected(true);
+        Clock.freeze(Clock.now().plusMillis(1));
+        costs.closed(rejected);
+
+        assertThat(costs.costOf(LOOKUP)).isEqualTo(Work.DEFAULT_COST);
+        assertThat(costs.costOf(REPORT)).isEqualTo(1);
+    }
+
+    @Test
+    public void costAveragesElapsedAndCpuRatios() {
+        cpuNanos.set(0);
+        close(LOOKUP, 100, 10);
+        close(REPORT, 100, 210);
+
+        assertThat(costs.costOf(LOOKUP)).isCloseTo((1 + 10 / 30.0) / 2, offset(.0001));
+        assertThat(costs.costOf(REPORT)).isCloseTo((1 + 210 / 30.0) / 2, offset(.0001));
+    }
+
+    @Test
+    public void cpuIsNotMeasuredForWorkOpenedOnAnotherThread() throws InterruptedException {
+        cpuNanos.set(0);
+        MockWork work = new MockWork(REPORT);
+        Thread other = new Thread(() -> costs.opened(work));
+        other.start();
+        other.join();
+        cpuNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        costs.closed(work);
+        close(LOOKUP, 1, 5);
+
+        assertThat(costs.costOf(REPORT)).isEqualTo(1);
+    }
+
+    @Test
+    public void estimateSetsCostOfWorkUnlessDeclared() {
+        close(LOOKUP, 100, 0);
+        close(REPORT, 300, 0);
+
+        MockWork report = new MockWork(REPORT);
+        costs.opened(report);
+        assertThat(report.getCost()).isCloseTo(300 / 120.0, offset(.0001));
+
+        MockWork declared = new MockWork(REPORT);
+        declared.setCost(3);
+        costs.estimate(declared);
+        assertThat(declared.getCost()).isEqualTo(3);
+        assertThat(declared.isCostDeclared()).isTrue();
+
+        MockWork unknown = new MockWork();
+        costs.estimate(unknown);
+        assertThat(unknown.getCost()).isEqualTo(Work.DEFAULT_COST);
+    }
+
+    @Test
+    public void onlyLearnsUpToMaxKeys() {
+        costs = new CostEstimator<>(MockWork::getUser, .1, 5, 1, cpuNanos::get);
+        close(LOOKUP, 100, 0);
+        close(REPORT, 300, 0);
+        close(null, 300, 0);
+
+        assertThat(costs.size()).isEqualTo(1);
+        assertThat(costs.costOf(REPORT)).isEqualTo(Work.DEFAULT_COST);
+        assertThat(costs.costOf(LOOKUP)).isCloseTo(100 / 120.0, offset(.0001));
+    }
+
+    @Test
+    public void costsMustBePositiveAndOrdered() {
+        assertThatThrownBy(() -> new CostEstimator<MockWork>(MockWork::getUser, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CostEstimator<MockWork>(MockWork::getUser, 2, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void close(String user, int elapsedMillis, long cpuMillis) {
+        MockWork work = new MockWork(user);
+        costs.opened(work);
+        Clock.freeze(Clock.now().plusMillis(elapsedMillis));
+        if (cpuNanos.get() >= 0) {
+            cpuNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(cpuMillis));
+        }
+        costs.closed(work);
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CountMinSketchTest {
+    @Test
+    public void estimatesAreNeverTooLow() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key" + i, i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sketch.estimate("key" + i)).isGreaterThanOrEqualTo(i);
+        }
+    }
+
+    @Test
+    public void estimatesHeavyKeysClosely() {
+        CountMinSketch sketch = new CountMinSketch(4, 512);
+        sketch.add("heavy", 100_000);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key" + i, 10);
+        }
+
+        assertThat(sketch.estimate("heavy")).isBetween(100_000L, 100_000L + 100);
+        assertThat(sketch.estimate("unknown")).isLessThan(100);
+    }
+
+    @Test
+    public void keysWithSameHashCodeAreCountedApart() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        sketch.add("Aa", 100);
+        sketch.add("AaAa", 100);
+
+        assertThat(sketch.estimate("BB")).isZero();
+        assertThat(sketch.estimate("BBBB")).isZero();
+        assertThat(sketch.estimate("AaBB")).isZero();
+    }
+
+    @Test
+    public void clearForgetsEverything() {
+        CountMinSketch sketch = new CountMinSketch(2, 8);
+        sketch.add("key", 5);
+
+        sketch.clear();
+
+        assertThat(sketch.estimate("key")).isZero();
+    }
+
+    @Test
+    public void widthMustBePowerOfTwoAndDepthWithinSeeds() {
+        assertThatThrownBy(() -> new CountMinSketch(4, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(0, 64)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(9, 64)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
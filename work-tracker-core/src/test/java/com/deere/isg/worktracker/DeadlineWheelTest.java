@@ -0,0 +1,152 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineWheelTest {
+    private static final long TICK = 100;
+    private static final int SIZE = 8;
+
+    private AtomicLong nanos;
+    private DeadlineWheel wheel;
+    private List<String> ran;
+
+    @Before
+    public void setUp() {
+        nanos = new AtomicLong(42);
+        wheel = new DeadlineWheel(TICK, SIZE, nanos::get);
+        ran = new ArrayList<>();
+    }
+
+    @Test
+    public void taskRunsOnceItIsDue() {
+        DeadlineWheel.Deadline deadline = wheel.schedule(() -> ran.add("task"), 250, TimeUnit.MILLISECONDS);
+
+        advanceMillis(200);
+        assertThat(ran).isEmpty();
+
+        advanceMillis(100);
+        assertThat(ran).containsExactly("task");
+        assertThat(deadline.isExpired()).isTrue();
+
+        advanceMillis(1000);
+        assertThat(ran).containsExactly("task");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void tasksRunInTheOrderTheyAreDue() {
+        wheel.schedule(() -> ran.add("later"), 500, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> ran.add("sooner"), 100, TimeUnit.MILLISECONDS);
+
+        advanceMillis(600);
+
+        assertThat(ran).containsExactly("sooner", "later");
+    }
+
+    @Test
+    public void taskLongerThanTheWheelWaitsForItsRound() {
+        long delay = TICK * SIZE * 2 + 50;
+        wheel.schedule(() -> ran.add("task"), delay, TimeUnit.MILLISECONDS);
+
+        for (long elapsed = 0; elapsed < delay - TICK; elapsed += TICK) {
+            advanceMillis(TICK);
+        }
+        assertThat(ran).isEmpty();
+
+        advanceMillis(TICK * 2);
+        assertThat(ran).containsExactly("task");
+    }
+
+    @Test
+    public void cancelledTaskDoesNotRun() {
+        DeadlineWheel.Deadline deadline = wheel.schedule(() -> ran.add("task"), 300, TimeUnit.MILLISECONDS);
+        advanceMillis(100);
+
+        deadline.cancel();
+        advanceMillis(500);
+
+        assertThat(ran).isEmpty();
+        assertThat(deadline.isCancelled()).isTrue();
+        assertThat(deadline.isExpired()).isFalse();
+    }
+
+    @Test
+    public void cancelledTaskIsRemovedOnTheNextTick() {
+        DeadlineWheel.Deadline deadline = wheel.schedule(() -> ran.add("task"), 1, TimeUnit.HOURS);
+        advanceMillis(100);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        deadline.cancel();
+        advanceMillis(100);
+
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void cancelAfterRunningDoesNothing() {
+        DeadlineWheel.Deadline deadline = wheel.schedule(() -> ran.add("task"), 100, TimeUnit.MILLISECONDS);
+        advanceMillis(200);
+
+        deadline.cancel();
+
+        assertThat(deadline.isCancelled()).isFalse();
+        assertThat(deadline.isExpired()).isTrue();
+    }
+
+    @Test
+    public void failingTaskDoesNotStopTheWheel() {
+        wheel.schedule(() -> {
+            throw new IllegalStateException("failed");
+        }, 100, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> ran.add("task"), 100, TimeUnit.MILLISECONDS);
+
+        advanceMillis(200);
+
+        assertThat(ran).containsExactly("task");
+    }
+
+    @Test
+    public void taskCanScheduleAnotherTask() {
+        wheel.schedule(() -> wheel.schedule(() -> ran.add("next"), 100, TimeUnit.MILLISECONDS),
+                100, TimeUnit.MILLISECONDS);
+
+        advanceMillis(200);
+        assertThat(ran).isEmpty();
+
+        advanceMillis(200);
+        assertThat(ran).containsExactly("next");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wheelSizeMustBeAPowerOfTwo() {
+        new DeadlineWheel(TICK, 6, nanos::get);
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        wheel.advance();
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package com.deere.isg.worktracker;
 
 import com.deere.clock.Clock;
+import com.deere.isg.outstanding.Outstanding;
 import net.logstash.logback.argument.StructuredArguments;
 import org.junit.After;
 import org.junit.Before;
@@ -27,8 +28,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -57,6 +61,7 @@ public class FloodSensorTest {
         Clock.freeze();
         floodSensor = new MockFloodSensor(outstanding);
         floodSensor.setLogger(logger);
+        floodSensor.setJitter(() -> 0);
 
         setStream(createMockWorkList(LIMIT_EQUAL));
         moveTimeSoElapsedGreaterThanZero();
@@ -128,6 +133,17 @@ public class FloodSensorTest {
         assertNoRetry(MESSAGE, retryAfter);
     }
 
+    @Test
+    public void shouldRetryLaterScalesSampledWorkBySampleRate() {
+        when(outstanding.getSampleRate()).thenReturn(3);
+
+        MockWork work = new MockWork(null);
+        Optional<Integer> retryAfter = floodSensor.shouldRetryLater(work, predicate(true), LIMIT_OVER, USER, MESSAGE);
+
+        assertThat(retryAfter).isPresent();
+        verify(logger).warn(eq(MESSAGE), (Object[]) any());
+    }
+
     @Test
     public void workRetryLaterReturnsEmptyOpIfEqualsConditionalLimit() {
         setSameUserStream();
@@ -218,6 +234,118 @@ public class FloodSensorTest {
         assertThat(values).isEqualTo(StructuredArguments.keyValue("retry_after_seconds", 1));
     }
 
+    @Test
+    public void rateLimitRetriesAfterTheWaitForTheNextPermit() {
+        AtomicLong nanos = new AtomicLong();
+        RateLimiter limiter = new TokenBucketRateLimiter(0.5, 10, nanos::get);
+
+        Optional<Integer> first = floodSensor.shouldRetryLater(new MockWork(TEST_USER), limiter, MockWork::getUser, 1, USER, MESSAGE);
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(500));
+        Optional<Integer> second = floodSensor.shouldRetryLater(new MockWork(TEST_USER), limiter, MockWork::getUser, 1, USER, MESSAGE);
+
+        assertThat(first).isEmpty();
+        assertThat(second).contains(2);
+        verify(outstanding).putInContext("limit_type", USER);
+        verify(logger).warn(eq(MESSAGE), (Object[]) any());
+    }
+
+    @Test
+    public void rateLimitTakesNoPermitIfAlreadyCheckedOrAttributeIsBlank() {
+        RateLimiter limiter = mock(RateLimiter.class);
+        MockWork checked = new MockWork(TEST_USER);
+        checked.checkLimit(USER);
+
+        assertThat(floodSensor.shouldRetryLater(checked, limiter, MockWork::getUser, 1, USER, MESSAGE)).isEmpty();
+        assertThat(floodSensor.shouldRetryLater(new MockWork(""), limiter, MockWork::getUser, 1, USER, MESSAGE)).isEmpty();
+        assertThat(floodSensor.shouldRetryLater(null, limiter, MockWork::getUser, 1, USER, MESSAGE)).isEmpty();
+
+        verifyZeroInteractions(limiter);
+    }
+
+    @Test
+    public void suspendedWorkIsNotCounted() {
+        List<MockWork> works = createSameUserMockWork(LIMIT_EQUAL, TEST_USER);
+        setStream(works);
+        moveTimeSoElapsedGreaterThanZero();
+
+        floodSensor.suspend(works.get(0));
+        Optional<Integer> suspended = floodSensor.shouldRetryLater(new MockWork(TEST_USER), predicate(true), LIMIT_EQUAL - 1, USER, MESSAGE);
+        floodSensor.resume(works.get(0));
+        Optional<Integer> resumed = floodSensor.shouldRetryLater(new MockWork(TEST_USER), predicate(true), LIMIT_EQUAL - 1, USER, MESSAGE);
+
+        assertThat(suspended).isEmpty();
+        assertThat(resumed).isPresent();
+    }
+
+    @Test
+    public void retryAfterIsHowLongWorksOverLimitTakeToDrain() {
+        OutstandingWork<MockWork> tracker = new OutstandingWork<>();
+        MockFloodSensor sensor = new MockFloodSensor(tracker);
+        sensor.setJitter(() -> 0);
+        Function<MockWork, String> getter = MockWork::getUser;
+        List<Outstanding<MockWork>.Ticket> tickets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tickets.add(tracker.create(new MockWork(TEST_USER)));
+        }
+        sensor.shouldRetryLater(new MockWork(TEST_USER), getter, 2, USER, MESSAGE);
+
+        tickets.get(0).close();
+        tickets.get(1).close();
+        Clock.freeze(Clock.now().plusMillis((int) Duration.ofMinutes(10).toMillis()));
+        Optional<Integer> retryAfter = sensor.shouldRetryLater(new MockWork(TEST_USER), getter, 1, USER, MESSAGE);
+
+        assertThat(retryAfter).contains(1);
+    }
+
+    @Test
+    public void retryAfterDoublesForClientRejectedInARow() {
+        setSameUserStream();
+        MockFloodSensor sensor = new MockFloodSensor(outstanding) {
+            @Override
+            protected String clientOf(MockWork work) {
+                return work.getUser();
+            }
+        };
+        sensor.setJitter(() -> 0);
+
+        assertThat(sensor.shouldRetryLater(new MockWork(TEST_USER), predicate(true), LIMIT_UNDER, USER, MESSAGE)).contains(1);
+        assertThat(sensor.shouldRetryLater(new MockWork(TEST_USER), predicate(true), LIMIT_UNDER, USER, MESSAGE)).contains(2);
+        assertThat(sensor.shouldRetryLater(new MockWork(TEST_USER), predicate(true), LIMIT_UNDER, USER, MESSAGE)).contains(4);
+        assertThat(sensor.shouldRetryLater(new MockWork("other"), predicate(true), LIMIT_UNDER, USER, MESSAGE)).contains(1);
+    }
+
+    @Test
+    public void retryAfterIsSpreadByJitterWithinMaxTime() {
+        MockWork work = new MockWork(null);
+        work.setMaxTime(Duration.ofSeconds(15).toMillis());
+        Clock.freeze(Clock.now().plusMillis((int) Duration.ofSeconds(9).toMillis()));
+
+        floodSensor.setJitter(() -> .25);
+        Optional<Integer> spread = floodSensor.shouldRetryLater(new MockWork(null), predicate(true), LIMIT_UNDER, USER, MESSAGE);
+        floodSensor.setJitter(() -> .99);
+        Optional<Integer> capped = floodSensor.shouldRetryLater(work, predicate(true), LIMIT_UNDER, USER, MESSAGE);
+
+        assertThat(spread).contains(13);
+        assertThat(capped).contains(15);
+    }
+
+    @Test
+    public void penaltyBoxRejectsValuesOverLimitUntilWindowSlides() {
+        HeavyHitters<MockWork> hitters = new HeavyHitters<MockWork>(2, 5, TimeUnit.MINUTES, () -> 0)
+                .track(USER, MockWork::getUser);
+        MockWork heavy = new MockWork(TEST_USER);
+        Clock.freeze(Clock.now().plusMillis(2500));
+        hitters.closed(heavy);
+
+        Optional<Integer> over = floodSensor.shouldRetryLater(new MockWork(TEST_USER), hitters, USER, 2, USER, MESSAGE);
+        Optional<Integer> under = floodSensor.shouldRetryLater(new MockWork(TEST_USER), hitters, USER, 3, USER, MESSAGE);
+        Optional<Integer> other = floodSensor.shouldRetryLater(new MockWork("other"), hitters, USER, 2, USER, MESSAGE);
+
+        assertThat(over).contains(60);
+        assertThat(under).isEmpty();
+        assertThat(other).isEmpty();
+    }
+
     private void assertNoRetry(String message, Optional<Integer> retryAfter) {
         assertThat(retryAfter).isEqualTo(Optional.empty());
         verify(logger, never()).warn(eq(message), (Object[]) any());
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class HeavyHittersTest {
+    private static final String TEST_USER = "test_user";
+    private static final String OTHER_USER = "other_user";
+
+    private AtomicLong nanos;
+    private HeavyHitters<MockWork> hitters;
+
+    @Before
+    public void setUp() {
+        Clock.freeze();
+        nanos = new AtomicLong(42);
+        hitters = new HeavyHitters<MockWork>(2, 5, TimeUnit.MINUTES, nanos::get)
+                .track(MockWork.USER, MockWork::getUser);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+    }
+
+    @Test
+    public void countsElapsedTimeOfClosedWorkByDimension() {
+        close(TEST_USER, 100);
+        close(TEST_USER, 50);
+        close(OTHER_USER, 0);
+
+        assertThat(hitters.getDimensions()).containsExactly(MockWork.USER);
+        assertThat(hitters.estimate(MockWork.USER, TEST_USER)).isEqualTo(150);
+        assertThat(hitters.estimate(MockWork.USER, OTHER_USER)).isEqualTo(1);
+        assertThat(hitters.estimate("unknown", TEST_USER)).isZero();
+        assertThat(hitters.top("unknown")).isEmpty();
+    }
+
+    @Test
+    public void listsHeaviestFirst() {
+        close(OTHER_USER, 10);
+        close(TEST_USER, 100);
+        for (int i = 0; i < 20; i++) {
+            close("light" + i, 1);
+        }
+
+        Map<String, Long> top = hitters.top(MockWork.USER);
+
+        assertThat(top).containsExactly(entry(TEST_USER, 100L), entry(OTHER_USER, 10L));
+    }
+
+    @Test
+    public void blankValuesAreNotCounted() {
+        close(null, 100);
+        close("", 100);
+
+        assertThat(hitters.top(MockWork.USER)).isEmpty();
+    }
+
+    @Test
+    public void loadDropsOutOfWindowOneSliceAtATime() {
+        close(TEST_USER, 100);
+        advance(1);
+        close(TEST_USER, 10);
+
+        assertThat(hitters.getMillisUntilSlide()).isEqualTo(TimeUnit.MINUTES.toMillis(1));
+        advance(3);
+        assertThat(hitters.estimate(MockWork.USER, TEST_USER)).isEqualTo(110);
+        advance(1);
+        assertThat(hitters.estimate(MockWork.USER, TEST_USER)).isEqualTo(10);
+        advance(1);
+        assertThat(hitters.top(MockWork.USER)).isEmpty();
+        assertThat(hitters.getWindowMillis()).isEqualTo(TimeUnit.MINUTES.toMillis(5));
+    }
+
+    @Test
+    public void heavyValueOutlivesManyLightOnes() {
+        close(TEST_USER, 1000);
+        for (int i = 0; i < 1000; i++) {
+            close("light" + i, 2);
+        }
+        close(TEST_USER, 1000);
+
+        assertThat(hitters.top(MockWork.USER)).containsKey(TEST_USER);
+        assertThat(hitters.estimate(MockWork.USER, TEST_USER)).isGreaterThanOrEqualTo(2000);
+    }
+
+    private void close(String user, long elapsed) {
+        MockWork work = new MockWork(user);
+        Clock.freeze(Clock.now().plusMillis((int) elapsed));
+        hitters.closed(work);
+    }
+
+    private void advance(long minutes) {
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static com.deere.isg.worktracker.ExecutorTestUtils.UUID_PATTERN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdGeneratorTest {
+    private IdGenerator previous;
+
+    @Before
+    public void setUp() {
+        previous = Work.getIdGenerator();
+    }
+
+    @After
+    public void tearDown() {
+        Work.setIdGenerator(previous);
+    }
+
+    @Test
+    public void timeOrderedByDefault() {
+        assertThat(previous).isInstanceOf(TimeOrderedIdGenerator.class);
+    }
+
+    @Test
+    public void randomUuidIsAVersion4Uuid() {
+        String id = IdGenerator.randomUuid().nextId();
+
+        assertThat(UUID_PATTERN.matcher(id).matches()).isTrue();
+        assertThat(UUID.fromString(id).version()).isEqualTo(4);
+    }
+
+    @Test
+    public void requestIdComesFromTheIdGenerator() {
+        Work.setIdGenerator(() -> "test_id");
+
+        assertThat(new MockWork().getRequestId()).isEqualTo("test_id");
+    }
+
+    @Test
+    public void taskIdComesFromTheIdGenerator() {
+        Work.setIdGenerator(() -> "test_id");
+
+        assertThat(new TaskWork("test_class").getTaskId()).isEqualTo("test_id");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void idGeneratorCannotBeNull() {
+        Work.setIdGenerator(null);
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@ package com.deere.isg.worktracker;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,6 +99,30 @@ public class OutstandingWorkFilterTest {
         });
     }
 
+    @Test
+    public void listenersOnlyHearAboutExpectedWork() {
+        List<Work> opened = new ArrayList<>();
+        OutstandingWorkListener<TestWork> listener = new OutstandingWorkListener<TestWork>() {
+            @Override
+            public void opened(TestWork work) {
+                opened.add(work);
+            }
+
+            @Override
+            public void closed(TestWork work) {
+            }
+        };
+        assertThat(filtered.addListener(listener)).isTrue();
+
+        TestWork work = new TestWork();
+        base.doInTransaction(new AnotherWork(), ()->{});
+        base.doInTransaction(work, ()->{});
+        filtered.removeListener(listener);
+        base.doInTransaction(new TestWork(), ()->{});
+
+        assertThat(opened).containsExactly(work);
+    }
+
     private void assertNoSuchElement(Iterator<?> iterator) {
         try {
             iterator.next();
@@ -0,0 +1,288 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.clock.Clock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OutstandingWorkIndexTest {
+    private static final String TEST_USER = "test_user";
+    private static final String OTHER_USER = "other_user";
+
+    private OutstandingWork<MockWork> outstanding;
+    private OutstandingWorkIndex<MockWork> index;
+
+    @Before
+    public void setUp() {
+        outstanding = new OutstandingWork<>();
+        index = outstanding.index(MockWork::getUser).orElse(null);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+        MDC.clear();
+    }
+
+    @Test
+    public void countsOpenTicketsByAttribute() {
+        outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(OTHER_USER));
+
+        assertThat(index.count(TEST_USER)).isEqualTo(2);
+        assertThat(index.count(OTHER_USER)).isEqualTo(1);
+        assertThat(index.count("unknown")).isEqualTo(0);
+        assertThat(index.count(null)).isEqualTo(0);
+    }
+
+    @Test
+    public void suspendedWorkIsNotCountedUntilResumed() {
+        MockWork work = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(work);
+        outstanding.create(new MockWork(TEST_USER));
+
+        index.suspend(work);
+        work.setUser(OTHER_USER);
+        index.refresh(work);
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+        assertThat(index.count(OTHER_USER)).isEqualTo(0);
+
+        index.resume(work);
+        assertThat(index.count(OTHER_USER)).isEqualTo(1);
+
+        index.suspend(work);
+        ticket.close();
+        index.resume(work);
+        assertThat(index.count(OTHER_USER)).isEqualTo(0);
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void closedTicketsAreNotCounted() {
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(TEST_USER));
+
+        ticket.close();
+        ticket.close();
+
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void blankAttributesAreNotCounted() {
+        outstanding.create(new MockWork(""));
+        outstanding.create(new MockWork());
+
+        assertThat(index.count("")).isEqualTo(0);
+    }
+
+    @Test
+    public void oldestIsTheFirstOpened() {
+        MockWork first = new MockWork(TEST_USER);
+        MockWork second = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(first);
+        outstanding.create(second);
+
+        assertThat(index.oldest(TEST_USER)).contains(first);
+
+        ticket.close();
+        assertThat(index.oldest(TEST_USER)).contains(second);
+        assertThat(index.oldest(OTHER_USER)).isEmpty();
+    }
+
+    @Test
+    public void refreshMovesWorkToItsNewAttribute() {
+        MockWork work = new MockWork();
+        outstanding.create(work);
+        assertThat(index.count(TEST_USER)).isEqualTo(0);
+
+        work.setUser(TEST_USER);
+        index.refresh(work);
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+
+        work.setUser(OTHER_USER);
+        index.refresh(work);
+        assertThat(index.count(TEST_USER)).isEqualTo(0);
+        assertThat(index.count(OTHER_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void refreshIgnoresWorkThatIsNotOutstanding() {
+        MockWork work = new MockWork(TEST_USER);
+        outstanding.create(work).close();
+
+        index.refresh(work);
+
+        assertThat(index.count(TEST_USER)).isEqualTo(0);
+    }
+
+    @Test
+    public void indexIncludesWorkOpenedBeforeIt() {
+        OutstandingWork<MockWork> tracker = new OutstandingWork<>();
+        tracker.create(new MockWork(TEST_USER));
+        tracker.create(new MockWork(TEST_USER)).close();
+
+        OutstandingWorkIndex<MockWork> late = tracker.index(MockWork::getUser).orElse(null);
+
+        assertThat(late.count(TEST_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void filteredIndexOnlyCountsExpectedWork() {
+        OutstandingWork<Work> base = new OutstandingWork<>();
+        OutstandingWorkIndex<MockWork> filtered = base.filterTo(MockWork.class)
+                .index(MockWork::getUser)
+                .orElse(null);
+
+        base.create(new MockWork(TEST_USER));
+        base.create(new Work() {
+            @Override
+            public String toString() {
+                return TEST_USER;
+            }
+        });
+
+        assertThat(filtered.count(TEST_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void measuresHowFastWorksOfEachValueClose() {
+        AtomicLong nanos = new AtomicLong();
+        index.setNanoTime(nanos::get);
+        MockWork moved = new MockWork(TEST_USER);
+        outstanding.create(moved);
+        Outstanding<MockWork>.Ticket first = outstanding.create(new MockWork(TEST_USER));
+        Outstanding<MockWork>.Ticket second = outstanding.create(new MockWork(TEST_USER));
+        outstanding.create(new MockWork(TEST_USER));
+
+        first.close();
+        moved.setUser(OTHER_USER);
+        index.refresh(moved);
+        assertThat(index.drainRate(TEST_USER)).isZero();
+
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(500));
+        second.close();
+        assertThat(index.drainRate(TEST_USER)).isEqualTo(2.0);
+        assertThat(index.drainRate(OTHER_USER)).isZero();
+
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertThat(index.drainRate(TEST_USER)).isEqualTo(1.0);
+    }
+
+    @Test
+    public void rejectedWorksDoNotCountAsCloses() {
+        AtomicLong nanos = new AtomicLong();
+        index.setNanoTime(nanos::get);
+        Outstanding<MockWork>.Ticket first = outstanding.create(new MockWork(TEST_USER));
+        MockWork rejected = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket second = outstanding.create(rejected);
+        outstanding.create(new MockWork(TEST_USER));
+
+        first.close();
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(1));
+        rejected.setRejected(true);
+        second.close();
+
+        assertThat(index.drainRate(TEST_USER)).isZero();
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+    }
+
+    @Test
+    public void sumsCostOfOpenTicketsByAttribute() {
+        MockWork report = new MockWork(TEST_USER);
+        report.setCost(2);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(report);
+        MockWork lookup = new MockWork(TEST_USER);
+        outstanding.create(lookup);
+
+        assertThat(index.cost(TEST_USER)).isEqualTo(3);
+        assertThat(index.cost(OTHER_USER)).isZero();
+
+        lookup.setCost(.5);
+        index.refresh(lookup);
+        assertThat(index.cost(TEST_USER)).isEqualTo(2.5);
+
+        ticket.close();
+        assertThat(index.cost(TEST_USER)).isEqualTo(.5);
+    }
+
+    @Test
+    public void floodSensorBudgetsCostWithIndex() {
+        UserFloodSensor floodSensor = new UserFloodSensor(outstanding);
+        CostEstimator<MockWork> costs = new CostEstimator<>(MockWork::getUser);
+        MockWork report = new MockWork(TEST_USER);
+        report.setCost(10);
+        outstanding.create(report);
+        assertThat(floodSensor.check(report, costs, 3)).isEmpty();
+
+        outstanding.create(new MockWork(TEST_USER));
+        MockWork incoming = new MockWork(TEST_USER);
+        outstanding.create(incoming);
+        assertThat(floodSensor.check(incoming, costs, 12)).isEmpty();
+        incoming.removeLimit(MockWork.USER);
+        assertThat(floodSensor.check(incoming, costs, 11)).isPresent();
+    }
+
+    @Test
+    public void floodSensorChecksLimitsWithIndex() {
+        Clock.freeze();
+        UserFloodSensor floodSensor = new UserFloodSensor(outstanding);
+        floodSensor.setJitter(() -> 0);
+        for (int i = 0; i < 3; i++) {
+            outstanding.create(new MockWork(TEST_USER));
+        }
+        Clock.freeze(Clock.now().plusMillis(1500));
+
+        MockWork incoming = new MockWork();
+        outstanding.create(incoming);
+        assertThat(floodSensor.check(incoming, 3)).isEmpty();
+
+        incoming.setUser(TEST_USER);
+        assertThat(floodSensor.check(incoming, 3)).contains(2);
+    }
+
+    private static class UserFloodSensor extends FloodSensor<MockWork> {
+        UserFloodSensor(OutstandingWorkTracker<MockWork> outstanding) {
+            super(outstanding);
+        }
+
+        Optional<Integer> check(MockWork incoming, int limit) {
+            return shouldRetryLater(incoming, MockWork::getUser, limit, MockWork.USER, "too many");
+        }
+
+        Optional<Integer> check(MockWork incoming, CostEstimator<MockWork> costs, int limit) {
+            return shouldRetryLater(incoming, costs, MockWork::getUser, limit, MockWork.USER, "too many");
+        }
+
+        @Override
+        protected Stream<Function<MockWork, Optional<Integer>>> checkLimits() {
+            return Stream.empty();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,8 @@ import org.slf4j.MDC;
 import java.io.IOException;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -152,6 +154,48 @@ public class OutstandingWorkTest {
         assertThat(result).isEqualTo(SOME_VALUE);
     }
 
+    @Test
+    public void listenersAreToldWhenWorkOpensAndCloses() {
+        List<String> events = new ArrayList<>();
+        outstanding.addListener(new OutstandingWorkListener<MockWork>() {
+            @Override
+            public void opened(MockWork work) {
+                events.add("opened " + work.getRequestId());
+            }
+
+            @Override
+            public void closed(MockWork work) {
+                events.add("closed " + work.getRequestId());
+            }
+        });
+
+        outstanding.doInTransaction(payload, () -> assertThat(events).hasSize(1));
+
+        assertThat(events).containsExactly("opened " + payload.getRequestId(), "closed " + payload.getRequestId());
+    }
+
+    @Test
+    public void removedListenersAreNotTold() {
+        List<MockWork> opened = new ArrayList<>();
+        OutstandingWorkListener<MockWork> listener = new OutstandingWorkListener<MockWork>() {
+            @Override
+            public void opened(MockWork work) {
+                opened.add(work);
+            }
+
+            @Override
+            public void closed(MockWork work) {
+            }
+        };
+        assertThat(outstanding.addListener(listener)).isTrue();
+
+        outstanding.removeListener(listener);
+        outstanding.doInTransaction(payload, () -> {
+        });
+
+        assertThat(opened).isEmpty();
+    }
+
     private void assertCurrentThread(OutstandingWork<MockWork> outstanding, MockWork work) {
         assertThat(outstanding.getCurrentMetadata()).isEqualTo(work.getMetadata());
     }
@@ -0,0 +1,30 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OverCapacityExceptionTest {
+    @Test
+    public void messageIncludesCapacity() {
+        OverCapacityException e = new OverCapacityException(10);
+
+        assertThat(e.getCapacity()).isEqualTo(10);
+        assertThat(e).hasMessage("Outstanding work is over its capacity of 10");
+    }
+}
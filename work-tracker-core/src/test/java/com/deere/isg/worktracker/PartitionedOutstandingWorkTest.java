@@ -0,0 +1,136 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionedOutstandingWorkTest {
+    private static class SuperWork extends Work {}
+    private static class TestWork extends SuperWork {}
+    private static class AnotherWork extends SuperWork {}
+    private static class OtherWork extends Work {}
+
+    private PartitionedOutstandingWork<Work> outstanding;
+
+    @Before
+    public void setUp() {
+        outstanding = new PartitionedOutstandingWork<>(SuperWork.class, TestWork.class);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+        MDC.clear();
+    }
+
+    @Test
+    public void streamIncludesEveryPartition() {
+        SuperWork superWork = create(new SuperWork());
+        TestWork testWork = create(new TestWork());
+        AnotherWork anotherWork = create(new AnotherWork());
+        OtherWork otherWork = create(new OtherWork());
+
+        assertThat(outstanding.stream().collect(toList()))
+                .containsExactlyInAnyOrder(superWork, testWork, anotherWork, otherWork);
+        assertThat(outstanding).hasSize(4);
+        assertThat(outstanding.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void filterToRegisteredTypeOnlySeesItsPartitions() {
+        SuperWork superWork = create(new SuperWork());
+        TestWork testWork = create(new TestWork());
+        AnotherWork anotherWork = create(new AnotherWork());
+        create(new OtherWork());
+
+        assertThat(outstanding.filterTo(TestWork.class).stream().collect(toList())).containsExactly(testWork);
+        assertThat(outstanding.filterTo(SuperWork.class).stream().collect(toList()))
+                .containsExactlyInAnyOrder(superWork, testWork, anotherWork);
+    }
+
+    @Test
+    public void filterToRegisteredTypeIsAnOutstandingWorkFilter() {
+        assertThat(outstanding.filterTo(TestWork.class)).isInstanceOf(OutstandingWorkFilter.class);
+    }
+
+    @Test
+    public void filterToUnregisteredTypeChecksEveryWork() {
+        create(new SuperWork());
+        AnotherWork anotherWork = create(new AnotherWork());
+
+        assertThat(outstanding.filterTo(AnotherWork.class).stream().collect(toList())).containsExactly(anotherWork);
+    }
+
+    @Test
+    public void filteredCurrentAndCreate() {
+        OutstandingWorkTracker<TestWork> filtered = outstanding.filterTo(TestWork.class);
+        TestWork work = new TestWork();
+
+        filtered.doInTransaction(work, () -> {
+            assertThat(filtered.current()).contains(work);
+            assertThat(outstanding.current()).contains(work);
+        });
+
+        assertThat(outstanding.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void filteredStreamOlderThan() {
+        Clock.freeze();
+        TestWork old = create(new TestWork());
+        create(new SuperWork());
+        Clock.freeze(Clock.now().plusMillis(40_000));
+        TestWork young = create(new TestWork());
+
+        assertThat(outstanding.filterTo(TestWork.class).streamOlderThan(30_000).collect(toList()))
+                .containsExactly(old)
+                .doesNotContain(young);
+    }
+
+    @Test
+    public void closingRemovesWorkFromItsPartition() {
+        Outstanding<Work>.Ticket ticket = outstanding.create(new TestWork());
+        assertThat(outstanding.filterTo(TestWork.class).stream().count()).isEqualTo(1);
+
+        ticket.close();
+
+        assertThat(outstanding.filterTo(TestWork.class).stream().count()).isEqualTo(0);
+        assertThat(outstanding.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void indexesSeeEveryPartition() {
+        OutstandingWorkIndex<Work> index = outstanding.index(work -> work.getClass().getSimpleName()).orElse(null);
+        create(new TestWork());
+        create(new OtherWork());
+
+        assertThat(index.count("TestWork")).isEqualTo(1);
+        assertThat(index.count("OtherWork")).isEqualTo(1);
+    }
+
+    private <T extends Work> T create(T work) {
+        outstanding.create(work);
+        return work;
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RejectionHistoryTest {
+    private static final String CLIENT = "client";
+    private static final String OTHER_CLIENT = "other_client";
+
+    private AtomicLong nanos;
+    private RejectionHistory history;
+
+    @Before
+    public void setUp() {
+        nanos = new AtomicLong(42);
+        history = new RejectionHistory(2, 10, TimeUnit.SECONDS, nanos::get);
+    }
+
+    @Test
+    public void countsRejectionsInARowForEachClient() {
+        assertThat(history.reject(CLIENT)).isEqualTo(1);
+        assertThat(history.reject(CLIENT)).isEqualTo(2);
+        assertThat(history.reject(OTHER_CLIENT)).isEqualTo(1);
+        assertThat(history.reject(CLIENT)).isEqualTo(3);
+    }
+
+    @Test
+    public void startsOverOnceClientIsForgotten() {
+        history.reject(CLIENT);
+        advance(9_999);
+        assertThat(history.reject(CLIENT)).isEqualTo(2);
+
+        advance(10_000);
+        assertThat(history.reject(CLIENT)).isEqualTo(1);
+    }
+
+    @Test
+    public void countStopsAtMaximum() {
+        for (int i = 0; i < 300; i++) {
+            history.reject(CLIENT);
+        }
+
+        assertThat(history.reject(CLIENT)).isEqualTo(255);
+    }
+
+    @Test
+    public void newClientsAreNotTrackedOnceFullUntilSwept() {
+        history.reject(CLIENT);
+        history.reject(OTHER_CLIENT);
+
+        assertThat(history.reject("third")).isEqualTo(1);
+        assertThat(history.reject("third")).isEqualTo(1);
+        assertThat(history.size()).isEqualTo(2);
+
+        advance(10_000);
+        history.reject("third");
+        assertThat(history.reject("third")).isEqualTo(2);
+        assertThat(history.size()).isEqualTo(1);
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
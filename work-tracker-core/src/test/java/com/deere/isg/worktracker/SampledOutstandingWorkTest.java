@@ -0,0 +1,124 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SampledOutstandingWorkTest {
+    private static final String TEST_USER = "test_user";
+
+    private SampledOutstandingWork<MockWork> outstanding;
+
+    @Before
+    public void setUp() {
+        Clock.freeze();
+        outstanding = new SampledOutstandingWork<>(3, 500);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+        MDC.clear();
+    }
+
+    @Test
+    public void sampleRateMustBePositive() {
+        assertThatThrownBy(() -> new SampledOutstandingWork<>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void sampleRateOfOneTracksEverything() {
+        outstanding = new SampledOutstandingWork<>(1);
+        MockWork first = new MockWork(TEST_USER);
+        MockWork second = new MockWork(TEST_USER);
+        outstanding.create(first);
+        outstanding.create(second);
+
+        assertThat(outstanding.stream().collect(toList())).containsExactly(first, second);
+        assertThat(first.isSampled()).isTrue();
+        assertThat(second.isSampled()).isTrue();
+    }
+
+    @Test
+    public void onlyOneInSampleRateIsListed() {
+        MockWork first = new MockWork(TEST_USER);
+        MockWork second = new MockWork(TEST_USER);
+        MockWork third = new MockWork(TEST_USER);
+        MockWork fourth = new MockWork(TEST_USER);
+        outstanding.create(first);
+        outstanding.create(second);
+        outstanding.create(third);
+        outstanding.create(fourth);
+
+        assertThat(outstanding.stream().collect(toList())).containsExactly(first, fourth);
+        assertThat(first.isSampled()).isTrue();
+        assertThat(second.isSampled()).isFalse();
+        assertThat(third.isSampled()).isFalse();
+        assertThat(fourth.isSampled()).isTrue();
+        assertThat(outstanding.getSampledCount()).isEqualTo(2);
+        assertThat(outstanding.getInFlightCount()).isEqualTo(4);
+        assertThat(outstanding.getSampleRate()).isEqualTo(3);
+    }
+
+    @Test
+    public void unsampledWorkIsCurrentAndIndexed() {
+        OutstandingWorkIndex<MockWork> index = outstanding.index(MockWork::getUser).orElse(null);
+        outstanding.create(new MockWork(TEST_USER));
+        MockWork unsampled = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(unsampled);
+
+        assertThat(outstanding.current()).contains(unsampled);
+        assertThat(index.count(TEST_USER)).isEqualTo(2);
+
+        ticket.close();
+
+        assertThat(outstanding.current()).isEmpty();
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+        assertThat(outstanding.getInFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void slowUnsampledWorkIsPromotedWhenItFinishes() {
+        outstanding.create(new MockWork(TEST_USER));
+        MockWork fast = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket fastTicket = outstanding.create(fast);
+        MockWork slow = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket slowTicket = outstanding.create(slow);
+
+        fastTicket.close();
+        Clock.freeze(Clock.now().plusMillis(500));
+        slowTicket.close();
+
+        assertThat(fast.isSampled()).isFalse();
+        assertThat(slow.isSampled()).isTrue();
+        assertThat(outstanding.getPromotedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void filterKeepsSampleRate() {
+        assertThat(outstanding.filterTo(MockWork.class).getSampleRate()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlidingWindowRateLimiterTest {
+    private static final String USER = "user";
+    private static final int LIMIT = 4;
+
+    private AtomicLong nanos;
+    private SlidingWindowRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        nanos = new AtomicLong(42);
+        limiter = new SlidingWindowRateLimiter(1, TimeUnit.SECONDS, 10, nanos::get);
+    }
+
+    @Test
+    public void allowsLimitPerWindow() {
+        advanceMillis(100);
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(limiter.tryAcquire(USER, LIMIT)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1150));
+    }
+
+    @Test
+    public void previousWindowWeighsLessAsCurrentOneGoesBy() {
+        advanceMillis(100);
+        acquire(LIMIT);
+
+        advanceMillis(1150);
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isZero();
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+
+        advanceMillis(250);
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isZero();
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isPositive();
+    }
+
+    @Test
+    public void forgetsWindowsThatAreNotAdjacent() {
+        acquire(LIMIT);
+
+        advanceMillis(2000);
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(limiter.tryAcquire(USER, LIMIT)).isZero();
+        }
+    }
+
+    @Test
+    public void keysAreLimitedSeparately() {
+        acquire(LIMIT);
+
+        assertThat(limiter.tryAcquire(USER, LIMIT)).isPositive();
+        assertThat(limiter.tryAcquire("other", LIMIT)).isZero();
+    }
+
+    @Test
+    public void zeroLimitAllowsNothing() {
+        advanceMillis(300);
+
+        assertThat(limiter.tryAcquire(USER, 0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(700));
+    }
+
+    @Test
+    public void sweepsKeysOnceBothWindowsAreEmpty() {
+        acquire(1);
+
+        advanceMillis(1500);
+        limiter.tryAcquire("other", LIMIT);
+        assertThat(limiter.size()).isEqualTo(2);
+
+        advanceMillis(1000);
+        limiter.tryAcquire("other", LIMIT);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowMustBePositive() {
+        new SlidingWindowRateLimiter(0, TimeUnit.SECONDS);
+    }
+
+    private void acquire(int permits) {
+        for (int i = 0; i < permits; i++) {
+            limiter.tryAcquire(USER, LIMIT);
+        }
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StartOrderedOutstandingWorkTest {
+    private static final long TOLERANCE = 1000;
+
+    private StartOrderedOutstandingWork<MockWork> outstanding;
+    private long start;
+
+    @Before
+    public void setUp() {
+        Clock.freeze();
+        start = Clock.milliseconds();
+        outstanding = new StartOrderedOutstandingWork<>(TOLERANCE);
+    }
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+        MDC.clear();
+    }
+
+    @Test
+    public void toleranceCannotBeNegative() {
+        assertThatThrownBy(() -> new StartOrderedOutstandingWork<>(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void newTrackerIsEmpty() {
+        assertThat(outstanding.isEmpty()).isTrue();
+        assertThat(outstanding.oldest()).isEmpty();
+        assertThat(outstanding.streamOlderThan(0).count()).isEqualTo(0);
+    }
+
+    @Test
+    public void streamOlderThanFindsOnlyOlderWork() {
+        MockWork old = startAt(0);
+        MockWork alsoOld = startAt(10_000);
+        startAt(25_000);
+        startAt(40_000);
+        Clock.freeze(start + 45_000);
+
+        assertThat(outstanding.streamOlderThan(30_000).collect(toList())).containsExactly(old, alsoOld);
+    }
+
+    @Test
+    public void streamOlderThanSkipsClosedWork() {
+        MockWork old = startAt(0);
+        Outstanding<MockWork>.Ticket closed = outstanding.create(new MockWork());
+        closed.close();
+        Clock.freeze(start + 45_000);
+
+        assertThat(outstanding.streamOlderThan(30_000).collect(toList())).containsExactly(old);
+    }
+
+    @Test
+    public void lateWorkIsStillFound() {
+        startAt(20_000);
+        Clock.freeze(start);
+        MockWork late = new MockWork();
+        Clock.freeze(start + 25_000);
+        outstanding.create(late);
+        Clock.freeze(start + 45_000);
+
+        assertThat(outstanding.streamOlderThan(30_000).collect(toList())).containsExactly(late);
+        assertThat(outstanding.oldest()).contains(late);
+        assertThat(outstanding.stream().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void workWithinToleranceIsFoundOutOfOrder() {
+        Clock.freeze(start + 500);
+        MockWork second = new MockWork();
+        Clock.freeze(start);
+        MockWork first = new MockWork();
+        Clock.freeze(start + 600);
+        outstanding.create(second);
+        outstanding.create(first);
+        Clock.freeze(start + 30_400);
+
+        assertThat(outstanding.streamOlderThan(30_000).collect(toList())).containsExactly(first);
+        assertThat(outstanding.oldest()).contains(first);
+    }
+
+    @Test
+    public void oldestIsTheFirstToStart() {
+        MockWork first = startAt(0);
+        startAt(10_000);
+
+        assertThat(outstanding.oldest()).contains(first);
+    }
+
+    @Test
+    public void closingLateWorkRemovesIt() {
+        MockWork late = new MockWork();
+        Clock.freeze(start + 5_000);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(late);
+        assertThat(outstanding.isEmpty()).isFalse();
+
+        ticket.close();
+
+        assertThat(outstanding.isEmpty()).isTrue();
+        assertThat(outstanding.current()).isEmpty();
+    }
+
+    private MockWork startAt(long offset) {
+        Clock.freeze(start + offset);
+        MockWork work = new MockWork();
+        outstanding.create(work);
+        return work;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker;
 
 import org.junit.Test;
@@ -68,6 +67,14 @@ public class StringUtilsTest {
         assertThat(isSnakeCase("$happy#")).isFalse();
     }
 
+    @Test
+    public void validatesSnakeCaseTheSameWhenCheckedAgain() {
+        assertThat(isSnakeCase(" cached_key ")).isTrue();
+        assertThat(isSnakeCase(" cached_key ")).isTrue();
+        assertThat(isSnakeCase("NotCached")).isFalse();
+        assertThat(isSnakeCase("NotCached")).isFalse();
+    }
+
     @Test
     public void trimsString() {
         String trimmedKey = trimToEmpty("  some key ");
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StripedOutstandingWorkTest {
+    private static final String TEST_USER = "test_user";
+
+    private StripedOutstandingWork<MockWork> outstanding;
+
+    @Before
+    public void setUp() {
+        outstanding = new StripedOutstandingWork<>(4);
+    }
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void stripesAreRoundedUpToAPowerOfTwo() {
+        assertThat(new StripedOutstandingWork<>(1).getStripeCount()).isEqualTo(1);
+        assertThat(new StripedOutstandingWork<>(3).getStripeCount()).isEqualTo(4);
+        assertThat(new StripedOutstandingWork<>(4).getStripeCount()).isEqualTo(4);
+        assertThat(new StripedOutstandingWork<>(5).getStripeCount()).isEqualTo(8);
+    }
+
+    @Test
+    public void needsAtLeastOneStripe() {
+        assertThatThrownBy(() -> new StripedOutstandingWork<>(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void newTrackerIsEmpty() {
+        assertThat(outstanding.isEmpty()).isTrue();
+        assertThat(outstanding.stream().count()).isEqualTo(0);
+        assertThat(outstanding.current()).isEmpty();
+    }
+
+    @Test
+    public void createMakesWorkCurrentAndOutstanding() {
+        MockWork work = new MockWork(TEST_USER);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(work);
+
+        assertThat(outstanding.current()).contains(work);
+        assertThat(outstanding.stream().collect(toList())).containsExactly(work);
+        assertThat(outstanding).containsExactly(work);
+        assertThat(outstanding.isEmpty()).isFalse();
+
+        ticket.close();
+
+        assertThat(outstanding.current()).isEmpty();
+        assertThat(outstanding.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void doInTransactionClosesTicket() {
+        MockWork work = new MockWork(TEST_USER);
+        outstanding.doInTransaction(work, () -> assertThat(outstanding.stream().collect(toList())).containsExactly(work));
+
+        assertThat(outstanding.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void streamSeesWorkFromEveryThread() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch opened = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> outstanding.doInTransaction(new MockWork(TEST_USER), () -> {
+                    opened.countDown();
+                    await(release);
+                })));
+            }
+            assertThat(opened.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(outstanding.stream().count()).isEqualTo(threads);
+
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertThat(outstanding.isEmpty()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void indexCountsWorkInEveryStripe() throws Exception {
+        OutstandingWorkIndex<MockWork> index = outstanding.index(MockWork::getUser).orElse(null);
+        Outstanding<MockWork>.Ticket ticket = outstanding.create(new MockWork(TEST_USER));
+        Thread other = new Thread(() -> outstanding.create(new MockWork(TEST_USER)));
+        other.start();
+        other.join();
+
+        assertThat(index.count(TEST_USER)).isEqualTo(2);
+
+        ticket.close();
+        assertThat(index.count(TEST_USER)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
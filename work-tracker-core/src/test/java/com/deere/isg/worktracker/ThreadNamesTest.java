@@ -0,0 +1,34 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ThreadNamesTest {
+    @Test
+    public void platformThreadsKeepTheirName() {
+        Thread thread = new Thread(() -> { }, "worker-1");
+
+        assertThat(ThreadNames.nameOf(thread)).isEqualTo("worker-1");
+    }
+
+    @Test
+    public void currentThreadIsNamed() {
+        assertThat(ThreadNames.nameOf(Thread.currentThread())).isEqualTo(Thread.currentThread().getName());
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.clock.Clock;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.deere.isg.worktracker.ExecutorTestUtils.UUID_PATTERN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeOrderedIdGeneratorTest {
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @After
+    public void tearDown() {
+        Clock.clear();
+    }
+
+    @Test
+    public void idIsAVersion7Uuid() {
+        String id = generator.nextId();
+
+        assertThat(UUID_PATTERN.matcher(id).matches()).isTrue();
+        UUID uuid = UUID.fromString(id);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    public void idStartsWithTheTime() {
+        Clock.freeze(1_700_000_000_000L);
+
+        UUID uuid = UUID.fromString(generator.nextId());
+
+        assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    public void laterIdsSortAfterEarlierIds() {
+        Clock.freeze(1_700_000_000_000L);
+        String earlier = generator.nextId();
+        Clock.freeze(1_700_000_000_001L);
+        String later = generator.nextId();
+
+        assertThat(later).isGreaterThan(earlier);
+    }
+
+    @Test
+    public void idsInTheSameMillisecondAreDifferent() {
+        Clock.freeze(1_700_000_000_000L);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).hasSize(1000);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketRateLimiterTest {
+    private static final String USER = "user";
+
+    private AtomicLong nanos;
+    private TokenBucketRateLimiter limiter;
+
+    @Before
+    public void setUp() {
+        nanos = new AtomicLong(42);
+        limiter = new TokenBucketRateLimiter(10, 3, nanos::get);
+    }
+
+    @Test
+    public void allowsBurstUpToLimit() {
+        assertThat(limiter.tryAcquire(USER, 3)).isZero();
+        assertThat(limiter.tryAcquire(USER, 3)).isZero();
+        assertThat(limiter.tryAcquire(USER, 3)).isZero();
+
+        assertThat(limiter.tryAcquire(USER, 3)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void refillsAtRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(USER, 3);
+        }
+
+        advanceMillis(40);
+        assertThat(limiter.tryAcquire(USER, 3)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(60));
+
+        advanceMillis(60);
+        assertThat(limiter.tryAcquire(USER, 3)).isZero();
+        assertThat(limiter.tryAcquire(USER, 3)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void doesNotSaveUpMoreThanLimit() {
+        advanceMillis(10_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(USER, 3)).isZero();
+        }
+        assertThat(limiter.tryAcquire(USER, 3)).isPositive();
+    }
+
+    @Test
+    public void keysAreLimitedSeparately() {
+        assertThat(limiter.tryAcquire(USER, 1)).isZero();
+        assertThat(limiter.tryAcquire(USER, 1)).isPositive();
+
+        assertThat(limiter.tryAcquire("other", 1)).isZero();
+    }
+
+    @Test
+    public void readsLimitOnEveryCall() {
+        assertThat(limiter.tryAcquire(USER, 1)).isZero();
+        assertThat(limiter.tryAcquire(USER, 1)).isPositive();
+
+        assertThat(limiter.tryAcquire(USER, 2)).isZero();
+    }
+
+    @Test
+    public void zeroLimitAllowsNothing() {
+        assertThat(limiter.tryAcquire(USER, 0)).isPositive();
+        assertThat(limiter.tryAcquire(USER, -1)).isPositive();
+    }
+
+    @Test
+    public void allowsUntrackedKeysOnceFull() {
+        limiter.tryAcquire("a", 1);
+        limiter.tryAcquire("b", 1);
+        limiter.tryAcquire("c", 1);
+
+        assertThat(limiter.tryAcquire("d", 1)).isZero();
+        assertThat(limiter.tryAcquire("d", 1)).isZero();
+        assertThat(limiter.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void sweepsIdleKeys() {
+        limiter.tryAcquire("a", 1);
+        limiter.tryAcquire("b", 1);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire("c", 100);
+        }
+
+        advanceMillis(1500);
+        limiter.tryAcquire("d", 1);
+
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("d", 1)).isPositive();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rateMustBePositive() {
+        new TokenBucketRateLimiter(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxKeysMustBePositive() {
+        new TokenBucketRateLimiter(1, 0);
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
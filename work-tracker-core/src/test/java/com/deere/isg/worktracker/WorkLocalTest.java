@@ -0,0 +1,63 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkLocalTest {
+    private final WorkLocal<String> local = new WorkLocal<>();
+
+    @Test
+    public void getReturnsWhatWasSet() {
+        assertThat(local.get()).isNull();
+
+        local.set("work");
+
+        assertThat(local.get()).isEqualTo("work");
+    }
+
+    @Test
+    public void eachThreadHasItsOwnValue() throws InterruptedException {
+        local.set("work");
+        AtomicReference<String> other = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> {
+            local.set("other");
+            other.set(local.get());
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(other.get()).isEqualTo("other");
+        assertThat(local.get()).isEqualTo("work");
+    }
+
+    @Test
+    public void platformThreadsInheritTheValue() throws InterruptedException {
+        local.set("work");
+        AtomicReference<String> inherited = new AtomicReference<>();
+
+        Thread thread = new Thread(() -> inherited.set(local.get()));
+        thread.start();
+        thread.join();
+
+        assertThat(inherited.get()).isEqualTo("work");
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import com.deere.isg.outstanding.Outstanding;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.Collections;
+
+import static com.deere.isg.worktracker.Work.REQUEST_ID;
+import static com.deere.isg.worktracker.Work.THREAD_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class WorkMdcAdapterTest {
+    private static final String SOME_KEY = "some_key";
+    private static final String SOME_VALUE = "some_value";
+
+    private MDCAdapter previous;
+    private OutstandingWork<MockWork> outstanding;
+    private WorkMdcAdapter adapter;
+
+    @Before
+    public void setUp() {
+        MDC.clear();
+        previous = MDC.getMDCAdapter();
+        outstanding = new OutstandingWork<>();
+        adapter = WorkMdcAdapter.install(outstanding);
+    }
+
+    @After
+    public void tearDown() {
+        MDC.clear();
+        adapter.uninstall();
+    }
+
+    @Test
+    public void installReplacesTheAdapter() {
+        assertThat(MDC.getMDCAdapter()).isSameAs(adapter);
+    }
+
+    @Test
+    public void uninstallPutsBackThePreviousAdapter() {
+        adapter.uninstall();
+
+        assertThat(MDC.getMDCAdapter()).isSameAs(previous);
+    }
+
+    @Test
+    public void readsMetadataFromTheWork() {
+        MockWork work = new MockWork("test_user");
+
+        assertThat(MDC.get(REQUEST_ID)).isEqualTo(work.getRequestId());
+        assertThat(MDC.get(MockWork.USER)).isEqualTo("test_user");
+        assertThat(MDC.getCopyOfContextMap()).containsOnly(
+                entry(THREAD_NAME, work.getThreadName()),
+                entry(REQUEST_ID, work.getRequestId()),
+                entry(MockWork.USER, "test_user")
+        );
+    }
+
+    @Test
+    public void putWinsOverTheWork() {
+        MockWork work = new MockWork("test_user");
+        MDC.put(MockWork.USER, "other_user");
+
+        assertThat(MDC.get(MockWork.USER)).isEqualTo("other_user");
+        assertThat(MDC.getCopyOfContextMap()).contains(entry(MockWork.USER, "other_user"));
+
+        work.setUser("third_user");
+
+        assertThat(MDC.get(MockWork.USER)).isEqualTo("third_user");
+    }
+
+    @Test
+    public void putKeepsValuesNotInTheWork() {
+        new MockWork();
+        MDC.put(SOME_KEY, SOME_VALUE);
+
+        assertThat(MDC.get(SOME_KEY)).isEqualTo(SOME_VALUE);
+        assertThat(MDC.getCopyOfContextMap()).contains(entry(SOME_KEY, SOME_VALUE));
+    }
+
+    @Test
+    public void removeHidesTheWorkValue() {
+        new MockWork("test_user");
+        MDC.put(SOME_KEY, SOME_VALUE);
+
+        MDC.remove(MockWork.USER);
+        MDC.remove(SOME_KEY);
+
+        assertThat(MDC.get(MockWork.USER)).isNull();
+        assertThat(MDC.get(SOME_KEY)).isNull();
+        assertThat(MDC.getCopyOfContextMap()).doesNotContainKeys(MockWork.USER, SOME_KEY);
+    }
+
+    @Test
+    public void clearForgetsTheWork() {
+        new MockWork("test_user");
+        MDC.put(SOME_KEY, SOME_VALUE);
+
+        MDC.clear();
+
+        assertThat(MDC.get(REQUEST_ID)).isNull();
+        assertThat(MDC.get(SOME_KEY)).isNull();
+        assertThat(MDC.getCopyOfContextMap()).isNull();
+    }
+
+    @Test
+    public void readsFromTheCurrentWorkWhenNoWorkAddedMetadata() {
+        MockWork work = new MockWork("test_user");
+        MDC.clear();
+
+        try (Outstanding<MockWork>.Ticket ignored = outstanding.create(work)) {
+            assertThat(MDC.get(REQUEST_ID)).isEqualTo(work.getRequestId());
+        }
+        assertThat(MDC.get(REQUEST_ID)).isNull();
+    }
+
+    @Test
+    public void setContextMapReplacesEverything() {
+        new MockWork("test_user");
+
+        MDC.setContextMap(Collections.singletonMap(SOME_KEY, SOME_VALUE));
+
+        assertThat(MDC.getCopyOfContextMap()).containsOnly(entry(SOME_KEY, SOME_VALUE));
+    }
+
+    @Test
+    public void workKeepsItsMetadata() {
+        MockWork work = new MockWork("test_user");
+        MDC.clear();
+
+        assertThat(work.getMetadata()).hasSize(5);
+    }
+}
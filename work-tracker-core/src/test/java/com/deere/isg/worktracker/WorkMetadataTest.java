@@ -0,0 +1,79 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkMetadataTest {
+    private WorkMetadata metadata;
+
+    @Before
+    public void setUp() {
+        metadata = new WorkMetadata();
+    }
+
+    @Test
+    public void emptyByDefault() {
+        assertThat(metadata.size()).isZero();
+        assertThat(metadata.get("key")).isNull();
+        assertThat(entries()).isEmpty();
+    }
+
+    @Test
+    public void putAddsInOrder() {
+        metadata.put("b", "1");
+        metadata.put("a", "2");
+
+        assertThat(metadata.size()).isEqualTo(2);
+        assertThat(metadata.get("a")).isEqualTo("2");
+        assertThat(metadata.get("b")).isEqualTo("1");
+        assertThat(entries()).containsExactly("b=1", "a=2");
+    }
+
+    @Test
+    public void putReplacesInPlace() {
+        metadata.put("a", "1");
+        metadata.put("b", "2");
+        metadata.put("a", "3");
+
+        assertThat(metadata.size()).isEqualTo(2);
+        assertThat(entries()).containsExactly("a=3", "b=2");
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        for (int i = 0; i < 20; i++) {
+            metadata.put("key_" + i, "value_" + i);
+        }
+
+        assertThat(metadata.size()).isEqualTo(20);
+        assertThat(metadata.get("key_0")).isEqualTo("value_0");
+        assertThat(metadata.get("key_19")).isEqualTo("value_19");
+        assertThat(entries()).hasSize(20).startsWith("key_0=value_0").endsWith("key_19=value_19");
+    }
+
+    private List<String> entries() {
+        List<String> entries = new ArrayList<>();
+        metadata.forEach((key, value) -> entries.add(key + "=" + value));
+        return entries;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker;
 
 import com.deere.clock.Clock;
@@ -30,6 +29,7 @@ import static com.deere.isg.worktracker.MockTimeUtils.*;
 import static com.deere.isg.worktracker.Work.*;
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class WorkTest {
     private static final String MAIN_THREAD = "main";
@@ -81,6 +81,16 @@ public class WorkTest {
         assertThat(match).isTrue();
     }
 
+    @Test
+    public void declaredCostIsKeptOverEstimate() {
+        work.estimateCost(5);
+        assertThat(work.getCost()).isEqualTo(5);
+        work.setCost(.5);
+        work.estimateCost(5);
+        assertThat(work.getCost()).isEqualTo(.5);
+        assertThatThrownBy(() -> work.setCost(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void currentThreadIsNamedMain() {
         assertThat(work.getThreadName()).isEqualTo(MAIN_THREAD);
@@ -166,6 +176,30 @@ public class WorkTest {
         assertThat(metadata).contains(keyValue(ZOMBIE, work.isZombie()));
     }
 
+    @Test
+    public void getMetadataIsInTheOrderItWasAdded() {
+        work.addToMDC(USER, "test_user");
+        work.addToMDC(SERVICE, "test_service");
+        work.addToMDC(USER, "other_user");
+
+        assertThat(work.getMetadata()).containsExactly(
+                keyValue(THREAD_NAME, work.getThreadName()),
+                keyValue(REQUEST_ID, work.getRequestId()),
+                keyValue(USER, "other_user"),
+                keyValue(SERVICE, "test_service"),
+                keyValue(ELAPSED_MS, work.getElapsedMillis()),
+                keyValue(ZOMBIE, work.isZombie())
+        );
+    }
+
+    @Test
+    public void getMetadataOnlyHasWhatTheWorkAdded() {
+        MDC.put(SOME_KEY, SOME_VALUE);
+        Work newWork = new MockWork();
+
+        assertThat(newWork.getMetadata()).doesNotContain(keyValue(SOME_KEY, SOME_VALUE));
+    }
+
     @Test
     public void addInfoToMDC() {
         work.addToMDC(SOME_KEY, SOME_VALUE);
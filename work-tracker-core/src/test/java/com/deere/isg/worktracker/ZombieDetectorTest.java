@@ -27,6 +27,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.deere.isg.worktracker.MockTimeUtils.freezeClock;
 import static com.deere.isg.worktracker.MockTimeUtils.freezeClockOffset;
@@ -49,16 +53,19 @@ public class ZombieDetectorTest {
 
     private ZombieDetector detector;
     private List<MockWork> workList;
+    private long startMillis;
 
     @Before
     public void setUp() {
         Clock.freeze();
+        startMillis = Clock.milliseconds();
         workList = MockWorkUtils.createMockWorkList(SIZE);
         detector = new ZombieDetector(outstanding);
         detector.start();
         detector.setLogger(logger);
 
         when(outstanding.stream()).thenAnswer(invocation -> workList.stream());
+        when(outstanding.streamOlderThan(anyLong())).thenCallRealMethod();
     }
 
     @After
@@ -167,6 +174,124 @@ public class ZombieDetectorTest {
         failOnZombieError();
     }
 
+    @Test
+    public void trackerWithoutListenersIsScannedEvery30Seconds() {
+        AtomicLong nanos = new AtomicLong();
+        DeadlineWheel wheel = new DeadlineWheel(100, 512, nanos::get);
+        ZombieDetector scanning = new ZombieDetector(outstanding, wheel);
+        scanning.setLogger(logger);
+        scanning.start();
+        freezeClock(TimeUnit.MILLISECONDS.convert(30, TimeUnit.SECONDS) + 1);
+
+        advance(nanos, wheel, TimeUnit.SECONDS.toMillis(30) + 100);
+        verify(logger, times(SIZE)).logZombie(eq(LONG_RUNNING), any());
+
+        advance(nanos, wheel, TimeUnit.SECONDS.toMillis(30) + 100);
+        verify(logger, times(SIZE * 2)).logZombie(eq(LONG_RUNNING), any());
+        scanning.close();
+    }
+
+    @Test
+    public void outstandingWorkIsCheckedWhenItsDeadlinePasses() {
+        OutstandingWork<MockWork> tracker = new OutstandingWork<>();
+        AtomicLong nanos = new AtomicLong();
+        DeadlineWheel wheel = new DeadlineWheel(100, 512, nanos::get);
+        ZombieDetector watching = new ZombieDetector(tracker, wheel);
+        watching.setLogger(logger);
+        watching.start();
+        MockWork work = new MockWork();
+        work.setMaxTime(TimeUnit.SECONDS.toMillis(45));
+
+        tracker.doInTransaction(work, () -> {
+            assertThat(watching.watching()).isEqualTo(1);
+
+            moveTo(nanos, wheel, TimeUnit.SECONDS.toMillis(30) + 100);
+            verify(logger).logZombie(LONG_RUNNING, work);
+            verify(logger, never()).logKill(any(), any());
+
+            moveTo(nanos, wheel, TimeUnit.SECONDS.toMillis(45) + 100);
+            verify(logger).logZombie(ZOMBIE, work);
+            verify(logger).logKill(startsWith(ZOMBIE + " killed at "), eq(work));
+            assertThat(Thread.interrupted()).isTrue();
+        });
+
+        assertThat(watching.watching()).isZero();
+        watching.close();
+    }
+
+    @Test
+    public void workThatIsOnlyCountedIsNotWatched() {
+        SampledOutstandingWork<MockWork> tracker = new SampledOutstandingWork<>(1000);
+        ZombieDetector watching = new ZombieDetector(tracker, new DeadlineWheel(100, 512, System::nanoTime));
+        watching.start();
+        tracker.create(new MockWork());
+
+        MockWork unsampled = new MockWork();
+        tracker.doInTransaction(unsampled, () -> assertThat(watching.watching()).isEqualTo(1));
+        assertThat(unsampled.isListed()).isFalse();
+        watching.close();
+    }
+
+    @Test
+    public void closedWorkIsNotChecked() {
+        OutstandingWork<MockWork> tracker = new OutstandingWork<>();
+        AtomicLong nanos = new AtomicLong();
+        DeadlineWheel wheel = new DeadlineWheel(100, 512, nanos::get);
+        ZombieDetector watching = new ZombieDetector(tracker, wheel);
+        watching.setLogger(logger);
+        watching.start();
+
+        tracker.doInTransaction(new MockWork(), () -> moveTo(nanos, wheel, 100));
+        moveTo(nanos, wheel, TimeUnit.MINUTES.toMillis(10));
+
+        verifyZeroInteractions(logger);
+        assertThat(wheel.size()).isZero();
+        watching.close();
+    }
+
+    @Test
+    public void workThatClosesWhileStartingIsNotWatched() {
+        AtomicReference<Runnable> closeWhileStreamed = new AtomicReference<>();
+        OutstandingWork<MockWork> tracker = new OutstandingWork<MockWork>() {
+            @Override
+            public Stream<MockWork> stream() {
+                List<MockWork> works = super.stream().collect(Collectors.toList());
+                Optional.ofNullable(closeWhileStreamed.getAndSet(null)).ifPresent(Runnable::run);
+                return works.stream();
+            }
+        };
+        closeWhileStreamed.set(tracker.create(new MockWork())::close);
+        ZombieDetector watching = new ZombieDetector(tracker, new DeadlineWheel(100, 512, System::nanoTime));
+
+        watching.start();
+
+        assertThat(watching.watching()).isZero();
+        watching.close();
+    }
+
+    @Test
+    public void closeStopsListening() {
+        OutstandingWork<MockWork> tracker = new OutstandingWork<>();
+        ZombieDetector watching = new ZombieDetector(tracker, new DeadlineWheel(100, 512, System::nanoTime));
+        watching.start();
+
+        watching.close();
+        tracker.doInTransaction(new MockWork(), () -> assertThat(watching.watching()).isZero());
+
+        assertThat(watching.isCancelled()).isTrue();
+    }
+
+    private void moveTo(AtomicLong nanos, DeadlineWheel wheel, long millis) {
+        Clock.freeze(startMillis + millis);
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(millis));
+        wheel.advance();
+    }
+
+    private void advance(AtomicLong nanos, DeadlineWheel wheel, long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        wheel.advance();
+    }
+
     private void failOnZombieError() {
         try {
             detector.killRunaway();
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualWorkLocalTest {
+    private final WorkLocal<String> local = new WorkLocal<>();
+
+    @Test
+    public void virtualThreadsDoNotInheritTheValue() throws InterruptedException {
+        local.set("work");
+        AtomicReference<String> inherited = new AtomicReference<>("not run");
+
+        Thread.ofVirtual().start(() -> inherited.set(local.get())).join();
+
+        assertThat(inherited.get()).isNull();
+    }
+
+    @Test
+    public void platformThreadsStillInheritTheValue() throws InterruptedException {
+        local.set("work");
+        AtomicReference<String> inherited = new AtomicReference<>();
+
+        Thread.ofPlatform().start(() -> inherited.set(local.get())).join();
+
+        assertThat(inherited.get()).isEqualTo("work");
+    }
+
+    @Test
+    public void virtualThreadsHaveTheirOwnValue() throws InterruptedException {
+        AtomicReference<String> own = new AtomicReference<>();
+
+        Thread.ofVirtual().start(() -> {
+            local.set("virtual");
+            own.set(local.get());
+        }).join();
+
+        assertThat(own.get()).isEqualTo("virtual");
+        assertThat(local.get()).isNull();
+    }
+}
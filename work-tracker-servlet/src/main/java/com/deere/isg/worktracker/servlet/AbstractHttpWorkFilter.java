@@ -15,9 +15,15 @@
  */
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.outstanding.Outstanding;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.OverCapacityException;
 import org.slf4j.MDC;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
@@ -25,6 +31,11 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.deere.isg.worktracker.servlet.HttpFloodSensor.SC_TOO_MANY_REQUESTS;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
 
 /**
  * Creates the payload to be tracked for the request
@@ -33,40 +44,122 @@ import java.io.IOException;
  */
 public abstract class AbstractHttpWorkFilter<W extends HttpWork>
         extends BaseTypeFilter<W> {
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final int OVER_CAPACITY_RETRY_SECONDS = 1;
+    static final String ASYNC_TICKET_ATTR = AbstractHttpWorkFilter.class.getName() + ".ticket";
+
     private WorkLogger logger = WorkLogger.getLogger();
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            dispatchAsync(request, response, chain);
+            return;
+        }
         W payload = createWork(request, response);
         HttpServletRequest httpRequest = getHttpRequest(payload, request);
         OutstandingWorkTracker<W> outstanding = getOutstanding();
+        Outstanding<W>.Ticket ticket = null;
+        boolean completed = false;
+        boolean async = false;
         try {
             if (outstanding != null) {
-                outstanding.<IOException, ServletException>doInTransactionChecked(payload, () -> {
+                try {
+                    ticket = outstanding.create(payload);
+                } catch (OverCapacityException e) {
+                    rejectOverCapacity(response, e);
+                    return;
+                }
+                if (isSampled(payload)) {
                     doStartLog(payload, httpRequest);
-                    chain.doFilter(httpRequest, response);
-                });
-            } else {
-                chain.doFilter(httpRequest, response);
+                }
             }
+            chain.doFilter(httpRequest, response);
+            completed = true;
+            async = httpRequest.isAsyncStarted();
         } catch (ClassCastException e) {
             throw new ServletException(e);
         } finally {
             try {
-                postProcess(request, response, payload);
-            } finally {
-                if (outstanding != null) {
-                    logger.logEnd(httpRequest, (HttpServletResponse) response, payload);
+                if (async) {
+                    new AsyncCompletion(httpRequest, response, payload, ticket, outstanding != null).watch();
+                    if (outstanding != null) {
+                        outstanding.detach();
+                    }
+                } else {
+                    end(httpRequest, response, payload, ticket, outstanding != null, completed);
                 }
+            } finally {
                 MDC.clear();
             }
+        }
+    }
+
+    /**
+     * The work of the request is the current work of the thread only while the dispatch runs,
+     * since the container may dispatch other requests to the same thread afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatchAsync(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        Object ticket = request.getAttribute(ASYNC_TICKET_ATTR);
+        OutstandingWorkTracker<W> outstanding = ticket instanceof Outstanding.Ticket ? getOutstanding() : null;
+        if (outstanding != null) {
+            outstanding.attach((Outstanding<W>.Ticket) ticket);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (outstanding != null) {
+                outstanding.detach();
+            }
+        }
+    }
 
+    private void end(HttpServletRequest request, ServletResponse response, W payload,
+                     Outstanding<W>.Ticket ticket, boolean tracked, boolean completed) {
+        try {
+            if (ticket != null) {
+                ticket.close();
+            }
+        } finally {
+            try {
+                postProcess(request, response, payload);
+            } finally {
+                if (tracked && shouldLogEnd(payload, (HttpServletResponse) response, completed)) {
+                    logger.logEnd(request, (HttpServletResponse) response, payload);
+                }
+            }
         }
     }
 
     protected void postProcess(ServletRequest request, ServletResponse response, W payload) {
     }
 
+    /**
+     * Called instead of the rest of the chain when the outstanding work is a
+     * {@link com.deere.isg.worktracker.BoundedOutstandingWork} that rejected the request.
+     * Responds with 429 Too Many Requests by default.
+     */
+    protected void rejectOverCapacity(ServletResponse response, OverCapacityException e) {
+        if (response instanceof HttpServletResponse) {
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(SC_TOO_MANY_REQUESTS);
+            httpResponse.setHeader(RETRY_AFTER, String.valueOf(OVER_CAPACITY_RETRY_SECONDS));
+        }
+    }
+
+    /**
+     * Work that a {@link com.deere.isg.worktracker.SampledOutstandingWork} did not sample is only logged
+     * when it ends if it was slow, failed with an exception or responded with a server error.
+     */
+    private boolean shouldLogEnd(W payload, HttpServletResponse response, boolean completed) {
+        return isSampled(payload) || !completed || response.getStatus() >= SC_INTERNAL_SERVER_ERROR;
+    }
+
+    private boolean isSampled(W payload) {
+        return payload == null || payload.isSampled();
+    }
+
     protected void doStartLog(W payload, HttpServletRequest httpRequest) {
         logger.logStart(httpRequest, payload);
     }
@@ -100,4 +193,77 @@ public abstract class AbstractHttpWorkFilter<W extends HttpWork>
     public void setLogger(WorkLogger logger) {
         this.logger = logger;
     }
+
+    /**
+     * Keeps the work of a request that went asynchronous outstanding until its {@link AsyncContext} completes,
+     * instead of ending it when the container thread leaves the filter. A timeout or an error marks the work
+     * as failed, and the container completes the request after either. The end is logged with the metadata of the work
+     * in the {@link MDC} of the thread completing it.
+     */
+    private class AsyncCompletion implements AsyncListener {
+        private final HttpServletRequest request;
+        private final ServletResponse response;
+        private final W payload;
+        private final Outstanding<W>.Ticket ticket;
+        private final boolean tracked;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile boolean failed;
+
+        AsyncCompletion(HttpServletRequest request, ServletResponse response, W payload,
+                        Outstanding<W>.Ticket ticket, boolean tracked) {
+            this.request = request;
+            this.response = response;
+            this.payload = payload;
+            this.ticket = ticket;
+            this.tracked = tracked;
+        }
+
+        void watch() {
+            AsyncContext context = request.getAsyncContext();
+            context.addListener(this);
+            if (ticket != null) {
+                request.setAttribute(ASYNC_TICKET_ATTR, ticket);
+            }
+            if (payload != null) {
+                payload.setAsyncContext(context);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (ended.compareAndSet(false, true)) {
+                if (payload != null) {
+                    payload.setAsyncContext(null);
+                }
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                try {
+                    if (payload != null) {
+                        payload.putMetadataInMDC();
+                    }
+                    end(request, response, payload, ticket, tracked, !failed);
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
 }
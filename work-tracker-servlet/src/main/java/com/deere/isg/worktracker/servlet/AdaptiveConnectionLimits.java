@@ -0,0 +1,76 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.worktracker.AdaptiveLimit;
+import com.deere.isg.worktracker.OutstandingWorkTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ConnectionLimits} whose total and service limits follow an {@link AdaptiveLimit}
+ * instead of a fixed number of resources. The adaptive limit stands for the maximum resources:
+ * the total and service limits keep the same share of it as they have in {@link ConnectionLimits},
+ * while the session and user limits stay at their share of the initial limit.
+ * <p>
+ * The adaptive limit learns from the work that {@link HttpFloodSensor} checks against,
+ * so it only changes once these limits are given to a flood sensor, i.e. with
+ * {@link WorkConfig.Builder#setHttpFloodSensorWithLimit(ConnectionLimits)}.
+ *
+ * @param <W> The type of the work object
+ */
+public class AdaptiveConnectionLimits<W extends HttpWork> extends ConnectionLimits<W> {
+    private Logger logger = LoggerFactory.getLogger(AdaptiveConnectionLimits.class);
+
+    private final AdaptiveLimit adaptiveLimit;
+
+    /**
+     * Lets the limit range from a tenth to ten times the initial limit.
+     *
+     * @param initialLimit the maximum resources to start with
+     */
+    public AdaptiveConnectionLimits(int initialLimit) {
+        this(new AdaptiveLimit(initialLimit, Math.max(1, initialLimit / 10), Math.max(1, initialLimit * 10)));
+    }
+
+    /**
+     * @param adaptiveLimit the limit standing for the maximum resources
+     */
+    public AdaptiveConnectionLimits(AdaptiveLimit adaptiveLimit) {
+        super(adaptiveLimit.getLimit(), true);
+        this.adaptiveLimit = adaptiveLimit;
+        adaptiveLimit.onChange(this::update);
+    }
+
+    /**
+     * @return the adaptive limit, to observe its current value
+     */
+    public AdaptiveLimit getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    @Override
+    public void watch(OutstandingWorkTracker<? extends W> outstanding) {
+        if (!outstanding.addListener(adaptiveLimit)) {
+            logger.warn("Outstanding work cannot be listened to, connection limits will not adapt");
+        }
+    }
+
+    private void update(int maxResources) {
+        updateLimit((int) (maxResources * TOTAL_SHARE), TOTAL);
+        updateLimit((int) (maxResources * SERVICE_SHARE), SERVICE);
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.worktracker.OutstandingWorkListener;
+import com.deere.isg.worktracker.Work;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static com.deere.isg.worktracker.StringUtils.isNotBlank;
+
+/**
+ * Lets requests over a limit wait a little for room, instead of being rejected at once, so that a short burst
+ * is served a few milliseconds later instead of being retried by every client at once.
+ * See {@link HttpFloodSensor#setAdmissionQueue(AdmissionQueue)}.
+ * <p>
+ * Waiting requests are queued by key (the user, else the session, else the address of the client by default,
+ * see {@link #AdmissionQueue(int, long, TimeUnit, TrustedProxies)}), and every
+ * time an outstanding work closes, the head of the next key in turn is woken to check its limits again,
+ * so that one key cannot take every freed slot. If it still does not fit, it goes back to the end of its key's queue
+ * and the next key in turn gets to check, until every waiting request had its turn. Requests that find the queue
+ * full, or are still waiting after the max wait, are rejected. A request checks its limits once more as soon as it is
+ * queued, and once more before it gives up, since work that closed while it was not queued did not wake it.
+ * <p>
+ * Requests wait on the thread serving them, so keep the capacity below the number of threads of the server.
+ *
+ * @param <W> The type of the work object
+ */
+public class AdmissionQueue<W extends HttpWork> implements OutstandingWorkListener<Work> {
+    private final int capacity;
+    private final long maxWaitNanos;
+    private final Function<? super W, String> key;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Deque<Waiter>> waiters = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile int size;
+    private int turns;
+
+    /**
+     * @param capacity how many requests may wait at once
+     * @param maxWait  how long a request may wait
+     * @param unit     the unit of the max wait
+     */
+    public AdmissionQueue(int capacity, long maxWait, TimeUnit unit) {
+        this(capacity, maxWait, unit, (TrustedProxies) null);
+    }
+
+    /**
+     * Behind a load balancer, every anonymous request comes from the same remote address, so they would all
+     * take turns as one client unless the load balancer is trusted to tell the address of the client.
+     *
+     * @param capacity how many requests may wait at once
+     * @param maxWait  how long a request may wait
+     * @param unit     the unit of the max wait
+     * @param proxies  the proxies trusted to tell the address of the client, null to use the remote address
+     */
+    public AdmissionQueue(int capacity, long maxWait, TimeUnit unit, TrustedProxies proxies) {
+        this(capacity, maxWait, unit, work -> clientOf(work, proxies));
+    }
+
+    /**
+     * @param capacity how many requests may wait at once
+     * @param maxWait  how long a request may wait
+     * @param unit     the unit of the max wait
+     * @param key      what requests take turns by
+     */
+    public AdmissionQueue(int capacity, long maxWait, TimeUnit unit, Function<? super W, String> key) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        this.key = key;
+    }
+
+    /**
+     * Waits until the request may proceed, the max wait is over, or the thread is interrupted.
+     *
+     * @param work       the request waiting
+     * @param limitType  the type of the limit the request is over, to measure the wait by
+     * @param mayProceed checks the limits again, true if the request fits now
+     * @return true if the request may proceed
+     */
+    public boolean await(W work, String limitType, BooleanSupplier mayProceed) {
+        Stats typeStats = stats.computeIfAbsent(limitType, type -> new Stats());
+        long start = System.nanoTime();
+        boolean admitted = false;
+        typeStats.depth.incrementAndGet();
+        try {
+            admitted = await(new Waiter(keyOf(work), lock.newCondition()), start + maxWaitNanos, mayProceed);
+            return admitted;
+        } finally {
+            typeStats.depth.decrementAndGet();
+            typeStats.record(admitted, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return how many requests are waiting
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the measures of the waits for each type of limit, by type name
+     */
+    public Map<String, Stats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    @Override
+    public void opened(Work work) {
+    }
+
+    @Override
+    public void closed(Work work) {
+        if (size > 0) {
+            lock.lock();
+            try {
+                turns = size;
+                wakeNext();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean await(Waiter waiter, long deadline, BooleanSupplier mayProceed) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return false;
+            }
+            enqueue(waiter);
+            if (check(mayProceed)) {
+                dequeue(waiter);
+                if (waiter.woken) {
+                    // a work closed while checking and woke this request, which did not need the turn
+                    wakeNext();
+                }
+                return true;
+            }
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                while (!waiter.woken && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+                if (!waiter.woken) {
+                    dequeue(waiter);
+                    return check(mayProceed);
+                }
+                waiter.woken = false;
+
+                if (check(mayProceed)) {
+                    return true;
+                }
+                enqueue(waiter);
+                wakeNext();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dequeue(waiter);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks the limits without holding the lock, since they may take a while.
+     */
+    private boolean check(BooleanSupplier mayProceed) {
+        lock.unlock();
+        try {
+            return mayProceed.getAsBoolean();
+        } finally {
+            lock.lock();
+        }
+    }
+
+    private void enqueue(Waiter waiter) {
+        waiters.computeIfAbsent(waiter.key, k -> new ArrayDeque<>()).add(waiter);
+        size++;
+    }
+
+    private void dequeue(Waiter waiter) {
+        Deque<Waiter> queue = waiters.get(waiter.key);
+        if (queue != null && queue.remove(waiter)) {
+            size--;
+            if (queue.isEmpty()) {
+                waiters.remove(waiter.key);
+            }
+        }
+    }
+
+    /**
+     * Wakes the head of the key whose turn it is, and moves that key to the back of the line.
+     */
+    private void wakeNext() {
+        if (turns <= 0 || waiters.isEmpty()) {
+            return;
+        }
+        turns--;
+        Iterator<Map.Entry<String, Deque<Waiter>>> next = waiters.entrySet().iterator();
+        Map.Entry<String, Deque<Waiter>> entry = next.next();
+        next.remove();
+        Waiter waiter = entry.getValue().poll();
+        if (!entry.getValue().isEmpty()) {
+            waiters.put(entry.getKey(), entry.getValue());
+        }
+        size--;
+        waiter.woken = true;
+        waiter.condition.signal();
+    }
+
+    private String keyOf(W work) {
+        String value = work != null ? key.apply(work) : null;
+        return value != null ? value : "";
+    }
+
+    /**
+     * @param proxies the proxies trusted to tell the address of the client, null to use the remote address
+     * @return the remote user, else the session, else the address of the client
+     */
+    static String clientOf(HttpWork work, TrustedProxies proxies) {
+        String client = userOrSessionOf(work);
+        if (client != null) {
+            return client;
+        }
+        return proxies != null ? proxies.clientAddress(work.getRemoteAddress(), work.getForwardedFor()) : work.getRemoteAddress();
+    }
+
+    /**
+     * @return the remote user, else the session, null for an anonymous request without a session
+     */
+    static String userOrSessionOf(HttpWork work) {
+        if (isNotBlank(work.getRemoteUser())) {
+            return work.getRemoteUser();
+        }
+        return isNotBlank(work.getSessionId()) ? work.getSessionId() : null;
+    }
+
+    /**
+     * Measures of the requests that waited for one type of limit.
+     */
+    public static final class Stats {
+        private final AtomicInteger depth = new AtomicInteger();
+        private final LongAdder admitted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        /**
+         * @return how many requests are waiting now
+         */
+        public int getDepth() {
+            return depth.get();
+        }
+
+        /**
+         * @return how many requests were let through after waiting
+         */
+        public long getAdmitted() {
+            return admitted.sum();
+        }
+
+        /**
+         * @return how many requests were rejected after waiting, or because the queue was full
+         */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /**
+         * @return how long all the requests waited, in total
+         */
+        public long getWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+        }
+
+        private void record(boolean wasAdmitted, long waitedNanos) {
+            (wasAdmitted ? admitted : rejected).increment();
+            waitNanos.add(waitedNanos);
+        }
+    }
+
+    private static final class Waiter {
+        private final String key;
+        private final Condition condition;
+        private boolean woken;
+
+        Waiter(String key, Condition condition) {
+            this.key = key;
+            this.condition = condition;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,10 +13,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
 import com.deere.isg.worktracker.FloodSensor;
+import com.deere.isg.worktracker.HeavyHitters;
+import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.RateLimiter;
+import com.deere.isg.worktracker.SlidingWindowRateLimiter;
+import com.deere.isg.worktracker.TokenBucketRateLimiter;
 
 import java.util.Comparator;
 import java.util.List;
@@ -25,9 +29,11 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 import static com.deere.isg.worktracker.StringUtils.isNotBlank;
 import static java.util.stream.Collectors.toList;
@@ -43,10 +49,16 @@ public class ConnectionLimits<W extends HttpWork> {
     public static final String SESSION = "session";
     public static final String USER = "user";
     public static final String SERVICE = "service";
+    public static final String CRITICALITY = "criticality";
+    public static final String PENALTY_BOX = "penalty_box";
+    public static final String ADDRESS = "address";
 
     private static final String MESSAGE = "Request rejected to protect JVM from too many requests";
     private static final String MESSAGE_FROM = MESSAGE + " from same ";
 
+    static final double TOTAL_SHARE = .9;
+    static final double SERVICE_SHARE = .6;
+
     private static final int DEFAULT_MAX_RESOURCES = 60;
 
     private ConcurrentMap<String, Limit> connections;
@@ -66,10 +78,10 @@ public class ConnectionLimits<W extends HttpWork> {
     public ConnectionLimits(int maxResourcesLimit, boolean defaultLimits) {
         connections = new ConcurrentHashMap<>();
         if (defaultLimits) {
-            addConnectionLimit((int) (maxResourcesLimit * .9), TOTAL).test(x -> true);
+            addConnectionLimit((int) (maxResourcesLimit * TOTAL_SHARE), TOTAL).method(x -> TOTAL);
             addConnectionLimit((int) (maxResourcesLimit * .4), SESSION).method(W::getSessionId);
             addConnectionLimit((int) (maxResourcesLimit * .5), USER).method(W::getRemoteUser);
-            addConnectionLimit((int) (maxResourcesLimit * .6), SERVICE).method(W::getService);
+            addConnectionLimit((int) (maxResourcesLimit * SERVICE_SHARE), SERVICE).method(W::getService);
         }
     }
 
@@ -110,6 +122,15 @@ public class ConnectionLimits<W extends HttpWork> {
         return connections.get(typeName).getLimit();
     }
 
+    /**
+     * Called by {@link HttpFloodSensor} with the work it checks against, for limits that
+     * learn from that work as it opens and closes. Does nothing by default.
+     *
+     * @param outstanding the work the flood sensor checks against
+     */
+    public void watch(OutstandingWorkTracker<? extends W> outstanding) {
+    }
+
     private void addConnectionLimit(Limit limit) {
         if (connections.containsKey(limit.getTypeName())) {
             connections.replace(limit.getTypeName(), limit);
@@ -119,7 +140,7 @@ public class ConnectionLimits<W extends HttpWork> {
     }
 
     public abstract class Limit {
-        private int limit;
+        private volatile int limit;
         private String typeName;
 
         private Limit(int limit, String typeName) {
@@ -226,6 +247,137 @@ public class ConnectionLimits<W extends HttpWork> {
             });
         }
 
+        /**
+         * Limits how many requests may be outstanding at once by their {@link Criticality}: requests of each
+         * criticality are rejected once the outstanding requests fill its {@link Criticality#getShare() share}
+         * of the limit, so that under pressure sheddable requests are rejected first, and the top of the limit
+         * is kept for critical ones.
+         * <p>
+         * Use {@link #CRITICALITY} as the type name, so that the limit is checked again when a request
+         * is classified after it was first checked (see
+         * {@link HttpFloodSensor#mayProceedOrRedirectTooManyRequest(javax.servlet.ServletResponse, Criticality)}).
+         */
+        public void byCriticality() {
+            byCriticality(Criticality::getShare);
+        }
+
+        /**
+         * @param share the share of the limit requests of each criticality may fill, from 0 to 1
+         * @see #byCriticality()
+         */
+        public void byCriticality(ToDoubleFunction<Criticality> share) {
+            Function<W, String> all = x -> CRITICALITY;
+            addConnectionLimit(new Limit(limit, typeName) {
+                @Override
+                public Optional<Integer> shouldRetryLater(HttpFloodSensor<W> floodSensor, W incoming) {
+                    Criticality criticality = incoming != null ? incoming.getCriticality() : Criticality.DEFAULT;
+                    return floodSensor.shouldRetryLater(
+                            incoming,
+                            all,
+                            (int) (getLimit() * share.applyAsDouble(criticality)),
+                            getTypeName(),
+                            getMessage()
+                    );
+                }
+            });
+        }
+
+        /**
+         * Limits by {@value TrustedProxies#DEFAULT_IPV4_PREFIX} bit IPv4 and {@value TrustedProxies#DEFAULT_IPV6_PREFIX}
+         * bit IPv6 blocks, see {@link #byAddress(TrustedProxies, int, int)}.
+         */
+        public void byAddress(TrustedProxies proxies) {
+            byAddress(proxies, TrustedProxies.DEFAULT_IPV4_PREFIX, TrustedProxies.DEFAULT_IPV6_PREFIX);
+        }
+
+        /**
+         * Limits how many requests may be outstanding at once from clients in the same block of addresses,
+         * so that a flood spread over many users and addresses of a few networks is still caught.
+         * Like other limits on a value, only blocks with outstanding requests take up memory.
+         *
+         * @param proxies    the proxies trusted to tell the address of the client, see {@link TrustedProxies}
+         * @param ipv4Prefix how many leading bits of an IPv4 address make up its block, from 0 to 32
+         * @param ipv6Prefix how many leading bits of an IPv6 address make up its block, from 0 to 128
+         */
+        public void byAddress(TrustedProxies proxies, int ipv4Prefix, int ipv6Prefix) {
+            if (ipv4Prefix < 0 || ipv4Prefix > 32 || ipv6Prefix < 0 || ipv6Prefix > 128) {
+                throw new IllegalArgumentException("Prefix lengths must be from 0 to 32 and 128: " + ipv4Prefix + ", " + ipv6Prefix);
+            }
+            method(work -> proxies.clientBlock(work.getRemoteAddress(), work.getForwardedFor(), ipv4Prefix, ipv6Prefix));
+        }
+
+        /**
+         * Limits how many requests with the same value may arrive per second, with bursts of up to the limit.
+         *
+         * @param permitsPerSecond how many requests per second each value may keep up
+         * @param function         the value to limit, i.e. {@code W::getRemoteUser}
+         * @see TokenBucketRateLimiter
+         */
+        public void tokenBucket(double permitsPerSecond, Function<W, String> function) {
+            rate(new TokenBucketRateLimiter(permitsPerSecond), function);
+        }
+
+        /**
+         * Limits how many requests with the same value may arrive in any window of the given length.
+         *
+         * @param window   the length of the window
+         * @param unit     the unit of the window
+         * @param function the value to limit, i.e. {@code W::getRemoteUser}
+         * @see SlidingWindowRateLimiter
+         */
+        public void slidingWindow(long window, TimeUnit unit, Function<W, String> function) {
+            rate(new SlidingWindowRateLimiter(window, unit), function);
+        }
+
+        /**
+         * Limits how often requests with the same value may arrive, using the limit as the limiter's limit.
+         * Rate limits are checked along with the other limits, and a request takes a permit even if
+         * a later limit rejects it.
+         *
+         * @param limiter  the limiter keeping the state of each value
+         * @param function the value to limit
+         */
+        public void rate(RateLimiter limiter, Function<W, String> function) {
+            addConnectionLimit(new Limit(limit, typeName) {
+                @Override
+                public Optional<Integer> shouldRetryLater(HttpFloodSensor<W> floodSensor, W incoming) {
+                    return floodSensor.shouldRetryLater(
+                            incoming,
+                            limiter,
+                            function,
+                            getLimit(),
+                            getTypeName(),
+                            getMessage()
+                    );
+                }
+            });
+        }
+
+        /**
+         * Puts values of a dimension that have driven too much load lately in a penalty box, i.e. rejects the requests
+         * of a user whose requests took more than the limit in seconds over the window of the heavy hitters.
+         * A limit of the window in seconds lets each value keep one request outstanding on average.
+         * Requests are rejected until the oldest part of the window drops out.
+         *
+         * @param hitters   the heavy hitters counting every request, see {@link HttpHeavyHitters}
+         * @param dimension the dimension to limit, i.e. {@link #USER}
+         */
+        public void penaltyBox(HeavyHitters<W> hitters, String dimension) {
+            addConnectionLimit(new Limit(limit, typeName) {
+                @Override
+                public Optional<Integer> shouldRetryLater(HttpFloodSensor<W> floodSensor, W incoming) {
+                    return floodSensor.shouldRetryLater(
+                            incoming,
+                            hitters,
+                            dimension,
+                            getLimit(),
+                            getTypeName(),
+                            getMessage()
+                    );
+                }
+            });
+        }
+
         public void advanced(Function<W, Optional<Integer>> decider) {
             addConnectionLimit(new Limit(limit, typeName) {
                 @Override
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import java.util.Locale;
+
+/**
+ * How much it matters that a request gets through when the JVM is under pressure, from most to least.
+ * With {@link ConnectionLimits.LimitBuilder#byCriticality()}, each criticality may only fill its share of
+ * the limit, so that sheddable requests are rejected first and the rest of the limit is kept for critical ones.
+ */
+public enum Criticality {
+    /**
+     * Requests that must get through, i.e. checkout. May use the whole limit.
+     */
+    CRITICAL(1.0),
+    /**
+     * Requests that did not say. May use 80% of the limit.
+     */
+    DEFAULT(.8),
+    /**
+     * Requests that can be retried later without anybody noticing, i.e. a background sync poll.
+     * May use half of the limit.
+     */
+    SHEDDABLE(.5);
+
+    private final double share;
+
+    Criticality(double share) {
+        this.share = share;
+    }
+
+    /**
+     * @return the share of a criticality limit requests of this criticality may use by default
+     */
+    public double getShare() {
+        return share;
+    }
+
+    /**
+     * @param value    the name of a criticality, in any case, i.e. from the {@link HttpWork#CRITICALITY_HEADER}
+     * @param fallback what to return if the value is blank or not a criticality
+     * @return the criticality named by the value
+     */
+    public static Criticality parse(String value, Criticality fallback) {
+        if (value != null) {
+            String name = value.trim().toUpperCase(Locale.ROOT);
+            for (Criticality criticality : values()) {
+                if (criticality.name().equals(name)) {
+                    return criticality;
+                }
+            }
+        }
+        return fallback;
+    }
+}
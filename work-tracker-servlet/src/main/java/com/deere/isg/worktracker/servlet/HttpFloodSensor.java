@@ -16,20 +16,37 @@
 
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.worktracker.CostEstimator;
 import com.deere.isg.worktracker.FloodSensor;
+import com.deere.isg.worktracker.HeavyHitters;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.RateLimiter;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public class HttpFloodSensor<W extends HttpWork> extends FloodSensor<W> {
     public static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final String UNKNOWN_LIMIT = "unknown";
+    private static final String UNKNOWN_LIMIT_MESSAGE = "Request rejected to protect JVM from too many requests";
     private ConnectionLimits<W> connectionLimits;
+    private final LongAdder[] rejections = new LongAdder[Criticality.values().length];
+    private final ThreadLocal<Rejection[]> queueing = new ThreadLocal<>();
+    private Logger queueLogger = LoggerFactory.getLogger(HttpFloodSensor.class);
+    private volatile AdmissionQueue<W> admissionQueue;
+    private volatile CostEstimator<W> costEstimator;
+    private volatile TrustedProxies trustedProxies;
+    private final Set<String> costLimits = ConcurrentHashMap.newKeySet();
 
     public HttpFloodSensor(OutstandingWorkTracker<W> outstanding) {
         this(outstanding, new ConnectionLimits<>());
@@ -38,6 +55,12 @@ public class HttpFloodSensor<W extends HttpWork> extends FloodSensor<W> {
     public HttpFloodSensor(OutstandingWorkTracker<W> outstanding, ConnectionLimits<W> connectionLimits) {
         super(outstanding);
         this.connectionLimits = connectionLimits;
+        if (connectionLimits != null) {
+            connectionLimits.watch(outstanding);
+        }
+        for (int i = 0; i < rejections.length; i++) {
+            rejections[i] = new LongAdder();
+        }
     }
 
     /**
@@ -54,14 +77,212 @@ public class HttpFloodSensor<W extends HttpWork> extends FloodSensor<W> {
         return !(response instanceof HttpServletResponse) || mayProceedOrRedirectTooManyRequest((HttpServletResponse) response);
     }
 
+    /**
+     * Same as {@link #mayProceedOrRedirectTooManyRequest(ServletResponse)}, once the current work is classified
+     * with the given criticality, i.e. from an annotation on the handler. If that changes its criticality,
+     * the {@link ConnectionLimits#CRITICALITY} limit is checked again.
+     *
+     * @param response    Should pass a response to allow redirect {@code SC_TOO_MANY_REQUESTS}
+     * @param criticality the criticality of the current work, null to keep it as is
+     * @return {@code true} if a request can proceed
+     */
+    public boolean mayProceedOrRedirectTooManyRequest(ServletResponse response, Criticality criticality) {
+        return mayProceedOrRedirectTooManyRequest(response, criticality, null);
+    }
+
+    /**
+     * Same as {@link #mayProceedOrRedirectTooManyRequest(ServletResponse, Criticality)}, once the current work
+     * is declared to have the given cost, or else estimated again now that more is known about it, i.e. its endpoint.
+     * If that changes its cost, the limits that budget cost are checked again.
+     *
+     * @param response    Should pass a response to allow redirect {@code SC_TOO_MANY_REQUESTS}
+     * @param criticality the criticality of the current work, null to keep it as is
+     * @param cost        the cost of the current work (see {@link com.deere.isg.worktracker.Work#setCost(double)}),
+     *                    null to estimate it
+     * @return {@code true} if a request can proceed
+     */
+    public boolean mayProceedOrRedirectTooManyRequest(ServletResponse response, Criticality criticality, Double cost) {
+        CostEstimator<W> costs = costEstimator;
+        if (cost != null || costs != null) {
+            getOutstanding().current().ifPresent(work -> {
+                double previous = work.getCost();
+                if (cost != null) {
+                    work.setCost(cost);
+                } else {
+                    costs.estimate(work);
+                }
+                if (work.getCost() != previous) {
+                    costLimits.forEach(work::removeLimit);
+                }
+            });
+        }
+        if (criticality != null) {
+            getOutstanding().current()
+                    .filter(work -> work.getCriticality() != criticality)
+                    .ifPresent(work -> {
+                        work.setCriticality(criticality);
+                        work.removeLimit(ConnectionLimits.CRITICALITY);
+                    });
+        }
+        return mayProceedOrRedirectTooManyRequest(response);
+    }
+
+    /**
+     * Lets requests over a limit wait in the queue for room, instead of rejecting them at once.
+     * The queue is told about every work that closes, so it is not used if the tracker cannot tell.
+     * Only {@link #mayProceedOrRedirectTooManyRequest(ServletResponse)} waits: {@link #shouldRetryLater(HttpWork)}
+     * still answers at once.
+     *
+     * @param admissionQueue the queue to wait in, null to reject at once
+     */
+    public void setAdmissionQueue(AdmissionQueue<W> admissionQueue) {
+        AdmissionQueue<W> previous = this.admissionQueue;
+        if (admissionQueue != null && !getOutstanding().addListener(admissionQueue)) {
+            queueLogger.warn("Outstanding work cannot be listened to, requests over a limit will not wait");
+            return;
+        }
+        this.admissionQueue = admissionQueue;
+        if (previous != null) {
+            getOutstanding().removeListener(previous);
+        }
+    }
+
+    public AdmissionQueue<W> getAdmissionQueue() {
+        return admissionQueue;
+    }
+
+    /**
+     * Makes the limits on a value (see {@link ConnectionLimits.LimitBuilder#method}), including the default ones,
+     * budget the cost of the work in flight rather than count it. Limits on a predicate still count.
+     * The estimator learns from every work that closes, so it is not used if the tracker cannot tell.
+     *
+     * @param costEstimator the estimator of the cost of each work, null to count works
+     */
+    public void setCostEstimator(CostEstimator<W> costEstimator) {
+        CostEstimator<W> previous = this.costEstimator;
+        if (costEstimator != null && !getOutstanding().addListener(costEstimator)) {
+            queueLogger.warn("Outstanding work cannot be listened to, connection limits will count requests");
+            return;
+        }
+        this.costEstimator = costEstimator;
+        if (previous != null) {
+            getOutstanding().removeListener(previous);
+        }
+    }
+
+    public CostEstimator<W> getCostEstimator() {
+        return costEstimator;
+    }
+
+    /**
+     * Behind a load balancer, every anonymous request comes from the same remote address, so rejections of anonymous
+     * requests in a row only make the retry after longer for the same client once the load balancer is trusted to tell
+     * the address of the client.
+     *
+     * @param trustedProxies the proxies trusted to tell the address of the client, null to only tell clients apart
+     *                       by user and session
+     */
+    public void setTrustedProxies(TrustedProxies trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public TrustedProxies getTrustedProxies() {
+        return trustedProxies;
+    }
+
     private boolean mayProceedOrRedirectTooManyRequest(HttpServletResponse response) {
-        return !getOutstanding().current()
-                .flatMap(work -> checkLimits()
-                        .map(fn -> fn.apply(work))
-                        .filter(Optional::isPresent)
-                        .peek(o -> respondTooManyRequests((HttpServletResponse) response, o.orElse(1)))
-                        .findFirst())
-                .isPresent();
+        AdmissionQueue<W> queue = admissionQueue;
+        Optional<Integer> retryAfter = getOutstanding().current()
+                .flatMap(work -> queue != null ? admit(work, queue) : shouldRetryLater(work));
+        retryAfter.ifPresent(waitTime -> respondTooManyRequests(response, waitTime));
+        return !retryAfter.isPresent();
+    }
+
+    /**
+     * Checks the incoming work against every limit, for callers that do not have
+     * the work on the current thread or a servlet response to reject it with.
+     *
+     * @param incoming the work to check, already outstanding
+     * @return the seconds the client should wait before retrying if a limit is exceeded
+     */
+    public Optional<Integer> shouldRetryLater(W incoming) {
+        Optional<Integer> retryAfter = firstRetryAfter(incoming);
+        if (retryAfter.isPresent() && incoming != null) {
+            rejections[incoming.getCriticality().ordinal()].increment();
+            incoming.setRejected(true);
+        }
+        return retryAfter;
+    }
+
+    /**
+     * @param criticality the criticality of the rejected works
+     * @return how many works of that criticality were rejected since the flood sensor was created
+     */
+    public long getRejections(Criticality criticality) {
+        return rejections[criticality.ordinal()].sum();
+    }
+
+    /**
+     * While the work waits, it is not counted against the limits, and its checks are not logged:
+     * only the final rejection is.
+     */
+    private Optional<Integer> admit(W work, AdmissionQueue<W> queue) {
+        AtomicReference<Rejection> rejection = new AtomicReference<>(firstRejection(work));
+        if (rejection.get() == null) {
+            return Optional.empty();
+        }
+
+        boolean admitted;
+        suspend(work);
+        try {
+            admitted = queue.await(work, rejection.get().typeName, () -> {
+                work.removeLimit(rejection.get().typeName);
+                resume(work);
+                rejection.set(firstRejection(work));
+                if (rejection.get() != null) {
+                    suspend(work);
+                }
+                return rejection.get() == null;
+            });
+        } finally {
+            resume(work);
+        }
+        if (admitted) {
+            return Optional.empty();
+        }
+
+        Rejection last = rejection.get();
+        rejections[work.getCriticality().ordinal()].increment();
+        work.setRejected(true);
+        super.logFloodDetected(last.typeName, last.message, last.retryAfter);
+        return Optional.of(last.retryAfter);
+    }
+
+    /**
+     * Checks the same {@link #checkLimits()} as {@link #shouldRetryLater(HttpWork)}, so that overriding them
+     * applies to waiting work too. The limit that rejected the work is told by what it would have logged,
+     * and is {@value #UNKNOWN_LIMIT} if it logs nothing.
+     */
+    private Rejection firstRejection(W work) {
+        Rejection[] logged = new Rejection[1];
+        queueing.set(logged);
+        try {
+            return firstRetryAfter(work)
+                    .map(retryAfter -> logged[0] != null
+                            ? new Rejection(logged[0].typeName, logged[0].message, retryAfter)
+                            : new Rejection(UNKNOWN_LIMIT, UNKNOWN_LIMIT_MESSAGE, retryAfter))
+                    .orElse(null);
+        } finally {
+            queueing.remove();
+        }
+    }
+
+    private Optional<Integer> firstRetryAfter(W work) {
+        return checkLimits()
+                .map(fn -> fn.apply(work))
+                .filter(Optional::isPresent)
+                .map(o -> o.orElse(1))
+                .findFirst();
     }
 
     private void respondTooManyRequests(HttpServletResponse response, Integer waitTime) {
@@ -81,6 +302,20 @@ public class HttpFloodSensor<W extends HttpWork> extends FloodSensor<W> {
         return connectionLimits.getConnectionLimits().stream().map(limit -> w -> shouldRetryLater(w, limit));
     }
 
+    /**
+     * Clients are told apart by remote user, else session, else the address of the client if there are
+     * {@link #setTrustedProxies(TrustedProxies) trusted proxies}. Checks made while a work waits
+     * in the admission queue do not count as rejections of its client.
+     */
+    @Override
+    protected String clientOf(W work) {
+        if (queueing.get() != null) {
+            return null;
+        }
+        TrustedProxies proxies = trustedProxies;
+        return proxies != null ? AdmissionQueue.clientOf(work, proxies) : AdmissionQueue.userOrSessionOf(work);
+    }
+
     @Override
     protected void setLogger(Logger logger) {
         super.setLogger(logger);
@@ -98,12 +333,54 @@ public class HttpFloodSensor<W extends HttpWork> extends FloodSensor<W> {
         return super.shouldRetryLater(incoming, predicate, limit, typeName, message);
     }
 
+    /**
+     * Budgets cost instead of counting works once a cost estimator is set, see {@link #setCostEstimator}.
+     */
     protected Optional<Integer> shouldRetryLater(W incoming, Function<W, String> getter, int limit, String typeName, String message) {
+        CostEstimator<W> costs = costEstimator;
+        if (costs != null) {
+            costLimits.add(typeName);
+            return super.shouldRetryLater(incoming, costs, getter, limit, typeName, message);
+        }
         return super.shouldRetryLater(incoming, getter, limit, typeName, message);
     }
 
+    protected Optional<Integer> shouldRetryLater(W incoming, CostEstimator<W> costs, Function<W, String> getter, int limit, String typeName, String message) {
+        return super.shouldRetryLater(incoming, costs, getter, limit, typeName, message);
+    }
+
+    protected Optional<Integer> shouldRetryLater(W incoming, RateLimiter limiter, Function<W, String> getter, int limit, String typeName, String message) {
+        return super.shouldRetryLater(incoming, limiter, getter, limit, typeName, message);
+    }
+
+    protected Optional<Integer> shouldRetryLater(W incoming, HeavyHitters<W> hitters, String dimension, int limit, String typeName, String message) {
+        return super.shouldRetryLater(incoming, hitters, dimension, limit, typeName, message);
+    }
+
     protected Optional<Integer> logFloodDetected(ConnectionLimits<W>.Limit connectionLimit, Optional<Integer> retryAfter) {
-        retryAfter.ifPresent(retryAfterSeconds->super.logFloodDetected(connectionLimit.getTypeName(), connectionLimit.getMessage(), retryAfterSeconds));
+        retryAfter.ifPresent(retryAfterSeconds->logFloodDetected(connectionLimit.getTypeName(), connectionLimit.getMessage(), retryAfterSeconds));
         return retryAfter;
     }
+
+    @Override
+    protected void logFloodDetected(String typeName, String message, int retryAfterSeconds) {
+        Rejection[] logged = queueing.get();
+        if (logged == null) {
+            super.logFloodDetected(typeName, message, retryAfterSeconds);
+        } else {
+            logged[0] = new Rejection(typeName, message, retryAfterSeconds);
+        }
+    }
+
+    private static final class Rejection {
+        private final String typeName;
+        private final String message;
+        private final int retryAfter;
+
+        Rejection(String typeName, String message, int retryAfter) {
+            this.typeName = typeName;
+            this.message = message;
+            this.retryAfter = retryAfter;
+        }
+    }
 }
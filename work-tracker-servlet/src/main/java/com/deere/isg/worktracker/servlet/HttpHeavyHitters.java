@@ -0,0 +1,53 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.worktracker.HeavyHitters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds which users, sessions, remote addresses and services have driven the most load lately,
+ * see {@link HeavyHitters}. Pass it to {@link WorkConfig.Builder#setHeavyHitters} to count every request and list
+ * the heaviest on the outstanding page, and to {@link ConnectionLimits.LimitBuilder#penaltyBox} to limit them.
+ *
+ * @param <W> The type of the work object
+ */
+public class HttpHeavyHitters<W extends HttpWork> extends HeavyHitters<W> {
+    public static final String REMOTE_ADDRESS = "remote_address";
+
+    private static final long DEFAULT_WINDOW_MINUTES = 5;
+
+    /**
+     * Lists the {@value HeavyHitters#DEFAULT_TOP} heaviest over the last 5 minutes.
+     */
+    public HttpHeavyHitters() {
+        this(DEFAULT_TOP, DEFAULT_WINDOW_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param top    how many of the heaviest to list for each dimension
+     * @param window how long to count load for
+     * @param unit   the unit of the window
+     */
+    public HttpHeavyHitters(int top, long window, TimeUnit unit) {
+        super(top, window, unit);
+        track(ConnectionLimits.USER, W::getRemoteUser);
+        track(ConnectionLimits.SESSION, W::getSessionId);
+        track(REMOTE_ADDRESS, W::getRemoteAddress);
+        track(ConnectionLimits.SERVICE, W::getService);
+    }
+}
@@ -18,9 +18,15 @@ package com.deere.isg.worktracker.servlet;
 
 import com.deere.isg.worktracker.Work;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
 import java.util.Optional;
 
 public class HttpWork extends Work {
@@ -31,12 +37,20 @@ public class HttpWork extends Work {
     public static final String STATUS_CODE = "status_code";
     public static final String ACCEPT_HEADER = "Accept";
     public static final String ACCEPT = "accept";
+    public static final String CRITICALITY_HEADER = "X-Criticality";
+    public static final String CRITICALITY = "criticality";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static volatile TrustedProxies criticalityProxies;
 
     private String remoteAddress;
     private String path;
     private String remoteUser;
     private String sessionId;
     private String acceptHeader;
+    private String forwardedFor;
+    private volatile Criticality criticality;
+    private volatile AsyncContext asyncContext;
 
     public HttpWork(ServletRequest request) {
         if (request != null) {
@@ -51,6 +65,8 @@ public class HttpWork extends Work {
                 setRemoteUser(httpRequest.getRemoteUser());
                 setService(httpRequest.getMethod() + " " + httpRequest.getServletPath());
                 setAcceptHeader(httpRequest.getHeader(ACCEPT_HEADER));
+                setCriticalityHeader(httpRequest.getHeader(CRITICALITY_HEADER));
+                setForwardedFor(joinHeaders(httpRequest.getHeaders(FORWARDED_FOR_HEADER)));
             }
         }
     }
@@ -96,6 +112,101 @@ public class HttpWork extends Work {
         this.acceptHeader = addToMDC(ACCEPT, acceptHeader);
     }
 
+    /**
+     * @return the {@link #FORWARDED_FOR_HEADER} header, with the values of repeated headers joined by commas,
+     * only to be believed for the proxies in {@link TrustedProxies}
+     */
+    public String getForwardedFor() {
+        return forwardedFor;
+    }
+
+    public void setForwardedFor(String forwardedFor) {
+        this.forwardedFor = forwardedFor;
+    }
+
+    /**
+     * @return how much it matters that the request gets through, {@link Criticality#DEFAULT} unless set
+     */
+    public Criticality getCriticality() {
+        return criticality != null ? criticality : Criticality.DEFAULT;
+    }
+
+    /**
+     * Classifies the request, i.e. by endpoint. It starts out with the criticality named by
+     * the {@link #CRITICALITY_HEADER}, if any, see {@link #setCriticalityProxies(TrustedProxies)}.
+     *
+     * @param criticality how much it matters that the request gets through
+     */
+    public void setCriticality(Criticality criticality) {
+        if (criticality != null) {
+            addToMDC(CRITICALITY, criticality.name().toLowerCase(Locale.ROOT));
+        }
+        this.criticality = criticality;
+    }
+
+    /**
+     * Takes the criticality named by the {@link #CRITICALITY_HEADER}. The header is sent by the client, so it may
+     * only lower the criticality below {@link Criticality#DEFAULT}, unless the request came from one of
+     * the {@link #setCriticalityProxies(TrustedProxies) criticality proxies}.
+     *
+     * @param header the value of the header, null if there is none
+     */
+    protected void setCriticalityHeader(String header) {
+        Criticality requested = Criticality.parse(header, null);
+        if (requested == null) {
+            return;
+        }
+        TrustedProxies proxies = criticalityProxies;
+        if (requested.compareTo(Criticality.DEFAULT) >= 0 || (proxies != null && proxies.isTrusted(remoteAddress))) {
+            setCriticality(requested);
+        }
+    }
+
+    /**
+     * By default, only the server raises the criticality of a request, with {@link #setCriticality(Criticality)}.
+     * Requests from the given proxies, i.e. a gateway that classifies them, may raise it with
+     * the {@link #CRITICALITY_HEADER} as well.
+     *
+     * @param proxies the proxies trusted to raise the criticality, null to trust none
+     */
+    public static void setCriticalityProxies(TrustedProxies proxies) {
+        criticalityProxies = proxies;
+    }
+
+    /**
+     * @return true while the request is asynchronous and its thread has already left the filter
+     */
+    public boolean isAsync() {
+        return asyncContext != null;
+    }
+
+    void setAsyncContext(AsyncContext asyncContext) {
+        this.asyncContext = asyncContext;
+    }
+
+    /**
+     * Once the request is asynchronous, the thread that created the work is serving other requests,
+     * so instead of interrupting it, the async context is completed with 504 Gateway Timeout
+     * (unless the response was already committed).
+     */
+    @Override
+    public void kill() {
+        AsyncContext context = asyncContext;
+        if (context == null) {
+            super.kill();
+            return;
+        }
+        try {
+            ServletResponse response = context.getResponse();
+            if (response instanceof HttpServletResponse && !response.isCommitted()) {
+                ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+            }
+            context.complete();
+        } catch (IllegalStateException e) {
+            // already completed
+        }
+    }
+
     @Override
     public String getExtraInfo() {
         return getAcceptHeader();
@@ -116,4 +227,8 @@ public class HttpWork extends Work {
     public void updateUserInformation(HttpServletRequest request) {
 
     }
+
+    private static String joinHeaders(Enumeration<String> headers) {
+        return headers != null && headers.hasMoreElements() ? String.join(",", Collections.list(headers)) : null;
+    }
 }
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+/**
+ * Parses and masks IPv4 and IPv6 addresses by hand, so that untrusted text such as {@code X-Forwarded-For}
+ * is never looked up as a host name, and without regular expressions. IPv4 addresses mapped to IPv6
+ * are returned as IPv4, so that they are counted with the same requests.
+ */
+final class InetAddresses {
+    private static final int IPV4_BYTES = 4;
+    private static final int IPV6_BYTES = 16;
+
+    private InetAddresses() {
+
+    }
+
+    /**
+     * @param text an address, i.e. {@code 192.0.2.1} or {@code 2001:db8::1}
+     * @return the 4 or 16 bytes of the address, null if it is not one
+     */
+    static byte[] parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        if (text.indexOf(':') < 0) {
+            return parseIpv4(text, 0, text.length());
+        }
+        int zone = text.indexOf('%');
+        byte[] address = parseIpv6(text, zone >= 0 ? zone : text.length());
+        return address != null && isIpv4Mapped(address) ? copyOfRange(address, 12) : address;
+    }
+
+    /**
+     * Parses one hop of a forwarded header, which may have a port: {@code 192.0.2.1:8080} or {@code [2001:db8::1]:443}.
+     */
+    static byte[] parseHost(String text) {
+        String host = text.trim();
+        if (host.startsWith("[")) {
+            int end = host.indexOf(']');
+            return end > 0 ? parse(host.substring(1, end)) : null;
+        }
+        int colon = host.indexOf(':');
+        if (colon >= 0 && host.indexOf(':', colon + 1) < 0) {
+            return parse(host.substring(0, colon));
+        }
+        return parse(host);
+    }
+
+    /**
+     * @return the address with every bit after the prefix cleared, and the prefix length, i.e. {@code 192.0.2.0/24}
+     */
+    static String prefix(byte[] address, int bits) {
+        byte[] masked = new byte[address.length];
+        for (int i = 0; i < address.length; i++) {
+            int keep = Math.max(0, Math.min(8, bits - i * 8));
+            masked[i] = (byte) (address[i] & (0xFF00 >> keep));
+        }
+        return format(masked) + "/" + bits;
+    }
+
+    static String format(byte[] address) {
+        StringBuilder builder = new StringBuilder();
+        if (address.length == IPV4_BYTES) {
+            for (int i = 0; i < IPV4_BYTES; i++) {
+                builder.append(i > 0 ? "." : "").append(address[i] & 0xFF);
+            }
+        } else {
+            for (int i = 0; i < IPV6_BYTES; i += 2) {
+                builder.append(i > 0 ? ":" : "").append(Integer.toHexString((address[i] & 0xFF) << 8 | address[i + 1] & 0xFF));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static byte[] parseIpv4(String text, int start, int end) {
+        byte[] address = new byte[IPV4_BYTES];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == IPV4_BYTES - 1) {
+                    return null;
+                }
+                address[part++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + c - '0';
+                digits++;
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || part != IPV4_BYTES - 1) {
+            return null;
+        }
+        address[part] = (byte) value;
+        return address;
+    }
+
+    private static byte[] parseIpv6(String text, int end) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressed = -1;
+        int i = 0;
+        if (text.startsWith("::")) {
+            compressed = 0;
+            i = 2;
+        }
+        while (i < end) {
+            if (count == groups.length) {
+                return null;
+            }
+            int groupEnd = text.indexOf(':', i);
+            if (groupEnd < 0 || groupEnd > end) {
+                groupEnd = end;
+            }
+            if (groupEnd == end && text.lastIndexOf('.', end - 1) >= i) {
+                byte[] ipv4 = parseIpv4(text, i, end);
+                if (ipv4 == null || count > groups.length - 2) {
+                    return null;
+                }
+                groups[count++] = (ipv4[0] & 0xFF) << 8 | ipv4[1] & 0xFF;
+                groups[count++] = (ipv4[2] & 0xFF) << 8 | ipv4[3] & 0xFF;
+                break;
+            }
+            int group = parseHex(text, i, groupEnd);
+            if (group < 0) {
+                return null;
+            }
+            groups[count++] = group;
+            i = groupEnd + 1;
+            if (groupEnd == end) {
+                break;
+            }
+            if (i < end && text.charAt(i) == ':') {
+                if (compressed >= 0) {
+                    return null;
+                }
+                compressed = count;
+                i++;
+            } else if (i >= end) {
+                return null;
+            }
+        }
+        if (compressed < 0 ? count != groups.length : count == groups.length) {
+            return null;
+        }
+
+        byte[] address = new byte[IPV6_BYTES];
+        int gap = groups.length - count;
+        for (int g = 0; g < count; g++) {
+            int position = compressed >= 0 && g >= compressed ? g + gap : g;
+            address[position * 2] = (byte) (groups[g] >> 8);
+            address[position * 2 + 1] = (byte) groups[g];
+        }
+        return address;
+    }
+
+    private static int parseHex(String text, int start, int end) {
+        if (end == start || end - start > 4) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static boolean isIpv4Mapped(byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return address[10] == (byte) 0xFF && address[11] == (byte) 0xFF;
+    }
+
+    private static byte[] copyOfRange(byte[] address, int from) {
+        byte[] copy = new byte[address.length - from];
+        System.arraycopy(address, from, copy, 0, copy.length);
+        return copy;
+    }
+}
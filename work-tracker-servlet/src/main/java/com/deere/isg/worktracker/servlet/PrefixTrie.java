@@ -0,0 +1,88 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A set of address prefixes (CIDR blocks) as a binary trie, one node per bit, with the nodes kept
+ * in arrays of ints rather than objects. Finding whether an address is in any of the prefixes
+ * walks at most one node per bit of the address, however many prefixes there are.
+ * <p>
+ * Not thread safe while prefixes are added; {@link TrustedProxies} adds them all before it is shared.
+ */
+final class PrefixTrie {
+    private static final int NONE = 0;
+
+    private int[] zero = new int[16];
+    private int[] one = new int[16];
+    private final BitSet terminal = new BitSet();
+    private int size = 1;
+
+    /**
+     * @param address the bytes of the address
+     * @param bits    how many of its leading bits are the prefix
+     */
+    void add(byte[] address, int bits) {
+        int node = 0;
+        for (int bit = 0; bit < bits && !terminal.get(node); bit++) {
+            int child = (isSet(address, bit) ? one : zero)[node];
+            if (child == NONE) {
+                child = newNode();
+                (isSet(address, bit) ? one : zero)[node] = child;
+            }
+            node = child;
+        }
+        terminal.set(node);
+    }
+
+    /**
+     * @return true if the address starts with any of the prefixes
+     */
+    boolean contains(byte[] address) {
+        int node = 0;
+        for (int bit = 0; bit < address.length * 8; bit++) {
+            if (terminal.get(node)) {
+                return true;
+            }
+            node = (isSet(address, bit) ? one : zero)[node];
+            if (node == NONE) {
+                return false;
+            }
+        }
+        return terminal.get(node);
+    }
+
+    /**
+     * @return how many nodes the trie holds
+     */
+    int size() {
+        return size;
+    }
+
+    private int newNode() {
+        if (size == zero.length) {
+            zero = Arrays.copyOf(zero, size * 2);
+            one = Arrays.copyOf(one, size * 2);
+        }
+        return size++;
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return (address[bit >> 3] & 0x80 >>> (bit & 7)) != 0;
+    }
+}
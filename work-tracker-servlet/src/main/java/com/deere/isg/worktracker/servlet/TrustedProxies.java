@@ -0,0 +1,155 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.deere.isg.worktracker.StringUtils.isBlank;
+
+/**
+ * The proxies, i.e. load balancers, that are trusted to tell the address of the client in the
+ * {@value HttpWork#FORWARDED_FOR_HEADER} header. Each proxy appends the address it received the request from,
+ * so the client is the last address in the header that is not a trusted proxy, as long as the request itself
+ * came from a trusted proxy. Anything before that address could have been made up by the client.
+ * <p>
+ * Proxies are given as addresses or CIDR blocks, i.e. {@code 10.0.0.0/8} or {@code fd00::/8}, and kept in a
+ * {@link PrefixTrie} for each IP version.
+ */
+public class TrustedProxies {
+    public static final int DEFAULT_IPV4_PREFIX = 24;
+    public static final int DEFAULT_IPV6_PREFIX = 48;
+
+    private final PrefixTrie ipv4 = new PrefixTrie();
+    private final PrefixTrie ipv6 = new PrefixTrie();
+
+    /**
+     * @param proxies addresses or CIDR blocks of the trusted proxies
+     * @throws IllegalArgumentException if one is not an address or CIDR block
+     */
+    public TrustedProxies(String... proxies) {
+        this(Arrays.asList(proxies));
+    }
+
+    /**
+     * @param proxies addresses or CIDR blocks of the trusted proxies
+     * @throws IllegalArgumentException if one is not an address or CIDR block
+     */
+    public TrustedProxies(Collection<String> proxies) {
+        for (String proxy : proxies) {
+            add(proxy.trim());
+        }
+    }
+
+    /**
+     * @param address an address, i.e. the remote address of a request
+     * @return true if it is one of the trusted proxies
+     */
+    public boolean isTrusted(String address) {
+        return isTrusted(InetAddresses.parse(address));
+    }
+
+    /**
+     * @param remoteAddress the address the request came from
+     * @param forwardedFor  the {@value HttpWork#FORWARDED_FOR_HEADER} header, or null
+     * @return the address of the client, the remote address unless it is a trusted proxy
+     */
+    public String clientAddress(String remoteAddress, String forwardedFor) {
+        byte[] client = client(remoteAddress, forwardedFor);
+        return client != null ? InetAddresses.format(client) : remoteAddress;
+    }
+
+    /**
+     * @param remoteAddress the address the request came from
+     * @param forwardedFor  the {@value HttpWork#FORWARDED_FOR_HEADER} header, or null
+     * @param ipv4Prefix    how many leading bits of an IPv4 address make up its block
+     * @param ipv6Prefix    how many leading bits of an IPv6 address make up its block
+     * @return the block of the address of the client, i.e. {@code 198.51.100.0/24},
+     * the remote address if it is not an address
+     */
+    public String clientBlock(String remoteAddress, String forwardedFor, int ipv4Prefix, int ipv6Prefix) {
+        byte[] client = client(remoteAddress, forwardedFor);
+        if (client == null) {
+            return remoteAddress;
+        }
+        return InetAddresses.prefix(client, client.length == 4 ? ipv4Prefix : ipv6Prefix);
+    }
+
+    /**
+     * Walks the header from the end, without splitting it up front, and stops at the first address
+     * that is not a trusted proxy, or at anything that is not an address.
+     *
+     * @return the bytes of the address of the client, null if the remote address is not an address
+     */
+    byte[] client(String remoteAddress, String forwardedFor) {
+        byte[] client = InetAddresses.parse(remoteAddress);
+        if (isBlank(forwardedFor) || !isTrusted(client)) {
+            return client;
+        }
+
+        int end = forwardedFor.length();
+        while (end >= 0) {
+            int start = forwardedFor.lastIndexOf(',', end - 1);
+            byte[] hop = InetAddresses.parseHost(forwardedFor.substring(start + 1, end));
+            if (hop == null) {
+                break;
+            }
+            client = hop;
+            if (!isTrusted(hop)) {
+                break;
+            }
+            end = start;
+        }
+        return client;
+    }
+
+    private boolean isTrusted(byte[] address) {
+        return address != null && (address.length == 4 ? ipv4 : ipv6).contains(address);
+    }
+
+    /**
+     * IPv4 addresses mapped to IPv6 are kept as IPv4, so their prefix loses the 96 bits of the mapping.
+     */
+    private void add(String proxy) {
+        int slash = proxy.indexOf('/');
+        String host = slash >= 0 ? proxy.substring(0, slash) : proxy;
+        byte[] address = InetAddresses.parse(host);
+        int max = address != null ? address.length * 8 : 0;
+        int bits = slash >= 0 ? parseBits(proxy.substring(slash + 1)) : max;
+        if (slash >= 0 && max == 32 && host.indexOf(':') >= 0) {
+            bits -= 96;
+        }
+        if (address == null || bits < 0 || bits > max) {
+            throw new IllegalArgumentException("Not an address or CIDR block: " + proxy);
+        }
+        (address.length == 4 ? ipv4 : ipv6).add(address, bits);
+    }
+
+    private static int parseBits(String text) {
+        if (text.isEmpty() || text.length() > 3) {
+            return -1;
+        }
+        int bits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int digit = Character.digit(text.charAt(i), 10);
+            if (digit < 0) {
+                return -1;
+            }
+            bits = bits * 10 + digit;
+        }
+        return bits;
+    }
+}
@@ -16,7 +16,8 @@
 
 package com.deere.isg.worktracker.servlet;
 
-import com.deere.isg.worktracker.OutstandingWorkFilter;
+import com.deere.isg.worktracker.CostEstimator;
+import com.deere.isg.worktracker.HeavyHitters;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
 import com.deere.isg.worktracker.Work;
 import com.deere.isg.worktracker.ZombieDetector;
@@ -26,16 +27,19 @@ public class WorkConfig<W extends HttpWork> {
     private OutstandingWorkTracker<? extends Work> outstanding;
     private HttpFloodSensor<W> floodSensor;
     private ZombieDetector detector;
+    private HeavyHitters<W> heavyHitters;
 
     private WorkConfig(
             OutstandingWorkTracker<? extends Work> outstanding,
             HttpFloodSensor<W> floodSensor,
             ZombieDetector detector,
-            OutstandingWorkTracker<? extends Work> allOutstanding) {
+            OutstandingWorkTracker<? extends Work> allOutstanding,
+            HeavyHitters<W> heavyHitters) {
         this.outstanding = outstanding;
         this.floodSensor = floodSensor;
         this.detector = detector;
         this.allOutstanding = allOutstanding;
+        this.heavyHitters = heavyHitters;
     }
 
     public OutstandingWorkTracker<? extends Work> getOutstanding() {
@@ -54,12 +58,20 @@ public class WorkConfig<W extends HttpWork> {
         return allOutstanding;
     }
 
+    public HeavyHitters<W> getHeavyHitters() {
+        return heavyHitters;
+    }
+
     public static class Builder<T extends HttpWork> {
         private OutstandingWorkTracker<? extends Work> outstanding;
         private OutstandingWorkTracker<T> filteredOutstanding;
         private OutstandingWorkTracker<? extends Work> zombieOutstanding;
         private HttpFloodSensor<T> floodSensor;
         private ZombieDetector detector;
+        private AdmissionQueue<T> admissionQueue;
+        private HeavyHitters<T> heavyHitters;
+        private CostEstimator<T> costEstimator;
+        private TrustedProxies trustedProxies;
 
         /**
          * Set up Work Tracker with the following behaviors: <ul>
@@ -88,17 +100,31 @@ public class WorkConfig<W extends HttpWork> {
          * </ul>
          *
          * Use this if you want to have visibility to all work including background or async processes along with HTTP.
+         * Use a {@link com.deere.isg.worktracker.PartitionedOutstandingWork} with workClazz registered
+         * so that the flood sensor and zombie detector don't have to look at the other work.
          * @param outstanding
          */
         public Builder(final OutstandingWorkTracker<Work> outstanding, Class<T> workClazz) {
             assert outstanding != null : "Outstanding cannot be null";
             this.outstanding = outstanding;
-            this.filteredOutstanding = new OutstandingWorkFilter<>(outstanding, workClazz);
+            this.filteredOutstanding = outstanding.filterTo(workClazz);
             this.zombieOutstanding = filteredOutstanding;
         }
 
         public WorkConfig<T> build() {
-            return new WorkConfig<T>(filteredOutstanding, floodSensor, detector, outstanding);
+            if (floodSensor != null && admissionQueue != null) {
+                floodSensor.setAdmissionQueue(admissionQueue);
+            }
+            if (floodSensor != null && costEstimator != null) {
+                floodSensor.setCostEstimator(costEstimator);
+            }
+            if (floodSensor != null && trustedProxies != null) {
+                floodSensor.setTrustedProxies(trustedProxies);
+            }
+            if (heavyHitters != null) {
+                filteredOutstanding.addListener(heavyHitters);
+            }
+            return new WorkConfig<T>(filteredOutstanding, floodSensor, detector, outstanding, heavyHitters);
         }
 
         public Builder<T> withHttpFloodSensor() {
@@ -123,6 +149,44 @@ public class WorkConfig<W extends HttpWork> {
             return this;
         }
 
+        /**
+         * Lets requests over a limit of the flood sensor wait for room, see {@link HttpFloodSensor#setAdmissionQueue}
+         */
+        public Builder<T> setAdmissionQueue(final AdmissionQueue<T> admissionQueue) {
+            assert admissionQueue != null : "AdmissionQueue cannot be null";
+            this.admissionQueue = admissionQueue;
+            return this;
+        }
+
+        /**
+         * Makes the limits of the flood sensor budget the cost of the work in flight, see {@link HttpFloodSensor#setCostEstimator}
+         */
+        public Builder<T> setCostEstimator(final CostEstimator<T> costEstimator) {
+            assert costEstimator != null : "CostEstimator cannot be null";
+            this.costEstimator = costEstimator;
+            return this;
+        }
+
+        /**
+         * Tells anonymous clients of the flood sensor apart by address, see {@link HttpFloodSensor#setTrustedProxies}
+         */
+        public Builder<T> setTrustedProxies(final TrustedProxies trustedProxies) {
+            assert trustedProxies != null : "TrustedProxies cannot be null";
+            this.trustedProxies = trustedProxies;
+            return this;
+        }
+
+        /**
+         * Counts the load of every work of type T as it closes, for the outstanding page and
+         * {@link ConnectionLimits.LimitBuilder#penaltyBox}. Nothing is counted if the outstanding work cannot be
+         * listened to.
+         */
+        public Builder<T> setHeavyHitters(final HeavyHitters<T> heavyHitters) {
+            assert heavyHitters != null : "HeavyHitters cannot be null";
+            this.heavyHitters = heavyHitters;
+            return this;
+        }
+
         public Builder<T> setZombieDetector(final ZombieDetector detector) {
             assert detector != null : "Detector cannot be null";
             this.detector = detector;
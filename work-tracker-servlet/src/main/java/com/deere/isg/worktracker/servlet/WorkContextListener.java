@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,9 +13,9 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.worktracker.HeavyHitters;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
 import com.deere.isg.worktracker.Work;
 import com.deere.isg.worktracker.ZombieDetector;
@@ -83,11 +83,13 @@ public class WorkContextListener implements ServletContextListener {
     public static final String ALL_OUTSTANDING_ATTR = "all_"+OUTSTANDING_ATTR;
     public static final String FLOOD_SENSOR_ATTR = "flood_sensor";
     public static final String ZOMBIE_ATTR = "zombie_detector";
+    public static final String HEAVY_HITTERS_ATTR = "heavy_hitters";
 
     private OutstandingWorkTracker<?> outstanding;
     private OutstandingWorkTracker<Work> allOutstanding;
     private HttpFloodSensor<?> floodSensor;
     private ZombieDetector detector;
+    private HeavyHitters<?> heavyHitters;
 
     public WorkContextListener(WorkConfig config) {
         assert config != null : "WorkConfig cannot be null";
@@ -95,6 +97,7 @@ public class WorkContextListener implements ServletContextListener {
         this.allOutstanding = config.getAllOutstanding();
         this.floodSensor = config.getFloodSensor();
         this.detector = config.getDetector();
+        this.heavyHitters = config.getHeavyHitters();
     }
 
     @Override
@@ -104,6 +107,7 @@ public class WorkContextListener implements ServletContextListener {
         servletContext.setAttribute(FLOOD_SENSOR_ATTR, floodSensor);
         servletContext.setAttribute(ZOMBIE_ATTR, detector);
         servletContext.setAttribute(ALL_OUTSTANDING_ATTR, allOutstanding);
+        servletContext.setAttribute(HEAVY_HITTERS_ATTR, heavyHitters);
     }
 
     @Override
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,10 +13,12 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.worktracker.BoundedOutstandingWork;
+import com.deere.isg.worktracker.HeavyHitters;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.SampledOutstandingWork;
 import com.deere.isg.worktracker.Work;
 
 import javax.servlet.ServletConfig;
@@ -28,9 +30,12 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.deere.isg.worktracker.StringUtils.isNotBlank;
 import static com.deere.isg.worktracker.servlet.WorkContextListener.ALL_OUTSTANDING_ATTR;
+import static com.deere.isg.worktracker.servlet.WorkContextListener.HEAVY_HITTERS_ATTR;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -49,14 +54,24 @@ import static java.util.stream.Collectors.toList;
  *  </servlet>
  * }
  * </pre>
+ * When the outstanding work is a {@link BoundedOutstandingWork}, the page also shows its capacity
+ * and how much work overflowed, and templates can read it from the <b>capacity</b> request attribute.
+ * When it is a {@link SampledOutstandingWork}, the page shows how many requests are in flight in total,
+ * and templates can read it from the <b>sampling</b> request attribute.
+ * When the {@link WorkConfig} has {@link HeavyHitters}, the page lists the heaviest users, sessions and so on,
+ * and templates can read them from the <b>heavy_hitters</b> request attribute.
  */
 public class WorkHttpServlet extends HttpServlet {
     public static final String TEMPLATE_PATH = "templatePath";
     public static final String WORK_LIST = "work_list";
+    public static final String CAPACITY = "capacity";
+    public static final String SAMPLING = "sampling";
+    public static final String HEAVY_HITTERS = "heavy_hitters";
 
     private List<WorkSummary<? extends Work>> workSummaries;
     private String templatePath;
     private OutstandingWorkTracker<? extends Work> outstanding;
+    private HeavyHitters<?> heavyHitters;
     private HtmlPage page;
 
     @Override
@@ -72,6 +87,7 @@ public class WorkHttpServlet extends HttpServlet {
         }
 
         outstanding = (OutstandingWorkTracker<? extends Work>) getServletContext().getAttribute(ALL_OUTSTANDING_ATTR);
+        heavyHitters = (HeavyHitters<?>) getServletContext().getAttribute(HEAVY_HITTERS_ATTR);
     }
 
     @Override
@@ -81,11 +97,21 @@ public class WorkHttpServlet extends HttpServlet {
         if (context != null && outstanding != null) {
             workSummaries = mapOutstandingToSummaryList();
             request.setAttribute(WORK_LIST, workSummaries);
+            OutstandingWorkTracker<? extends Work> tracker = getOutstanding();
+            if (tracker instanceof BoundedOutstandingWork) {
+                request.setAttribute(CAPACITY, tracker);
+            }
+            if (tracker instanceof SampledOutstandingWork) {
+                request.setAttribute(SAMPLING, tracker);
+            }
+            if (heavyHitters != null) {
+                request.setAttribute(HEAVY_HITTERS, heavyHitters);
+            }
             if (templatePath != null) {
                 context.getRequestDispatcher(templatePath).forward(request, response);
             } else {
                 try (PrintWriter writer = response.getWriter()) {
-                    writer.write(page.render(workSummaries));
+                    writer.write(page.render(workSummaries, tracker, heavyHitters));
                 }
             }
         }
@@ -121,6 +147,7 @@ public class WorkHttpServlet extends HttpServlet {
                 "table.work-table tr:nth-child(even) { background-color: #eee; }" +
                 "table.work-table tr:nth-child(odd) { background-color: #fff; }" +
                 "table.work-table th { color: white; background-color: #222222; }" +
+                "table.overflow-table, table.heavy-table { width: auto; margin-bottom: 10px; }" +
                 ".red { color: red; }" +
                 "</style>";
 
@@ -148,10 +175,30 @@ public class WorkHttpServlet extends HttpServlet {
         private static final String BODY_END = "</body>" + "</html>";
 
         String render(List<WorkSummary<? extends Work>> workSummaries) {
+            return render(workSummaries, null);
+        }
+
+        String render(List<WorkSummary<? extends Work>> workSummaries, OutstandingWorkTracker<? extends Work> outstanding) {
+            return render(workSummaries, outstanding, null);
+        }
+
+        String render(List<WorkSummary<? extends Work>> workSummaries, OutstandingWorkTracker<? extends Work> outstanding,
+                      HeavyHitters<?> heavyHitters) {
             StringBuilder builder = new StringBuilder();
             builder.append(HEAD)
-                    .append(BODY_START)
-                    .append(TABLE_START);
+                    .append(BODY_START);
+
+            if (outstanding instanceof BoundedOutstandingWork) {
+                appendCapacity(builder, (BoundedOutstandingWork<?>) outstanding);
+            }
+            if (outstanding instanceof SampledOutstandingWork) {
+                appendSampling(builder, (SampledOutstandingWork<?>) outstanding);
+            }
+            if (heavyHitters != null) {
+                appendHeavyHitters(builder, heavyHitters);
+            }
+
+            builder.append(TABLE_START);
 
             if (workSummaries != null) {
                 for (WorkSummary summary : workSummaries) {
@@ -172,6 +219,66 @@ public class WorkHttpServlet extends HttpServlet {
                     .toString();
         }
 
+        private void appendCapacity(StringBuilder builder, BoundedOutstandingWork<?> bounded) {
+            builder.append("<p class=\"capacity\">")
+                    .append("Showing ").append(bounded.getTrackedCount())
+                    .append(" of at most ").append(bounded.getCapacity()).append(" requests. ")
+                    .append("Overflowing now: ").append(bounded.getOverflowingCount())
+                    .append(", overflowed: ").append(bounded.getOverflowCount())
+                    .append(", rejected: ").append(bounded.getRejectedCount())
+                    .append("</p>");
+
+            if (bounded.getOverflowCount() > 0) {
+                builder.append("<table class=\"overflow-table\">")
+                        .append("<tr><th>Counted By</th><th>Value</th><th>Overflowed</th></tr>");
+                for (Map.Entry<String, Map<String, Long>> counter : bounded.getOverflowCounts().entrySet()) {
+                    for (Map.Entry<String, Long> count : counter.getValue().entrySet()) {
+                        builder.append("<tr>")
+                                .append("<td>").append(escape(counter.getKey())).append("</td>")
+                                .append("<td>").append(escape(count.getKey())).append("</td>")
+                                .append("<td>").append(count.getValue()).append("</td>")
+                                .append("</tr>");
+                    }
+                }
+                builder.append(TABLE_END);
+            }
+        }
+
+        private void appendSampling(StringBuilder builder, SampledOutstandingWork<?> sampled) {
+            builder.append("<p class=\"sampling\">")
+                    .append("Showing ").append(sampled.getSampledCount())
+                    .append(" of ").append(sampled.getInFlightCount()).append(" requests in flight, ")
+                    .append("1 in every ").append(sampled.getSampleRate()).append(" is sampled. ")
+                    .append("Promoted because they were slow: ").append(sampled.getPromotedCount())
+                    .append("</p>");
+        }
+
+        private void appendHeavyHitters(StringBuilder builder, HeavyHitters<?> heavyHitters) {
+            builder.append("<p class=\"heavy-hitters\">")
+                    .append("Heaviest over the last ")
+                    .append(TimeUnit.MILLISECONDS.toSeconds(heavyHitters.getWindowMillis())).append(" seconds")
+                    .append("</p>")
+                    .append("<table class=\"heavy-table\">")
+                    .append("<tr><th>Counted By</th><th>Value</th><th>Load (ms)</th></tr>");
+            for (String dimension : heavyHitters.getDimensions()) {
+                for (Map.Entry<String, Long> load : heavyHitters.top(dimension).entrySet()) {
+                    builder.append("<tr>")
+                            .append("<td>").append(escape(dimension)).append("</td>")
+                            .append("<td>").append(escape(load.getKey())).append("</td>")
+                            .append("<td>").append(load.getValue()).append("</td>")
+                            .append("</tr>");
+                }
+            }
+            builder.append(TABLE_END);
+        }
+
+        private String escape(String value) {
+            return value.replace("&", "&amp;")
+                    .replace("<", "&lt;")
+                    .replace(">", "&gt;")
+                    .replace("\"", "&quot;");
+        }
+
         private String isZombie(WorkSummary summary) {
             return summary.isZombie() ? " class='red'" : "";
         }
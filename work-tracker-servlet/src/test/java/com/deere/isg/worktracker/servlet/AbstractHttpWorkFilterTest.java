@@ -17,16 +17,23 @@
 package com.deere.isg.worktracker.servlet;
 
 import com.deere.clock.Clock;
+import com.deere.isg.worktracker.BoundedOutstandingWork;
 import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.OverCapacityException;
+import com.deere.isg.worktracker.SampledOutstandingWork;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.MDC;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
@@ -37,6 +44,7 @@ import java.io.IOException;
 
 import static com.deere.isg.worktracker.servlet.TestWorkUtils.createWork;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -53,12 +61,14 @@ public class AbstractHttpWorkFilterTest {
     private WorkLogger logger;
     private MockHttpWorkFilter filter;
     private OutstandingWork<HttpWork> outstanding;
+    private HttpWork payload;
 
     @Before
     public void setUp() {
         Clock.freeze();
 
         outstanding = new OutstandingWork<>();
+        payload = TEST_WORK;
 
         filter = new MockHttpWorkFilter();
         filter.setLogger(logger);
@@ -144,6 +154,151 @@ public class AbstractHttpWorkFilterTest {
         }
     }
 
+    @Test
+    public void overCapacityRespondsTooManyRequests() throws IOException, ServletException {
+        outstanding = new BoundedOutstandingWork<>(0, true);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, never()).doFilter(any(), any());
+        verify(response).setStatus(HttpFloodSensor.SC_TOO_MANY_REQUESTS);
+        verify(response).setHeader("Retry-After", "1");
+        verify(logger).logEnd(request, response, TEST_WORK);
+        verifyEmptyMDC();
+        assertThat(filter.getPostProcessedData()).isEqualTo(POST_PROCESSED_DATA);
+    }
+
+    @Test
+    public void overCapacityInChainIsNotRejectedByFilter() throws IOException, ServletException {
+        OverCapacityException downstream = new OverCapacityException(1);
+        doThrow(downstream).when(chain).doFilter(request, response);
+
+        assertThatThrownBy(() -> filter.doFilter(request, response, chain)).isSameAs(downstream);
+
+        verify(response, never()).setStatus(HttpFloodSensor.SC_TOO_MANY_REQUESTS);
+        assertThat(outstanding.stream()).isEmpty();
+        verifyEmptyMDC();
+    }
+
+    @Test
+    public void unsampledWorkIsNotLogged() throws IOException, ServletException {
+        useUnsampledWork();
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(logger, never()).logStart(any(), any());
+        verify(logger, never()).logEnd(any(), any(), any());
+        verifyEmptyMDC();
+    }
+
+    @Test
+    public void unsampledWorkWithServerErrorLogsEnd() throws IOException, ServletException {
+        useUnsampledWork();
+        when(response.getStatus()).thenReturn(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+
+        filter.doFilter(request, response, chain);
+
+        verify(logger, never()).logStart(any(), any());
+        verify(logger).logEnd(request, response, payload);
+    }
+
+    @Test
+    public void unsampledWorkWithExceptionLogsEnd() throws IOException, ServletException {
+        useUnsampledWork();
+
+        try {
+            filter.doFilter(request, response, (req, res) -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException e) {
+            verify(logger, never()).logStart(any(), any());
+            verify(logger).logEnd(request, response, payload);
+        }
+    }
+
+    @Test
+    public void asyncWorkStaysOutstandingUntilComplete() throws IOException, ServletException {
+        ArgumentCaptor<AsyncListener> listener = startAsync();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(outstanding.stream()).containsExactly(TEST_WORK);
+        assertThat(TEST_WORK.isAsync()).isTrue();
+        verify(logger, never()).logEnd(any(), any(), any());
+        assertThat(filter.getPostProcessedData()).isEmpty();
+        verifyEmptyMDC();
+
+        listener.getValue().onComplete(null);
+        listener.getValue().onComplete(null);
+
+        assertThat(outstanding.stream()).isEmpty();
+        assertThat(TEST_WORK.isAsync()).isFalse();
+        verify(logger).logEnd(request, response, TEST_WORK);
+        assertThat(filter.getPostProcessedData()).isEqualTo(POST_PROCESSED_DATA);
+    }
+
+    @Test
+    public void unsampledAsyncTimeoutLogsEnd() throws IOException, ServletException {
+        useUnsampledWork();
+        ArgumentCaptor<AsyncListener> listener = startAsync();
+
+        filter.doFilter(request, response, chain);
+        listener.getValue().onTimeout(null);
+        listener.getValue().onComplete(null);
+
+        verify(logger, never()).logStart(any(), any());
+        verify(logger).logEnd(request, response, payload);
+    }
+
+    @Test
+    public void asyncDispatchOnlyContinuesChain() throws IOException, ServletException {
+        when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verifyZeroInteractions(logger);
+        assertThat(outstanding.stream()).isEmpty();
+        assertThat(filter.getPostProcessedData()).isEmpty();
+    }
+
+    @Test
+    public void asyncWorkIsOnlyCurrentDuringItsDispatches() throws IOException, ServletException {
+        ArgumentCaptor<AsyncListener> listener = startAsync();
+        filter.doFilter(request, response, chain);
+        assertThat(outstanding.current()).isEmpty();
+
+        ArgumentCaptor<Object> ticket = ArgumentCaptor.forClass(Object.class);
+        verify(request).setAttribute(eq(AbstractHttpWorkFilter.ASYNC_TICKET_ATTR), ticket.capture());
+        when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+        when(request.getAttribute(AbstractHttpWorkFilter.ASYNC_TICKET_ATTR)).thenReturn(ticket.getValue());
+        filter.doFilter(request, response, (req, res) -> assertThat(outstanding.current()).contains(TEST_WORK));
+        assertThat(outstanding.current()).isEmpty();
+
+        doAnswer(invocation -> assertThat(MDC.get(HttpWork.REQUEST_ID)).isEqualTo(TEST_WORK.getRequestId()))
+                .when(logger).logEnd(request, response, TEST_WORK);
+        listener.getValue().onComplete(null);
+        verify(logger).logEnd(request, response, TEST_WORK);
+        verifyEmptyMDC();
+    }
+
+    private ArgumentCaptor<AsyncListener> startAsync() {
+        AsyncContext context = mock(AsyncContext.class);
+        when(request.isAsyncStarted()).thenReturn(true);
+        when(request.getAsyncContext()).thenReturn(context);
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        doNothing().when(context).addListener(listener.capture());
+        return listener;
+    }
+
+    private void useUnsampledWork() {
+        outstanding = new SampledOutstandingWork<>(2);
+        outstanding.doInTransaction(createWork(), () -> {
+        });
+        payload = createWork();
+    }
+
     private void verifyEmptyMDC() {
         assertThat(MDC.getCopyOfContextMap()).isNull();
     }
@@ -161,7 +316,7 @@ public class AbstractHttpWorkFilterTest {
 
         @Override
         protected HttpWork createWork(ServletRequest request) {
-            return TEST_WORK;
+            return payload;
         }
 
         @Override
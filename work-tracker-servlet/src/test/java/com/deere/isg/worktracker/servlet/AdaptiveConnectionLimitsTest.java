@@ -0,0 +1,71 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.worktracker.AdaptiveLimit;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.OutstandingWorkTracker;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveConnectionLimitsTest {
+
+    @Test
+    public void startsWithDefaultLimitsForInitialLimit() {
+        AdaptiveConnectionLimits<HttpWork> limits = new AdaptiveConnectionLimits<>(60);
+
+        assertThat(limits.getLimit(ConnectionLimits.TOTAL)).isEqualTo(54);
+        assertThat(limits.getLimit(ConnectionLimits.SERVICE)).isEqualTo(36);
+        assertThat(limits.getLimit(ConnectionLimits.USER)).isEqualTo(30);
+        assertThat(limits.getLimit(ConnectionLimits.SESSION)).isEqualTo(24);
+        assertThat(limits.getAdaptiveLimit().getLimit()).isEqualTo(60);
+    }
+
+    @Test
+    public void totalAndServiceFollowAdaptiveLimit() {
+        AdaptiveConnectionLimits<HttpWork> limits = new AdaptiveConnectionLimits<>(new AdaptiveLimit(60, 10, 100));
+        HttpWork work = new HttpWork(null);
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        new HttpFloodSensor<>(outstanding, limits);
+
+        outstanding.create(work).close();
+
+        assertThat(work.isZombie()).isFalse();
+        work.setMaxTime(-1);
+        outstanding.create(work).close();
+
+        assertThat(limits.getAdaptiveLimit().getLimit()).isEqualTo(54);
+        assertThat(limits.getLimit(ConnectionLimits.TOTAL)).isEqualTo(48);
+        assertThat(limits.getLimit(ConnectionLimits.SERVICE)).isEqualTo(32);
+        assertThat(limits.getLimit(ConnectionLimits.USER)).isEqualTo(30);
+        assertThat(limits.getLimit(ConnectionLimits.SESSION)).isEqualTo(24);
+    }
+
+    @Test
+    public void keepsLimitsWhenWorkCannotBeListenedTo() {
+        AdaptiveConnectionLimits<HttpWork> limits = new AdaptiveConnectionLimits<>(60);
+        OutstandingWorkTracker<HttpWork> outstanding = mock(OutstandingWorkTracker.class);
+        when(outstanding.addListener(any())).thenReturn(false);
+
+        limits.watch(outstanding);
+
+        assertThat(limits.getLimit(ConnectionLimits.TOTAL)).isEqualTo(54);
+    }
+}
@@ -0,0 +1,293 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWork;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AdmissionQueueTest {
+    private static final String TOTAL = "total";
+
+    private AdmissionQueue<HttpWork> queue;
+    private ExecutorService executor;
+    private List<String> admitted;
+
+    @Before
+    public void setUp() {
+        queue = new AdmissionQueue<>(3, 10, TimeUnit.SECONDS);
+        executor = Executors.newCachedThreadPool();
+        admitted = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void wakesKeysInTurnAsWorkCloses() throws Exception {
+        Future<Boolean> first = await("a", () -> admitted.add("a1"));
+        Future<Boolean> second = await("a", () -> admitted.add("a2"));
+        Future<Boolean> third = await("b", () -> admitted.add("b1"));
+
+        queue.closed(new HttpWork(null));
+        assertThat(first.get(1, TimeUnit.SECONDS)).isTrue();
+        queue.closed(new HttpWork(null));
+        assertThat(third.get(1, TimeUnit.SECONDS)).isTrue();
+        queue.closed(new HttpWork(null));
+        assertThat(second.get(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted).containsExactly("a1", "b1", "a2");
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getStats().get(TOTAL).getAdmitted()).isEqualTo(3);
+        assertThat(queue.getStats().get(TOTAL).getDepth()).isZero();
+    }
+
+    @Test
+    public void passesTurnOnWhenStillOverLimit() throws Exception {
+        Future<Boolean> stillOver = await("a", () -> false);
+        Future<Boolean> fits = await("b", () -> true);
+
+        queue.closed(new HttpWork(null));
+
+        assertThat(fits.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(stillOver.isDone()).isFalse();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void admitsWorkThatFitsOnceQueued() {
+        assertThat(queue.await(userWork("a"), TOTAL, () -> true)).isTrue();
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getStats().get(TOTAL).getAdmitted()).isEqualTo(1);
+    }
+
+    @Test
+    public void passesTurnOnWhenWokenWhileCheckingOnceQueued() throws Exception {
+        AtomicReference<Future<Boolean>> queuedBehind = new AtomicReference<>();
+
+        assertThat(queue.await(userWork("a"), TOTAL, () -> {
+            try {
+                queuedBehind.set(await("b", () -> true));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            queue.closed(new HttpWork(null));
+            return true;
+        })).isTrue();
+
+        assertThat(queuedBehind.get().get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    public void checksOnceMoreBeforeRejectingAfterMaxWait() {
+        AdmissionQueue<HttpWork> shortQueue = new AdmissionQueue<>(3, 20, TimeUnit.MILLISECONDS);
+        AtomicInteger checks = new AtomicInteger();
+
+        assertThat(shortQueue.await(userWork("a"), TOTAL, () -> checks.incrementAndGet() > 1)).isTrue();
+
+        assertThat(checks).hasValue(2);
+        assertThat(shortQueue.size()).isZero();
+    }
+
+    @Test
+    public void rejectsAfterMaxWait() {
+        AdmissionQueue<HttpWork> shortQueue = new AdmissionQueue<>(3, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(shortQueue.await(userWork("a"), TOTAL, () -> false)).isFalse();
+
+        AdmissionQueue.Stats stats = shortQueue.getStats().get(TOTAL);
+        assertThat(stats.getRejected()).isEqualTo(1);
+        assertThat(stats.getWaitMillis()).isGreaterThanOrEqualTo(19);
+        assertThat(shortQueue.size()).isZero();
+    }
+
+    @Test
+    public void rejectsAtOnceWhenFull() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            await("a", () -> true);
+        }
+
+        assertThat(queue.await(userWork("b"), TOTAL, () -> true)).isFalse();
+        assertThat(queue.getStats().get(TOTAL).getDepth()).isEqualTo(3);
+    }
+
+    @Test
+    public void floodSensorLetsWorkThroughOnceRoomIsMade() throws Exception {
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(1, TOTAL).method(x -> TOTAL);
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(outstanding, limits);
+        sensor.setAdmissionQueue(queue);
+
+        Outstanding<HttpWork>.Ticket running = executor.submit(() -> {
+            Outstanding<HttpWork>.Ticket ticket = outstanding.create(userWork("a"));
+            assertThat(sensor.mayProceedOrRedirectTooManyRequest(mock(HttpServletResponse.class))).isTrue();
+            return ticket;
+        }).get();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        Future<Boolean> waiting = executor.submit(() -> {
+            outstanding.create(userWork("b"));
+            return sensor.mayProceedOrRedirectTooManyRequest(response);
+        });
+        awaitSize(1);
+
+        running.close();
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isTrue();
+        verify(response, never()).setStatus(anyInt());
+        assertThat(sensor.getRejections(Criticality.DEFAULT)).isZero();
+    }
+
+    @Test
+    public void floodSensorRejectsWhenWaitIsOver() {
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(0, TOTAL).method(x -> TOTAL);
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(outstanding, limits);
+        sensor.setAdmissionQueue(new AdmissionQueue<>(3, 10, TimeUnit.MILLISECONDS));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        HttpWork work = userWork("a");
+        outstanding.create(work);
+
+        assertThat(sensor.mayProceedOrRedirectTooManyRequest(response)).isFalse();
+        verify(response).setStatus(HttpFloodSensor.SC_TOO_MANY_REQUESTS);
+        assertThat(sensor.getRejections(Criticality.DEFAULT)).isEqualTo(1);
+        assertThat(work.isRejected()).isTrue();
+    }
+
+    @Test
+    public void floodSensorWaitsOnItsOwnLimitChecks() throws Exception {
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        AtomicBoolean full = new AtomicBoolean(true);
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<HttpWork>(outstanding, null) {
+            @Override
+            protected Stream<Function<HttpWork, Optional<Integer>>> checkLimits() {
+                return Stream.of(work -> full.get() ? Optional.of(3) : Optional.empty());
+            }
+        };
+        sensor.setAdmissionQueue(queue);
+        Future<Boolean> waiting = executor.submit(() -> {
+            outstanding.create(userWork("a"));
+            return sensor.mayProceedOrRedirectTooManyRequest(mock(HttpServletResponse.class));
+        });
+        awaitSize(1);
+
+        full.set(false);
+        queue.closed(new HttpWork(null));
+
+        assertThat(waiting.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void floodSensorRejectsOnItsOwnLimitChecksWhenWaitIsOver() {
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<HttpWork>(outstanding, null) {
+            @Override
+            protected Stream<Function<HttpWork, Optional<Integer>>> checkLimits() {
+                return Stream.of(work -> Optional.of(3));
+            }
+        };
+        sensor.setAdmissionQueue(new AdmissionQueue<>(3, 10, TimeUnit.MILLISECONDS));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        outstanding.create(userWork("a"));
+
+        assertThat(sensor.mayProceedOrRedirectTooManyRequest(response)).isFalse();
+        verify(response).setHeader("Retry-After", "3");
+    }
+
+    @Test
+    public void anonymousClientsAreToldApartByAddressBehindTrustedProxies() {
+        HttpWork work = new HttpWork(null);
+        work.setRemoteAddress("10.0.0.1");
+        work.setForwardedFor("198.51.100.7");
+        TrustedProxies proxies = new TrustedProxies("10.0.0.0/8");
+
+        assertThat(AdmissionQueue.clientOf(work, null)).isEqualTo("10.0.0.1");
+        assertThat(AdmissionQueue.clientOf(work, proxies)).isEqualTo("198.51.100.7");
+        work.setSessionId("session");
+        assertThat(AdmissionQueue.clientOf(work, proxies)).isEqualTo("session");
+    }
+
+    @Test
+    public void floodSensorOnlyTellsAnonymousClientsApartBehindTrustedProxies() {
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(new OutstandingWork<>(), new ConnectionLimits<>(false));
+        HttpWork work = new HttpWork(null);
+        work.setRemoteAddress("10.0.0.1");
+        work.setForwardedFor("198.51.100.7");
+
+        assertThat(sensor.clientOf(work)).isNull();
+        sensor.setTrustedProxies(new TrustedProxies("10.0.0.0/8"));
+        assertThat(sensor.clientOf(work)).isEqualTo("198.51.100.7");
+        work.setRemoteUser("user");
+        assertThat(sensor.clientOf(work)).isEqualTo("user");
+    }
+
+    /**
+     * Waits in the queue until woken: the check right after it is queued does not fit yet.
+     */
+    private Future<Boolean> await(String user, BooleanSupplier mayProceed) throws InterruptedException {
+        int size = queue.size();
+        AtomicInteger checks = new AtomicInteger();
+        Future<Boolean> result = executor.submit(() -> queue.await(userWork(user), TOTAL,
+                () -> checks.incrementAndGet() > 1 && mayProceed.getAsBoolean()));
+        awaitSize(size + 1);
+        return result;
+    }
+
+    private void awaitSize(int size) throws InterruptedException {
+        for (int i = 0; i < 1000 && queue.size() < size; i++) {
+            Thread.sleep(5);
+        }
+        assertThat(queue.size()).isEqualTo(size);
+    }
+
+    private HttpWork userWork(String user) {
+        HttpWork work = new HttpWork(null);
+        work.setRemoteUser(user);
+        return work;
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,16 +13,18 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
 import com.deere.isg.worktracker.FloodSensor;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.RateLimiter;
 import org.assertj.core.api.Condition;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -231,6 +233,117 @@ public class ConnectionLimitsTest {
     }
 
 
+    @Test
+    public void canSupplyRateLimiter() {
+        HttpFloodSensor<HttpWork> sensor = mock(HttpFloodSensor.class);
+        RateLimiter limiter = mock(RateLimiter.class);
+        HttpWork incoming = new HttpWork(null);
+        Function<HttpWork, String> expectedMethod = HttpWork::getRemoteUser;
+        Optional<Integer> expectedResult = Optional.of(3);
+        when(sensor.shouldRetryLater(eq(incoming), eq(limiter), eq(expectedMethod), eq(2), eq(USER_TYPE), eq(USER_MESSAGE)))
+                .thenReturn(expectedResult);
+
+        connectionLimits.addConnectionLimit(2, USER_TYPE).rate(limiter, expectedMethod);
+        Optional<Integer> result = connectionLimits.getConnectionLimit(USER_TYPE).shouldRetryLater(sensor, incoming);
+
+        assertThat(result).isEqualTo(expectedResult);
+    }
+
+    @Test
+    public void tokenBucketLimitsBurstsPerValue() {
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(2, USER_TYPE).tokenBucket(1, HttpWork::getRemoteUser);
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(new OutstandingWork<>(), limits);
+
+        assertThat(sensor.shouldRetryLater(userWork("user1"))).isEmpty();
+        assertThat(sensor.shouldRetryLater(userWork("user1"))).isEmpty();
+        assertThat(sensor.shouldRetryLater(userWork("user1"))).contains(1);
+        assertThat(sensor.shouldRetryLater(userWork("user2"))).isEmpty();
+    }
+
+    @Test
+    public void slidingWindowLimitsRequestsPerWindow() {
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(1, USER_TYPE).slidingWindow(1, TimeUnit.HOURS, HttpWork::getRemoteUser);
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(new OutstandingWork<>(), limits);
+
+        assertThat(sensor.shouldRetryLater(userWork("user1"))).isEmpty();
+        assertThat(sensor.shouldRetryLater(userWork("user1")).get()).isGreaterThan(3500);
+
+        limits.updateLimit(2, USER_TYPE);
+        assertThat(sensor.shouldRetryLater(userWork("user1"))).isEmpty();
+    }
+
+    @Test
+    public void byCriticalityKeepsTopOfLimitForCriticalWork() {
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(5, ConnectionLimits.CRITICALITY).byCriticality();
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(outstanding, limits);
+        for (int i = 0; i < 3; i++) {
+            outstanding.create(new HttpWork(null));
+        }
+
+        assertThat(sensor.shouldRetryLater(criticalWork(outstanding, Criticality.SHEDDABLE))).isPresent();
+        assertThat(sensor.shouldRetryLater(criticalWork(outstanding, Criticality.CRITICAL))).isEmpty();
+        assertThat(sensor.getRejections(Criticality.SHEDDABLE)).isEqualTo(1);
+        assertThat(sensor.getRejections(Criticality.CRITICAL)).isZero();
+    }
+
+    @Test
+    public void penaltyBoxRejectsHeavyValues() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>();
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(0, ConnectionLimits.PENALTY_BOX).penaltyBox(hitters, ConnectionLimits.USER);
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(new OutstandingWork<>(), limits);
+
+        hitters.closed(userWork("user1"));
+
+        assertThat(sensor.shouldRetryLater(userWork("user1")).get()).isBetween(1, 60);
+        assertThat(sensor.shouldRetryLater(userWork("user2"))).isEmpty();
+    }
+
+    @Test
+    public void addressLimitCountsForwardedClientsByBlock() {
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(2, ConnectionLimits.ADDRESS).byAddress(new TrustedProxies("10.0.0.0/8"));
+        HttpFloodSensor<HttpWork> sensor = new HttpFloodSensor<>(outstanding, limits);
+
+        addressWork(outstanding, "10.0.0.1", "198.51.100.1");
+        addressWork(outstanding, "10.0.0.2", "198.51.100.2");
+
+        assertThat(sensor.shouldRetryLater(addressWork(outstanding, "10.0.0.1", "198.51.100.3"))).isPresent();
+        assertThat(sensor.shouldRetryLater(addressWork(outstanding, "10.0.0.1", "198.51.101.1"))).isEmpty();
+        assertThat(sensor.shouldRetryLater(addressWork(outstanding, "198.51.100.4", null))).isPresent();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addressPrefixMustFitAddress() {
+        connectionLimits.addConnectionLimit(2, ConnectionLimits.ADDRESS).byAddress(new TrustedProxies(), 33, 48);
+    }
+
+    private HttpWork addressWork(OutstandingWork<HttpWork> outstanding, String remoteAddress, String forwardedFor) {
+        HttpWork work = new HttpWork(null);
+        work.setRemoteAddress(remoteAddress);
+        work.setForwardedFor(forwardedFor);
+        outstanding.create(work);
+        return work;
+    }
+
+    private HttpWork criticalWork(OutstandingWork<HttpWork> outstanding, Criticality criticality) {
+        HttpWork work = new HttpWork(null);
+        work.setCriticality(criticality);
+        outstanding.create(work);
+        return work;
+    }
+
+    private HttpWork userWork(String user) {
+        HttpWork work = new HttpWork(null);
+        work.setRemoteUser(user);
+        return work;
+    }
+
     private void assertAdvanced(HttpFloodSensor<HttpWork> sensor, HttpWork incoming, Optional<Integer> expectedResult) {
         when(sensor.logFloodDetected(any(), any())).thenAnswer(a->a.getArgument(1));
 
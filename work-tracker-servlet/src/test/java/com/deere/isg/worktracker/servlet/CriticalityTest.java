@@ -0,0 +1,43 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CriticalityTest {
+
+    @Test
+    public void parsesNamesInAnyCase() {
+        assertThat(Criticality.parse("CRITICAL", null)).isEqualTo(Criticality.CRITICAL);
+        assertThat(Criticality.parse(" Sheddable", null)).isEqualTo(Criticality.SHEDDABLE);
+    }
+
+    @Test
+    public void parseFallsBackForUnknownValues() {
+        assertThat(Criticality.parse(null, Criticality.DEFAULT)).isEqualTo(Criticality.DEFAULT);
+        assertThat(Criticality.parse("", Criticality.DEFAULT)).isEqualTo(Criticality.DEFAULT);
+        assertThat(Criticality.parse("urgent", null)).isNull();
+    }
+
+    @Test
+    public void moreCriticalRequestsGetMoreOfTheLimit() {
+        assertThat(Criticality.CRITICAL.getShare()).isEqualTo(1.0);
+        assertThat(Criticality.DEFAULT.getShare()).isLessThan(Criticality.CRITICAL.getShare());
+        assertThat(Criticality.SHEDDABLE.getShare()).isLessThan(Criticality.DEFAULT.getShare());
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,6 +87,17 @@ public class HttpFloodSensorTest {
         assertThat(floodSensor.mayProceedOrRedirectTooManyRequest(response)).isFalse();
     }
 
+    @Test
+    public void shouldRetryLaterChecksGivenWork() {
+        when(outstanding.stream()).thenAnswer(invocation -> createWorkList(limit.getLimit(TOTAL) + 1).stream());
+
+        HttpWork work = new HttpWork(null);
+
+        assertThat(floodSensor.shouldRetryLater(work)).isPresent();
+        assertThat(work.isRejected()).isTrue();
+        verify(outstanding, never()).current();
+    }
+
     @Test
     public void canProceedIfUnderTooManyTotalLimit() {
         setCurrentStream(new HttpWork(null), createWorkList(limit.getConnectionLimit(ConnectionLimits.TOTAL).getLimit() - 1));
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import com.deere.isg.worktracker.OutstandingWork;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpHeavyHittersTest {
+    @Test
+    public void tracksUserSessionAddressAndService() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>();
+
+        assertThat(hitters.getDimensions()).containsExactly(
+                ConnectionLimits.USER, ConnectionLimits.SESSION, HttpHeavyHitters.REMOTE_ADDRESS, ConnectionLimits.SERVICE);
+        assertThat(hitters.getWindowMillis()).isEqualTo(TimeUnit.MINUTES.toMillis(5));
+    }
+
+    @Test
+    public void countsClosedRequestsInEveryDimension() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>(3, 1, TimeUnit.MINUTES);
+        OutstandingWork<HttpWork> outstanding = new OutstandingWork<>();
+        outstanding.addListener(hitters);
+        HttpWork work = new HttpWork(null);
+        work.setRemoteUser("user");
+        work.setSessionId("session");
+        work.setRemoteAddress("address");
+        work.setService("GET /path");
+
+        outstanding.create(work).close();
+
+        assertThat(hitters.top(ConnectionLimits.USER)).containsOnlyKeys("user");
+        assertThat(hitters.top(ConnectionLimits.SESSION)).containsOnlyKeys("session");
+        assertThat(hitters.top(HttpHeavyHitters.REMOTE_ADDRESS)).containsOnlyKeys("address");
+        assertThat(hitters.top(ConnectionLimits.SERVICE)).containsOnlyKeys("GET /path");
+    }
+}
@@ -23,14 +23,22 @@ import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.MDC;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.regex.Pattern;
 
 import static com.deere.isg.worktracker.servlet.HttpWork.*;
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HttpWorkTest {
@@ -57,6 +65,7 @@ public class HttpWorkTest {
     @After
     public void tearDown() {
         Clock.clear();
+        HttpWork.setCriticalityProxies(null);
     }
 
     @Test
@@ -66,6 +75,90 @@ public class HttpWorkTest {
         assertThat(work.getMetadata()).contains(keyValue(PATH, PATH_VALUE));
     }
 
+    @Test
+    public void killCompletesAsyncContextWithGatewayTimeout() {
+        AsyncContext context = mock(AsyncContext.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(context.getResponse()).thenReturn(response);
+        work.setAsyncContext(context);
+
+        work.kill();
+
+        assertThat(work.isAsync()).isTrue();
+        assertThat(Thread.interrupted()).isFalse();
+        verify(response).setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+        verify(context).complete();
+    }
+
+    @Test
+    public void killIgnoresAlreadyCompletedAsyncContext() {
+        AsyncContext context = mock(AsyncContext.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(context.getResponse()).thenReturn(response);
+        when(response.isCommitted()).thenReturn(true);
+        doThrow(new IllegalStateException()).when(context).complete();
+        work.setAsyncContext(context);
+
+        work.kill();
+
+        verify(response, never()).setStatus(anyInt());
+    }
+
+    @Test
+    public void killInterruptsThreadIfNotAsync() {
+        work.kill();
+
+        assertThat(work.isAsync()).isFalse();
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    public void criticalityComesFromHeader() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader(CRITICALITY_HEADER)).thenReturn(" sheddable ");
+
+        HttpWork classified = new HttpWork(request);
+
+        assertThat(classified.getCriticality()).isEqualTo(Criticality.SHEDDABLE);
+        assertThat(classified.getMetadata()).contains(keyValue(CRITICALITY, "sheddable"));
+    }
+
+    @Test
+    public void criticalityHeaderOnlyRaisesCriticalityFromTrustedProxies() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.1");
+        when(request.getHeader(CRITICALITY_HEADER)).thenReturn("critical");
+
+        assertThat(new HttpWork(request).getCriticality()).isEqualTo(Criticality.DEFAULT);
+
+        HttpWork.setCriticalityProxies(new TrustedProxies("192.168.0.0/16"));
+        assertThat(new HttpWork(request).getCriticality()).isEqualTo(Criticality.DEFAULT);
+
+        HttpWork.setCriticalityProxies(new TrustedProxies("10.0.0.0/8"));
+        assertThat(new HttpWork(request).getCriticality()).isEqualTo(Criticality.CRITICAL);
+    }
+
+    @Test
+    public void forwardedForJoinsRepeatedHeaders() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeaders(FORWARDED_FOR_HEADER))
+                .thenReturn(Collections.enumeration(Arrays.asList("198.51.100.7, 10.0.0.2", "10.0.0.1")));
+
+        HttpWork forwarded = new HttpWork(request);
+
+        assertThat(forwarded.getForwardedFor()).isEqualTo("198.51.100.7, 10.0.0.2,10.0.0.1");
+        assertThat(work.getForwardedFor()).isNull();
+    }
+
+    @Test
+    public void criticalityIsDefaultUnlessSet() {
+        assertThat(work.getCriticality()).isEqualTo(Criticality.DEFAULT);
+        assertThat(work.getMetadata()).extracting(Object::toString).noneMatch(arg -> arg.startsWith(CRITICALITY));
+
+        work.setCriticality(Criticality.CRITICAL);
+        assertThat(work.getCriticality()).isEqualTo(Criticality.CRITICAL);
+    }
+
     @Test
     public void valuesAddedInMDC() {
         work.setRemoteAddress(REMOTE_ADDRESS_VALUE);
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InetAddressesTest {
+    @Test
+    public void parsesIpv4() {
+        assertThat(InetAddresses.parse("192.0.2.255")).containsExactly(192, 0, 2, 255);
+        assertThat(InetAddresses.parse("0.0.0.0")).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    public void rejectsMalformedIpv4() {
+        assertThat(InetAddresses.parse("192.0.2")).isNull();
+        assertThat(InetAddresses.parse("192.0.2.256")).isNull();
+        assertThat(InetAddresses.parse("192.0..1")).isNull();
+        assertThat(InetAddresses.parse("192.0.2.1.")).isNull();
+        assertThat(InetAddresses.parse("1.2.3.0001")).isNull();
+        assertThat(InetAddresses.parse("localhost")).isNull();
+        assertThat(InetAddresses.parse("")).isNull();
+        assertThat(InetAddresses.parse(null)).isNull();
+    }
+
+    @Test
+    public void parsesIpv6() {
+        assertThat(InetAddresses.format(InetAddresses.parse("2001:db8::1"))).isEqualTo("2001:db8:0:0:0:0:0:1");
+        assertThat(InetAddresses.format(InetAddresses.parse("::"))).isEqualTo("0:0:0:0:0:0:0:0");
+        assertThat(InetAddresses.format(InetAddresses.parse("::1"))).isEqualTo("0:0:0:0:0:0:0:1");
+        assertThat(InetAddresses.format(InetAddresses.parse("fe80::"))).isEqualTo("fe80:0:0:0:0:0:0:0");
+        assertThat(InetAddresses.format(InetAddresses.parse("1:2:3:4:5:6:7:8"))).isEqualTo("1:2:3:4:5:6:7:8");
+        assertThat(InetAddresses.format(InetAddresses.parse("fe80::1%eth0"))).isEqualTo("fe80:0:0:0:0:0:0:1");
+        assertThat(InetAddresses.format(InetAddresses.parse("64:ff9b::192.0.2.1"))).isEqualTo("64:ff9b:0:0:0:0:c000:201");
+    }
+
+    @Test
+    public void ipv4MappedToIpv6IsIpv4() {
+        assertThat(InetAddresses.parse("::ffff:192.0.2.1")).containsExactly(192, 0, 2, 1);
+        assertThat(InetAddresses.parse("::ffff:c000:201")).containsExactly(192, 0, 2, 1);
+    }
+
+    @Test
+    public void rejectsMalformedIpv6() {
+        assertThat(InetAddresses.parse("1::2::3")).isNull();
+        assertThat(InetAddresses.parse(":1")).isNull();
+        assertThat(InetAddresses.parse("1:")).isNull();
+        assertThat(InetAddresses.parse("1:::2")).isNull();
+        assertThat(InetAddresses.parse("1:2:3:4:5:6:7")).isNull();
+        assertThat(InetAddresses.parse("1:2:3:4:5:6:7:8:9")).isNull();
+        assertThat(InetAddresses.parse("1:2:3:4::5:6:7:8")).isNull();
+        assertThat(InetAddresses.parse("12345::")).isNull();
+        assertThat(InetAddresses.parse("g::")).isNull();
+        assertThat(InetAddresses.parse("::1.2.3")).isNull();
+    }
+
+    @Test
+    public void parsesHostWithPort() {
+        assertThat(InetAddresses.parseHost(" 192.0.2.1:8080 ")).containsExactly(192, 0, 2, 1);
+        assertThat(InetAddresses.format(InetAddresses.parseHost("[2001:db8::1]:443"))).isEqualTo("2001:db8:0:0:0:0:0:1");
+        assertThat(InetAddresses.format(InetAddresses.parseHost("2001:db8::1"))).isEqualTo("2001:db8:0:0:0:0:0:1");
+        assertThat(InetAddresses.parseHost("unknown")).isNull();
+        assertThat(InetAddresses.parseHost("[2001:db8::1")).isNull();
+    }
+
+    @Test
+    public void prefixClearsBitsAfterIt() {
+        assertThat(InetAddresses.prefix(InetAddresses.parse("192.0.2.129"), 24)).isEqualTo("192.0.2.0/24");
+        assertThat(InetAddresses.prefix(InetAddresses.parse("192.0.2.129"), 25)).isEqualTo("192.0.2.128/25");
+        assertThat(InetAddresses.prefix(InetAddresses.parse("192.0.2.129"), 0)).isEqualTo("0.0.0.0/0");
+        assertThat(InetAddresses.prefix(InetAddresses.parse("2001:db8:abcd:1234::1"), 48)).isEqualTo("2001:db8:abcd:0:0:0:0:0/48");
+    }
+}
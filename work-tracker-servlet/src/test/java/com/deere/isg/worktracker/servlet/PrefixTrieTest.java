@@ -0,0 +1,67 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixTrieTest {
+    @Test
+    public void containsAddressesUnderAnyPrefix() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add(InetAddresses.parse("10.0.0.0"), 8);
+        trie.add(InetAddresses.parse("192.168.1.7"), 32);
+
+        assertThat(trie.contains(InetAddresses.parse("10.255.3.4"))).isTrue();
+        assertThat(trie.contains(InetAddresses.parse("192.168.1.7"))).isTrue();
+        assertThat(trie.contains(InetAddresses.parse("192.168.1.8"))).isFalse();
+        assertThat(trie.contains(InetAddresses.parse("11.0.0.0"))).isFalse();
+    }
+
+    @Test
+    public void zeroLengthPrefixContainsEverything() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add(InetAddresses.parse("0.0.0.0"), 0);
+
+        assertThat(trie.contains(InetAddresses.parse("203.0.113.1"))).isTrue();
+    }
+
+    @Test
+    public void shorterPrefixCoversLongerOnes() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add(InetAddresses.parse("10.1.2.0"), 24);
+        trie.add(InetAddresses.parse("10.0.0.0"), 8);
+        int size = trie.size();
+        trie.add(InetAddresses.parse("10.3.0.0"), 16);
+
+        assertThat(trie.size()).isEqualTo(size);
+        assertThat(trie.contains(InetAddresses.parse("10.9.9.9"))).isTrue();
+    }
+
+    @Test
+    public void growsForManyPrefixes() {
+        PrefixTrie trie = new PrefixTrie();
+        for (int i = 0; i < 256; i++) {
+            trie.add(new byte[]{(byte) 172, 16, (byte) i, 0}, 24);
+        }
+
+        for (int i = 0; i < 256; i++) {
+            assertThat(trie.contains(new byte[]{(byte) 172, 16, (byte) i, 9})).isTrue();
+        }
+        assertThat(trie.contains(new byte[]{(byte) 172, 17, 0, 9})).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.servlet;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TrustedProxiesTest {
+    private static final String PROXY = "10.0.0.1";
+    private static final String CLIENT = "198.51.100.7";
+
+    private final TrustedProxies proxies = new TrustedProxies("10.0.0.0/8", "fd00::/8", " 192.168.1.7 ");
+
+    @Test
+    public void trustsAddressesInAnyBlock() {
+        assertThat(proxies.isTrusted(PROXY)).isTrue();
+        assertThat(proxies.isTrusted("192.168.1.7")).isTrue();
+        assertThat(proxies.isTrusted("fd12::1")).isTrue();
+        assertThat(proxies.isTrusted("::ffff:10.1.1.1")).isTrue();
+        assertThat(proxies.isTrusted(CLIENT)).isFalse();
+        assertThat(proxies.isTrusted("proxy.example.com")).isFalse();
+    }
+
+    @Test
+    public void clientIsLastUntrustedForwardedAddress() {
+        assertThat(proxies.clientAddress(PROXY, "203.0.113.9, " + CLIENT + ", 10.0.0.2")).isEqualTo(CLIENT);
+        assertThat(proxies.clientAddress(PROXY, CLIENT + ":5555")).isEqualTo(CLIENT);
+        assertThat(proxies.clientAddress(PROXY, "[2001:db8::1]:443")).isEqualTo("2001:db8:0:0:0:0:0:1");
+    }
+
+    @Test
+    public void clientBlockMasksClientAddress() {
+        assertThat(proxies.clientBlock(PROXY, CLIENT, 24, 48)).isEqualTo("198.51.100.0/24");
+        assertThat(proxies.clientBlock(PROXY, "2001:db8:1:2::1", 24, 48)).isEqualTo("2001:db8:1:0:0:0:0:0/48");
+        assertThat(proxies.clientBlock("unknown", CLIENT, 24, 48)).isEqualTo("unknown");
+    }
+
+    @Test
+    public void forwardedForIsIgnoredFromUntrustedRemote() {
+        assertThat(proxies.clientAddress(CLIENT, "203.0.113.9")).isEqualTo(CLIENT);
+        assertThat(proxies.clientAddress(PROXY, null)).isEqualTo(PROXY);
+        assertThat(proxies.clientAddress(PROXY, " ")).isEqualTo(PROXY);
+    }
+
+    @Test
+    public void walkStopsAtAnythingNotAnAddress() {
+        assertThat(proxies.clientAddress(PROXY, CLIENT + ", unknown, 10.0.0.2")).isEqualTo("10.0.0.2");
+        assertThat(proxies.clientAddress(PROXY, CLIENT + ",")).isEqualTo(PROXY);
+    }
+
+    @Test
+    public void clientIsFirstAddressIfEveryHopIsTrusted() {
+        assertThat(proxies.clientAddress(PROXY, "10.0.0.3, 10.0.0.2")).isEqualTo("10.0.0.3");
+    }
+
+    @Test
+    public void rejectsWhatIsNotAnAddressOrBlock() {
+        assertThatThrownBy(() -> new TrustedProxies("proxy.example.com")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrustedProxies("10.0.0.0/33")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrustedProxies("10.0.0.0/")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrustedProxies("10.0.0.0/x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TrustedProxies("::ffff:10.0.0.0/8")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new TrustedProxies("::ffff:10.0.0.0/104").isTrusted("10.9.9.9")).isTrue();
+    }
+}
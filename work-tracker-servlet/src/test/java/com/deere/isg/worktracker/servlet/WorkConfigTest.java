@@ -16,6 +16,7 @@
 
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.worktracker.CostEstimator;
 import com.deere.isg.worktracker.OutstandingWork;
 import com.deere.isg.worktracker.Work;
 import com.deere.isg.worktracker.ZombieDetector;
@@ -23,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -182,6 +184,67 @@ public class WorkConfigTest {
         assertThat(config.getFloodSensor().getConnectionLimit(ConnectionLimits.TOTAL).getLimit()).isEqualTo(newTotalLimit);
     }
 
+    @Test
+    public void admissionQueueIsGivenToFloodSensor() {
+        AdmissionQueue<HttpWork> queue = new AdmissionQueue<>(10, 1, TimeUnit.SECONDS);
+
+        WorkConfig<HttpWork> config = new WorkConfig.Builder<>(outstanding)
+                .setAdmissionQueue(queue)
+                .withHttpFloodSensor()
+                .build();
+
+        assertThat(config.getFloodSensor().getAdmissionQueue()).isSameAs(queue);
+    }
+
+    @Test
+    public void trustedProxiesAreGivenToFloodSensor() {
+        TrustedProxies proxies = new TrustedProxies("10.0.0.0/8");
+
+        WorkConfig<HttpWork> config = new WorkConfig.Builder<>(outstanding)
+                .setTrustedProxies(proxies)
+                .withHttpFloodSensor()
+                .build();
+
+        assertThat(config.getFloodSensor().getTrustedProxies()).isSameAs(proxies);
+    }
+
+    @Test
+    public void costEstimatorMakesFloodSensorBudgetCost() {
+        CostEstimator<HttpWork> costs = new CostEstimator<>(HttpWork::getService);
+        ConnectionLimits<HttpWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(2, ConnectionLimits.USER).method(HttpWork::getRemoteUser);
+        HttpWork report = new HttpWork(null);
+        report.setRemoteUser("user");
+        report.setCost(2);
+        HttpWork incoming = new HttpWork(null);
+        incoming.setRemoteUser("user");
+
+        WorkConfig<HttpWork> config = new WorkConfig.Builder<>(outstanding)
+                .setCostEstimator(costs)
+                .setHttpFloodSensorWithLimit(limits)
+                .build();
+        outstanding.create(report);
+        outstanding.create(incoming);
+
+        assertThat(config.getFloodSensor().getCostEstimator()).isSameAs(costs);
+        assertThat(config.getFloodSensor().shouldRetryLater(incoming)).isPresent();
+    }
+
+    @Test
+    public void heavyHittersCountClosedWork() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>();
+        HttpWork work = new HttpWork(null);
+        work.setRemoteUser("user");
+
+        WorkConfig<HttpWork> config = new WorkConfig.Builder<>(outstanding)
+                .setHeavyHitters(hitters)
+                .build();
+        outstanding.create(work).close();
+
+        assertThat(config.getHeavyHitters()).isSameAs(hitters);
+        assertThat(hitters.top(ConnectionLimits.USER)).containsOnlyKeys("user");
+    }
+
     @Test
     public void allOutstandingIsFiltered() {
         WorkConfig<HttpWork> config = new WorkConfig.Builder<>(allOutstanding, HttpWork.class)
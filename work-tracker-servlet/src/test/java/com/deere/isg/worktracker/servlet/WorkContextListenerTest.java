@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
 import com.deere.isg.worktracker.OutstandingWork;
@@ -71,6 +70,18 @@ public class WorkContextListenerTest {
         verify(context).setAttribute(ALL_OUTSTANDING_ATTR, outstanding);
     }
 
+    @Test
+    public void addsHeavyHittersToContext() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>();
+        WorkConfig<HttpWork> config = new WorkConfig.Builder<>(outstanding)
+                .setHeavyHitters(hitters)
+                .build();
+
+        new WorkContextListener(config).contextInitialized(contextEvent);
+
+        verify(context).setAttribute(HEAVY_HITTERS_ATTR, hitters);
+    }
+
     @Test
     public void zombieDetectorIsClosed() {
         workContextListener.contextDestroyed(contextEvent);
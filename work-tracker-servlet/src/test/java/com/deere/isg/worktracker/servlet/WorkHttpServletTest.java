@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,10 +13,11 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.servlet;
 
+import com.deere.isg.worktracker.BoundedOutstandingWork;
 import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.SampledOutstandingWork;
 import com.deere.isg.worktracker.Work;
 import org.junit.Before;
 import org.junit.Test;
@@ -39,8 +40,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.deere.isg.worktracker.servlet.TestWorkUtils.createWork;
 import static com.deere.isg.worktracker.servlet.TestWorkUtils.createWorkList;
 import static com.deere.isg.worktracker.servlet.WorkContextListener.ALL_OUTSTANDING_ATTR;
+import static com.deere.isg.worktracker.servlet.WorkHttpServlet.CAPACITY;
 import static com.deere.isg.worktracker.servlet.WorkHttpServlet.TEMPLATE_PATH;
 import static com.deere.isg.worktracker.servlet.WorkHttpServlet.WORK_LIST;
 
@@ -225,6 +228,66 @@ public class WorkHttpServletTest {
         assertThat(html).doesNotContain("class='red'");
     }
 
+    @Test
+    public void boundedOutstandingAddsCapacityToRequest() throws ServletException, IOException {
+        BoundedOutstandingWork<HttpWork> bounded = new BoundedOutstandingWork<>(5);
+        when(config.getServletContext().getAttribute(ALL_OUTSTANDING_ATTR)).thenReturn(bounded);
+        when(config.getInitParameter(TEMPLATE_PATH)).thenReturn(TEST_PATH);
+        servlet.init(config);
+        when(config.getServletContext().getRequestDispatcher(TEST_PATH)).thenReturn(mock(RequestDispatcher.class));
+
+        servlet.doGet(request, response);
+
+        verify(request).setAttribute(CAPACITY, bounded);
+    }
+
+    @Test
+    public void unboundedOutstandingHasNoCapacity() throws ServletException, IOException {
+        initPath(TEST_PATH);
+
+        servlet.doGet(request, response);
+
+        verify(request, never()).setAttribute(eq(CAPACITY), any());
+        assertThat(PAGE.render(WORK_SUMMARIES)).doesNotContain("class=\"capacity\"");
+    }
+
+    @Test
+    public void htmlShowsCapacityAndOverflowCounts() {
+        BoundedOutstandingWork<HttpWork> bounded = new BoundedOutstandingWork<HttpWork>(0)
+                .countOverflowBy("user", work -> "<user>");
+        bounded.create(createWork()).close();
+
+        String html = PAGE.render(WORK_SUMMARIES, bounded);
+
+        assertThat(html).contains("Showing 0 of at most 0 requests. Overflowing now: 0, overflowed: 1, rejected: 0");
+        assertThat(html).contains("<tr><td>user</td><td>&lt;user&gt;</td><td>1</td></tr>");
+        assertThat(html).doesNotContain("<user>");
+    }
+
+    @Test
+    public void htmlShowsSampledAndInFlightCounts() {
+        SampledOutstandingWork<HttpWork> sampled = new SampledOutstandingWork<>(2);
+        sampled.doInTransaction(createWork(), () -> sampled.doInTransaction(createWork(), () -> {
+            String html = PAGE.render(WORK_SUMMARIES, sampled);
+
+            assertThat(html).contains("Showing 1 of 2 requests in flight, 1 in every 2 is sampled.");
+        }));
+    }
+
+    @Test
+    public void htmlShowsHeaviestOfEachDimension() {
+        HttpHeavyHitters<HttpWork> hitters = new HttpHeavyHitters<>();
+        HttpWork work = createWork();
+        work.setRemoteUser("<user>");
+        hitters.closed(work);
+
+        String html = PAGE.render(WORK_SUMMARIES, null, hitters);
+
+        assertThat(html).contains("Heaviest over the last 300 seconds");
+        assertThat(html).containsPattern("<tr><td>user</td><td>&lt;user&gt;</td><td>\\d+</td></tr>");
+        assertThat(PAGE.render(WORK_SUMMARIES)).doesNotContain("class=\"heavy-hitters\"");
+    }
+
     private boolean hasSameValues(WorkSummary workSummary) {
         return TEST_WORKS.stream().anyMatch(work -> work.getRequestId()
                 .equalsIgnoreCase(workSummary.getRequestId()));
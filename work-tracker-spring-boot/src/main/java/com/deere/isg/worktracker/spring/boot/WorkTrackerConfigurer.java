@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,13 +13,13 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring.boot;
 
 import ch.qos.logback.classic.ViewStatusMessagesServlet;
 import com.deere.isg.worktracker.OutstandingWork;
 import com.deere.isg.worktracker.OutstandingWorkTracker;
 import com.deere.isg.worktracker.ZombieDetector;
+import com.deere.isg.worktracker.servlet.AdaptiveConnectionLimits;
 import com.deere.isg.worktracker.servlet.ConnectionLimits;
 import com.deere.isg.worktracker.servlet.HttpFloodSensor;
 import com.deere.isg.worktracker.servlet.RequestBouncerFilter;
@@ -34,6 +34,7 @@ import com.deere.isg.worktracker.spring.SpringRequestBouncerHandlerInterceptor;
 import com.deere.isg.worktracker.spring.SpringWork;
 import com.deere.isg.worktracker.spring.SpringWorkHttpServlet;
 import com.deere.isg.worktracker.spring.SpringWorkPostAuthFilter;
+import com.deere.isg.worktracker.spring.WorkCallableInterceptor;
 import com.deere.isg.worktracker.spring.ZombieExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +46,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
@@ -98,6 +100,7 @@ public abstract class WorkTrackerConfigurer<W extends SpringWork> extends WebMvc
     private String outstandingPath = HEALTH_OUTSTANDING_PATH;
     private String dataSourceName = DATA_SOURCE;
     private int limit = 0;
+    private boolean adaptiveLimit;
 
     private ServletContext context;
     private ApplicationContext applicationContext;
@@ -177,6 +180,11 @@ public abstract class WorkTrackerConfigurer<W extends SpringWork> extends WebMvc
         registry.addInterceptor(new SpringRequestBouncerHandlerInterceptor(floodSensor()));
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new WorkCallableInterceptor());
+    }
+
     @Bean
     @ConditionalOnMissingBean(ZombieExceptionHandler.class)
     public ZombieExceptionHandler zombieExceptionHandler() {
@@ -244,7 +252,7 @@ public abstract class WorkTrackerConfigurer<W extends SpringWork> extends WebMvc
     public ConnectionLimits<W> connectionLimits() {
         int limit = determineLimit();
         if (greaterThanMinLimit(limit)) {
-            return new ConnectionLimits<>(limit, true);
+            return isAdaptiveLimit() ? new AdaptiveConnectionLimits<>(limit) : new ConnectionLimits<>(limit, true);
         }
         return null;
     }
@@ -284,6 +292,18 @@ public abstract class WorkTrackerConfigurer<W extends SpringWork> extends WebMvc
         this.limit = limit;
     }
 
+    public boolean isAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
+    /**
+     * @param adaptiveLimit if true, the limit found by {@link #determineLimit()} is only where the total and
+     *                      service limits start, see {@link AdaptiveConnectionLimits}
+     */
+    protected void setAdaptiveLimit(boolean adaptiveLimit) {
+        this.adaptiveLimit = adaptiveLimit;
+    }
+
     protected int determineLimit() {
         int limit = getLimit();
         if (greaterThanMinLimit(limit)) {
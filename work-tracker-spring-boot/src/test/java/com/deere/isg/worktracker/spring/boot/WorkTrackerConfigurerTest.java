@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,11 +13,11 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring.boot;
 
 import com.deere.isg.worktracker.OutstandingWork;
 import com.deere.isg.worktracker.ZombieDetector;
+import com.deere.isg.worktracker.servlet.AdaptiveConnectionLimits;
 import com.deere.isg.worktracker.servlet.ConnectionLimits;
 import com.deere.isg.worktracker.servlet.HttpFloodSensor;
 import com.deere.isg.worktracker.servlet.RequestBouncerFilter;
@@ -27,6 +27,7 @@ import com.deere.isg.worktracker.spring.SpringLoggerHandlerInterceptor;
 import com.deere.isg.worktracker.spring.SpringRequestBouncerHandlerInterceptor;
 import com.deere.isg.worktracker.spring.SpringWork;
 import com.deere.isg.worktracker.spring.SpringWorkPostAuthFilter;
+import com.deere.isg.worktracker.spring.WorkCallableInterceptor;
 import integration.helpers.Conditions;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,6 +39,7 @@ import org.slf4j.Logger;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 
 import javax.servlet.ServletRequest;
@@ -170,6 +172,18 @@ public class WorkTrackerConfigurerTest {
         verify(logger, never()).warn(eq(NO_DATA_SOURCE_MSG + "dataSource"), ArgumentMatchers.isA(Exception.class));
     }
 
+    @Test
+    public void adaptiveLimitStartsFromDataSource() throws SQLException {
+        setupDataSource(DATA_SOURCE, DATA_SOURCE_LIMIT);
+        configurer.setAdaptiveLimit(true);
+
+        ConnectionLimits<SpringWork> limit = configurer.connectionLimits();
+
+        assertThat(limit).isInstanceOf(AdaptiveConnectionLimits.class);
+        assertThat(((AdaptiveConnectionLimits<SpringWork>) limit).getAdaptiveLimit().getLimit()).isEqualTo(DATA_SOURCE_LIMIT);
+        Conditions.assertConnectionLimitsNumbers(limit.getConnectionLimits(), DATA_SOURCE_LIMIT);
+    }
+
     @Test
     public void limitEqualToTen() throws SQLException {
         setupDataSource(DATA_SOURCE, 10);
@@ -218,6 +232,15 @@ public class WorkTrackerConfigurerTest {
         verify(registry).addInterceptor(any(SpringRequestBouncerHandlerInterceptor.class));
     }
 
+    @Test
+    public void callableInterceptorRegistered() {
+        AsyncSupportConfigurer asyncSupport = spy(AsyncSupportConfigurer.class);
+
+        configurer.configureAsyncSupport(asyncSupport);
+
+        verify(asyncSupport).registerCallableInterceptors(any(WorkCallableInterceptor.class));
+    }
+
     @Test
     public void excludeUrlPatterns() {
         configurer.excludePathPatterns("/test/**");
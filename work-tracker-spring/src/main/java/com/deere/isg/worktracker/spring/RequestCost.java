@@ -0,0 +1,43 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.spring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the cost of the requests handled by a controller method, or by every method of a controller,
+ * instead of letting a {@link com.deere.isg.worktracker.CostEstimator} learn it
+ * (see {@link com.deere.isg.worktracker.Work#setCost(double)}).
+ * Read by {@link SpringRequestBouncerHandlerInterceptor} before it checks the limits.
+ * <pre>{@code
+ *  &#64;RequestCost(20)
+ *  &#64;GetMapping("/reports/{id}/export")
+ *  public Report export(@PathVariable String id) {
+ *      //...
+ *  }
+ * }</pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestCost {
+    double value();
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.spring;
+
+import com.deere.isg.worktracker.servlet.Criticality;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Classifies the requests handled by a controller method, or by every method of a controller,
+ * for {@link com.deere.isg.worktracker.servlet.ConnectionLimits.LimitBuilder#byCriticality()}.
+ * Read by {@link SpringRequestBouncerHandlerInterceptor} before it checks the limits.
+ * <pre>{@code
+ *  &#64;RequestCriticality(Criticality.CRITICAL)
+ *  &#64;PostMapping("/checkout")
+ *  public Order checkout(@RequestBody Cart cart) {
+ *      //...
+ *  }
+ * }</pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestCriticality {
+    Criticality value();
+}
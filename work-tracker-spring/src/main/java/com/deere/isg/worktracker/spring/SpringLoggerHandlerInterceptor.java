@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,14 +13,15 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring;
 
 import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.Work;
 import com.deere.isg.worktracker.servlet.WorkLogger;
 import org.springframework.web.context.ServletContextAware;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -43,8 +44,11 @@ public class SpringLoggerHandlerInterceptor extends HandlerInterceptorAdapter im
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        if (outstanding != null) {
-            logger.logStart(request, outstanding.current().orElse(null));
+        if (outstanding != null && request.getDispatcherType() != DispatcherType.ASYNC) {
+            Work current = outstanding.current().orElse(null);
+            if (current == null || current.isSampled()) {
+                logger.logStart(request, current);
+            }
         }
         return true;
     }
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,13 +13,16 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring;
 
+import com.deere.isg.worktracker.servlet.Criticality;
 import com.deere.isg.worktracker.servlet.HttpFloodSensor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -28,7 +31,8 @@ import static com.deere.isg.worktracker.servlet.WorkContextListener.FLOOD_SENSOR
 
 /**
  * This class checks if the request can still pass through after user is known,
- * i.e. after user authentication occurs.
+ * i.e. after user authentication occurs, and after it is classified with {@link RequestCriticality}
+ * and its cost is declared with {@link RequestCost} or estimated from its endpoint.
  */
 public class SpringRequestBouncerHandlerInterceptor extends HandlerInterceptorAdapter implements ServletContextAware {
     private HttpFloodSensor<?> floodSensor;
@@ -42,7 +46,38 @@ public class SpringRequestBouncerHandlerInterceptor extends HandlerInterceptorAd
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        return floodSensor == null || floodSensor.mayProceedOrRedirectTooManyRequest(response);
+        return floodSensor == null || request.getDispatcherType() == DispatcherType.ASYNC
+                || floodSensor.mayProceedOrRedirectTooManyRequest(response, criticalityOf(handler), costOf(handler));
+    }
+
+    /**
+     * @return the criticality the handler method, or else its controller, is annotated with, if any
+     */
+    private Criticality criticalityOf(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        RequestCriticality annotation = method.getMethodAnnotation(RequestCriticality.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequestCriticality.class);
+        }
+        return annotation != null ? annotation.value() : null;
+    }
+
+    /**
+     * @return the cost the handler method, or else its controller, is annotated with, if any
+     */
+    private Double costOf(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        HandlerMethod method = (HandlerMethod) handler;
+        RequestCost annotation = method.getMethodAnnotation(RequestCost.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequestCost.class);
+        }
+        return annotation != null ? annotation.value() : null;
     }
 
     @Override
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.spring;
+
+import org.slf4j.MDC;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptorAdapter;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Carries the {@link MDC} of a request over to the thread that runs a {@link Callable} returned by its controller,
+ * so that what the callable logs has the metadata of the work it belongs to.
+ * <p>
+ * The work itself stays outstanding until the async request completes, see
+ * {@link com.deere.isg.worktracker.servlet.AbstractHttpWorkFilter}.
+ */
+public class WorkCallableInterceptor extends CallableProcessingInterceptorAdapter {
+    static final String MDC_ATTR = WorkCallableInterceptor.class.getName() + ".MDC";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        if (context != null) {
+            request.setAttribute(MDC_ATTR, context, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object context = request.getAttribute(MDC_ATTR, RequestAttributes.SCOPE_REQUEST);
+        if (context instanceof Map) {
+            MDC.setContextMap((Map<String, String>) context);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        MDC.clear();
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,7 +13,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring;
 
 import com.deere.clock.Clock;
@@ -97,11 +96,12 @@ public class AbstractSpringWorkFilterTest {
 
     @Test
     public void requestIsUpdatedWithSpringHandling() throws IOException, ServletException {
-
-        request.setAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, getAttributesMap());
+        request.setMethod("GET");
+        request.setRequestURI("/some user");
         filter.doFilter(request, response, (request, response) -> {
-            assertThat(MDC.get(PATH)).isEqualTo("GET /");
-            assertThat(MDC.get(ENDPOINT)).isEqualTo("GET /");
+            request.setAttribute(URI_TEMPLATE_VARIABLES_ATTRIBUTE, getAttributesMap());
+            assertThat(MDC.get(PATH)).isEqualTo("GET /{path_user_name}");
+            assertThat(MDC.get(ENDPOINT)).isEqualTo("GET /{path_user_name}");
         });
 
         assertThat(MDC.getCopyOfContextMap()).isNull();
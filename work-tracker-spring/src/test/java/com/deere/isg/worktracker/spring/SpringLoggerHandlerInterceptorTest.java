@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,11 +13,11 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring;
 
 import com.deere.clock.Clock;
 import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.SampledOutstandingWork;
 import com.deere.isg.worktracker.servlet.WorkLogger;
 import org.junit.After;
 import org.junit.Before;
@@ -28,6 +28,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -81,6 +82,30 @@ public class SpringLoggerHandlerInterceptorTest {
         verify(logger).logStart(request, springWork);
     }
 
+    @Test
+    public void noStartLogForUnsampledWork() throws Exception {
+        SampledOutstandingWork<SpringWork> sampled = new SampledOutstandingWork<>(2);
+        sampled.create(createWork());
+        SpringWork unsampled = createWork();
+        sampled.create(unsampled);
+        handlerInterceptor = new SpringLoggerHandlerInterceptor(sampled);
+        handlerInterceptor.setLogger(logger);
+
+        handlerInterceptor.preHandle(request, response, handler);
+
+        verify(logger, never()).logStart(any(), any());
+    }
+
+    @Test
+    public void noStartLogForAsyncDispatch() throws Exception {
+        MockHttpServletRequest asyncDispatch = new MockHttpServletRequest();
+        asyncDispatch.setDispatcherType(DispatcherType.ASYNC);
+
+        handlerInterceptor.preHandle(asyncDispatch, response, handler);
+
+        verify(logger, never()).logStart(any(), any());
+    }
+
     @Test
     public void noLogForNullOutstanding() throws Exception {
         when(context.getAttribute(OUTSTANDING_ATTR)).thenReturn(null);
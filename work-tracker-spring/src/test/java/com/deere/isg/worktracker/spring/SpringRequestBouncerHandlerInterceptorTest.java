@@ -1,5 +1,5 @@
 /**
- * Copyright 2018-2023 Deere & Company
+ * Copyright 2018-2026 Deere & Company
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -13,12 +13,13 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package com.deere.isg.worktracker.spring;
 
 import com.deere.clock.Clock;
+import com.deere.isg.worktracker.CostEstimator;
 import com.deere.isg.worktracker.OutstandingWork;
 import com.deere.isg.worktracker.servlet.ConnectionLimits;
+import com.deere.isg.worktracker.servlet.Criticality;
 import com.deere.isg.worktracker.servlet.HttpFloodSensor;
 import org.junit.After;
 import org.junit.Before;
@@ -28,7 +29,9 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -38,6 +41,7 @@ import static com.deere.isg.worktracker.servlet.WorkContextListener.FLOOD_SENSOR
 import static com.deere.isg.worktracker.spring.TestWorkUtils.SIZE;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -135,6 +139,57 @@ public class SpringRequestBouncerHandlerInterceptorTest {
         assertThat(handlerInterceptor.preHandle(request, response, handler)).isFalse();
     }
 
+    @Test
+    public void preHandleIsTrueForAsyncDispatch() throws Exception {
+        limit.addConnectionLimit(SIZE - 1, ConnectionLimits.TOTAL).test(x -> true);
+        MockHttpServletRequest asyncDispatch = new MockHttpServletRequest();
+        asyncDispatch.setDispatcherType(DispatcherType.ASYNC);
+
+        assertThat(handlerInterceptor.preHandle(asyncDispatch, response, handler)).isTrue();
+    }
+
+    @Test
+    public void preHandleClassifiesWorkFromHandlerAnnotation() throws Exception {
+        limit.addConnectionLimit(SIZE, ConnectionLimits.CRITICALITY).byCriticality();
+        SpringWork work = outstanding.current().get();
+
+        assertThat(handlerInterceptor.preHandle(request, response, new HandlerMethod(new Controller(), "checkout"))).isTrue();
+        assertThat(work.getCriticality()).isEqualTo(Criticality.CRITICAL);
+    }
+
+    @Test
+    public void preHandleClassifiesWorkFromControllerAnnotation() throws Exception {
+        limit.addConnectionLimit(SIZE, ConnectionLimits.CRITICALITY).byCriticality();
+        SpringWork work = outstanding.current().get();
+
+        assertThat(handlerInterceptor.preHandle(request, response, new HandlerMethod(new Controller(), "poll"))).isFalse();
+        assertThat(work.getCriticality()).isEqualTo(Criticality.SHEDDABLE);
+        assertThat(floodSensor.getRejections(Criticality.SHEDDABLE)).isEqualTo(1);
+    }
+
+    @Test
+    public void preHandleRejectsUnclassifiedWorkBeforeCriticalWork() throws Exception {
+        limit.addConnectionLimit(SIZE, ConnectionLimits.CRITICALITY).byCriticality();
+
+        assertThat(handlerInterceptor.preHandle(request, response, handler)).isFalse();
+        assertThat(floodSensor.getRejections(Criticality.DEFAULT)).isEqualTo(1);
+    }
+
+    @Test
+    public void preHandleChecksLimitsAgainOnceCostIsDeclared() throws Exception {
+        when(outstanding.addListener(any())).thenReturn(true);
+        floodSensor.setCostEstimator(new CostEstimator<>(SpringWork::getService));
+        limit.addConnectionLimit(SIZE, ConnectionLimits.USER).method(SpringWork::getRemoteUser);
+        SpringWork work = outstanding.current().get();
+        assertThat(handlerInterceptor.preHandle(request, response, handler)).isTrue();
+
+        limit.updateLimit(SIZE - 1, ConnectionLimits.USER);
+        assertThat(handlerInterceptor.preHandle(request, response, handler)).isTrue();
+        assertThat(handlerInterceptor.preHandle(request, response, new HandlerMethod(new Controller(), "export"))).isFalse();
+        assertThat(work.getCost()).isEqualTo(20);
+        assertThat(work.isCostDeclared()).isTrue();
+    }
+
     @Test
     public void nullFloodSensorReturnsTruePreHandle() throws Exception {
         when(context.getAttribute(FLOOD_SENSOR_ATTR)).thenReturn(null);
@@ -142,4 +197,18 @@ public class SpringRequestBouncerHandlerInterceptorTest {
 
         assertThat(handlerInterceptor.preHandle(request, response, handler)).isTrue();
     }
+
+    @RequestCriticality(Criticality.SHEDDABLE)
+    public static class Controller {
+        @RequestCriticality(Criticality.CRITICAL)
+        public void checkout() {
+        }
+
+        public void poll() {
+        }
+
+        @RequestCost(20)
+        public void export() {
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.spring;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkCallableInterceptorTest {
+    private static final Callable<String> TASK = () -> "result";
+
+    private WorkCallableInterceptor interceptor;
+    private NativeWebRequest request;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        MDC.clear();
+        interceptor = new WorkCallableInterceptor();
+        request = new ServletWebRequest(new MockHttpServletRequest());
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void callableThreadGetsRequestMdc() throws Exception {
+        MDC.put("request_id", "some-id");
+        interceptor.beforeConcurrentHandling(request, TASK);
+        MDC.clear();
+
+        String requestId = executor.submit(() -> {
+            interceptor.preProcess(request, TASK);
+            try {
+                return MDC.get("request_id");
+            } finally {
+                interceptor.postProcess(request, TASK, null);
+            }
+        }).get();
+
+        assertThat(requestId).isEqualTo("some-id");
+        assertThat(executor.submit(() -> MDC.getCopyOfContextMap()).get()).isNullOrEmpty();
+    }
+
+    @Test
+    public void emptyMdcIsNotCarried() throws Exception {
+        interceptor.beforeConcurrentHandling(request, TASK);
+
+        assertThat(request.getAttribute(WorkCallableInterceptor.MDC_ATTR, ServletWebRequest.SCOPE_REQUEST)).isNull();
+
+        interceptor.preProcess(request, TASK);
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import com.deere.isg.worktracker.Work;
+import net.logstash.logback.argument.StructuredArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import java.util.List;
+
+import static com.deere.isg.worktracker.Work.REQUEST_URL;
+import static com.deere.isg.worktracker.Work.TIME_INTERVAL;
+import static com.deere.isg.worktracker.servlet.HttpUtils.decodeUrl;
+import static com.deere.isg.worktracker.servlet.HttpWork.STATUS_CODE;
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Logs the start and end of an exchange with the same messages as
+ * {@link com.deere.isg.worktracker.servlet.WorkLogger}, so they are searched for the same way.
+ * The {@link org.slf4j.MDC} is not carried from one operator to the next, so the metadata of the work
+ * (see {@link Work#getMetadata()}) is logged along with the start and end instead.
+ */
+class ExchangeLogger {
+    private static final int DEFAULT_STATUS = 200;
+
+    private Logger logger = LoggerFactory.getLogger(ExchangeLogger.class);
+
+    void setLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    void logStart(ServerHttpRequest request, Work work) {
+        String url = getUrl(request);
+
+        List<StructuredArgument> startInfo = work.getMetadata();
+        startInfo.add(keyValue(TIME_INTERVAL, "start"));
+        startInfo.add(keyValue(REQUEST_URL, url));
+
+        logger.info("Start of Request: url=" + url, startInfo.toArray());
+    }
+
+    void logEnd(ServerHttpRequest request, ServerHttpResponse response, Work work) {
+        String url = getUrl(request);
+        Integer rawStatus = response.getRawStatusCode();
+        int statusCode = rawStatus != null ? rawStatus : DEFAULT_STATUS;
+
+        List<StructuredArgument> endInfo = work.getMetadata();
+        endInfo.add(keyValue(TIME_INTERVAL, "end"));
+        endInfo.add(keyValue(STATUS_CODE, statusCode));
+        endInfo.add(keyValue(REQUEST_URL, url));
+
+        logger.info("End of Request: status_code=" + statusCode + ", url=" + url, endInfo.toArray());
+    }
+
+    private String getUrl(ServerHttpRequest request) {
+        String path = decodeUrl(request.getPath().value());
+        String query = request.getURI().getRawQuery();
+        return query != null ? path + "?" + decodeUrl(query) : path;
+    }
+}
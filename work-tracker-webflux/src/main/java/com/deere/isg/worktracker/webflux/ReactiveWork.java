@@ -0,0 +1,64 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import com.deere.isg.worktracker.ZombieException;
+import com.deere.isg.worktracker.servlet.HttpWork;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * The work for one WebFlux exchange. It extends {@link HttpWork} so that the same
+ * {@link com.deere.isg.worktracker.servlet.ConnectionLimits} apply to reactive and servlet requests.
+ * <p>
+ * An exchange does not own a thread, so {@link #kill()} cancels the subscription to the rest of the
+ * filter chain (see {@link WorkWebFilter}) instead of interrupting the thread that created the work.
+ */
+public class ReactiveWork extends HttpWork {
+    private final Sinks.Empty<Void> killed = Sinks.empty();
+
+    public ReactiveWork(ServerHttpRequest request) {
+        super(null);
+        if (request != null) {
+            InetSocketAddress remoteAddress = request.getRemoteAddress();
+            if (remoteAddress != null && remoteAddress.getAddress() != null) {
+                setRemoteAddress(remoteAddress.getAddress().getHostAddress());
+            }
+            setService(request.getMethodValue() + " " + request.getPath().pathWithinApplication().value());
+            setAcceptHeader(request.getHeaders().getFirst(ACCEPT_HEADER));
+            setCriticalityHeader(request.getHeaders().getFirst(CRITICALITY_HEADER));
+            List<String> forwardedFor = request.getHeaders().get(FORWARDED_FOR_HEADER);
+            setForwardedFor(forwardedFor != null && !forwardedFor.isEmpty() ? String.join(",", forwardedFor) : null);
+        }
+    }
+
+    @Override
+    public void kill() {
+        killed.tryEmitError(new ZombieException("Request took too long"));
+    }
+
+    /**
+     * @return a Mono that fails with a {@link ZombieException} once the work is killed, and never completes otherwise
+     */
+    Mono<Void> killed() {
+        return killed.asMono();
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.webflux;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Optional;
+
+/**
+ * Gives access to the work of the current exchange, which {@link WorkWebFilter} keeps in the
+ * Reactor {@link Context} of the request rather than in a thread local, since a reactive request
+ * moves between threads.
+ * <pre>{@code
+ *  return WorkContext.current()
+ *          .map(work -> work.getRequestId())
+ *          .flatMap(requestId -> client.call(requestId));
+ * }</pre>
+ */
+public final class WorkContext {
+    private static final Class<ReactiveWork> KEY = ReactiveWork.class;
+
+    private WorkContext() {
+    }
+
+    /**
+     * @return the work of the exchange the Mono is subscribed for, or an empty Mono outside of a {@link WorkWebFilter}
+     */
+    public static Mono<ReactiveWork> current() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(get(context)));
+    }
+
+    /**
+     * @param context the context of a subscriber, i.e. from {@code Mono.deferContextual}
+     * @return the work of the exchange the context belongs to
+     */
+    public static Optional<ReactiveWork> get(ContextView context) {
+        return context.getOrEmpty(KEY);
+    }
+
+    static Context put(Context context, ReactiveWork work) {
+        return context.put(KEY, work);
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import com.deere.isg.outstanding.Outstanding;
+import com.deere.isg.worktracker.OutstandingWorkTracker;
+import com.deere.isg.worktracker.OverCapacityException;
+import com.deere.isg.worktracker.ZombieException;
+import com.deere.isg.worktracker.servlet.HttpFloodSensor;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The WebFlux counterpart of {@link com.deere.isg.worktracker.servlet.HttpWorkFilter} and
+ * {@link com.deere.isg.worktracker.servlet.RequestBouncerFilter}: creates a work for every exchange,
+ * keeps it outstanding until the response completes, and rejects it with 429 Too Many Requests
+ * when it is over the {@link com.deere.isg.worktracker.servlet.ConnectionLimits} of the flood sensor.
+ * <p>
+ * The work is kept in the Reactor context (see {@link WorkContext}) instead of the {@link MDC}, which is
+ * cleared again once the work is created, since the thread goes on to serve other exchanges.
+ * Admission only looks at the outstanding work, so it never blocks the event loop.
+ * <p>
+ * A zombie is killed by cancelling the rest of the chain and responding 504 Gateway Timeout
+ * if the response has not been committed yet.
+ *
+ * @param <W> The type of work created for each exchange
+ */
+public class WorkWebFilter<W extends ReactiveWork> implements WebFilter {
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final int OVER_CAPACITY_RETRY_SECONDS = 1;
+    private static final int SC_INTERNAL_SERVER_ERROR = 500;
+
+    private final OutstandingWorkTracker<W> outstanding;
+    private final Function<ServerWebExchange, W> workFactory;
+    private final HttpFloodSensor<W> floodSensor;
+    private ExchangeLogger logger = new ExchangeLogger();
+
+    public WorkWebFilter(OutstandingWorkTracker<W> outstanding, Function<ServerWebExchange, W> workFactory) {
+        this(outstanding, workFactory, null);
+    }
+
+    /**
+     * @param outstanding the tracker, also used by the {@link com.deere.isg.worktracker.ZombieDetector}
+     * @param workFactory creates the work for an exchange, i.e. {@code exchange -> new ReactiveWork(exchange.getRequest())}
+     * @param floodSensor checks the connection limits, or null to admit every exchange
+     */
+    public WorkWebFilter(OutstandingWorkTracker<W> outstanding, Function<ServerWebExchange, W> workFactory,
+                         HttpFloodSensor<W> floodSensor) {
+        this.outstanding = outstanding;
+        this.workFactory = workFactory;
+        this.floodSensor = floodSensor;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> {
+            W work;
+            Outstanding<W>.Ticket ticket;
+            Optional<Integer> retryAfter;
+            try {
+                work = workFactory.apply(exchange);
+                ticket = outstanding.create(work);
+                retryAfter = admit(work, ticket);
+            } catch (OverCapacityException e) {
+                return reject(exchange, OVER_CAPACITY_RETRY_SECONDS);
+            } finally {
+                MDC.clear();
+            }
+            if (retryAfter.isPresent()) {
+                return reject(exchange, retryAfter.get());
+            }
+
+            try {
+                if (work.isSampled()) {
+                    logger.logStart(exchange.getRequest(), work);
+                }
+            } catch (RuntimeException | Error e) {
+                ticket.close();
+                throw e;
+            }
+            return Mono.firstWithSignal(chain.filter(exchange), work.killed())
+                    .onErrorResume(ZombieException.class, e -> respondGatewayTimeout(exchange.getResponse()))
+                    .contextWrite(context -> WorkContext.put(context, work))
+                    .doFinally(signal -> end(exchange, work, ticket, signal));
+        });
+    }
+
+    /**
+     * Checks the flood sensor for the work that was just created, which is then no longer left as the current work
+     * of the thread. The ticket is closed if the work is rejected or the check fails.
+     */
+    private Optional<Integer> admit(W work, Outstanding<W>.Ticket ticket) {
+        try {
+            Optional<Integer> retryAfter = floodSensor != null ? floodSensor.shouldRetryLater(work) : Optional.empty();
+            if (retryAfter.isPresent()) {
+                ticket.close();
+            }
+            return retryAfter;
+        } catch (RuntimeException | Error e) {
+            ticket.close();
+            throw e;
+        } finally {
+            outstanding.detach();
+        }
+    }
+
+    private void end(ServerWebExchange exchange, W work, Outstanding<W>.Ticket ticket, SignalType signal) {
+        ticket.close();
+        if (shouldLogEnd(work, exchange.getResponse(), signal == SignalType.ON_COMPLETE)) {
+            logger.logEnd(exchange.getRequest(), exchange.getResponse(), work);
+        }
+    }
+
+    /**
+     * Work that a {@link com.deere.isg.worktracker.SampledOutstandingWork} did not sample is only logged
+     * when it ends if it failed, was cancelled or responded with a server error.
+     */
+    private boolean shouldLogEnd(W work, ServerHttpResponse response, boolean completed) {
+        Integer status = response.getRawStatusCode();
+        return work.isSampled() || !completed || (status != null && status >= SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, int retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private Mono<Void> respondGatewayTimeout(ServerHttpResponse response) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(HttpStatus.GATEWAY_TIMEOUT);
+        return response.setComplete();
+    }
+
+    void setLogger(ExchangeLogger logger) {
+        this.logger = logger;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.URI;
+
+import static com.deere.isg.worktracker.Work.REQUEST_ID;
+import static com.deere.isg.worktracker.Work.REQUEST_URL;
+import static com.deere.isg.worktracker.Work.TIME_INTERVAL;
+import static com.deere.isg.worktracker.servlet.HttpWork.PATH;
+import static com.deere.isg.worktracker.servlet.HttpWork.STATUS_CODE;
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExchangeLoggerTest {
+    @Mock
+    private Logger mockLogger;
+
+    private ExchangeLogger logger;
+    private MockServerWebExchange exchange;
+
+    @Before
+    public void setUp() {
+        logger = new ExchangeLogger();
+        logger.setLogger(mockLogger);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET, URI.create("/some%20path?q=a%20b")).build());
+    }
+
+    @Test
+    public void logsStartWithDecodedUrl() {
+        logger.logStart(exchange.getRequest(), new ReactiveWork(exchange.getRequest()));
+
+        verify(mockLogger).info(eq("Start of Request: url=/some path?q=a b"), (Object[]) any());
+    }
+
+    @Test
+    public void logsEndWithStatus() {
+        exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+
+        logger.logEnd(exchange.getRequest(), exchange.getResponse(), new ReactiveWork(exchange.getRequest()));
+
+        verify(mockLogger).info(eq("End of Request: status_code=404, url=/some path?q=a b"), (Object[]) any());
+    }
+
+    @Test
+    public void logsStartAndEndWithMetadataOfWork() {
+        ReactiveWork work = new ReactiveWork(exchange.getRequest());
+        ArgumentCaptor<Object> start = ArgumentCaptor.forClass(Object.class);
+        ArgumentCaptor<Object> end = ArgumentCaptor.forClass(Object.class);
+
+        logger.logStart(exchange.getRequest(), work);
+        verify(mockLogger).info(eq("Start of Request: url=/some path?q=a b"), (Object[]) start.capture());
+        logger.logEnd(exchange.getRequest(), exchange.getResponse(), work);
+        verify(mockLogger).info(eq("End of Request: status_code=200, url=/some path?q=a b"),
+                (Object[]) end.capture());
+
+        assertThat(start.getAllValues()).contains(keyValue(REQUEST_ID, work.getRequestId()),
+                keyValue(PATH, work.getService()), keyValue(TIME_INTERVAL, "start"),
+                keyValue(REQUEST_URL, "/some path?q=a b"));
+        assertThat(end.getAllValues()).contains(keyValue(REQUEST_ID, work.getRequestId()),
+                keyValue(TIME_INTERVAL, "end"), keyValue(STATUS_CODE, 200));
+    }
+
+    @Test
+    public void logsEndWithOkIfNoStatus() {
+        logger.logEnd(exchange.getRequest(), exchange.getResponse(), new ReactiveWork(exchange.getRequest()));
+
+        verify(mockLogger).info(eq("End of Request: status_code=200, url=/some path?q=a b"), (Object[]) any());
+    }
+}
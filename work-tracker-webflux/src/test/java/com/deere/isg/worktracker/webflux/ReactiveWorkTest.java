@@ -0,0 +1,81 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import com.deere.isg.worktracker.ZombieException;
+import com.deere.isg.worktracker.servlet.Criticality;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReactiveWorkTest {
+    @After
+    public void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    public void valuesComeFromRequest() {
+        ReactiveWork work = new ReactiveWork(MockServerHttpRequest.post("/orders/12")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 8080))
+                .header("Accept", "application/json")
+                .header("X-Criticality", "sheddable")
+                .header("X-Forwarded-For", "198.51.100.7", "10.0.0.1")
+                .build());
+
+        assertThat(work.getService()).isEqualTo("POST /orders/12");
+        assertThat(work.getRemoteAddress()).isEqualTo("127.0.0.1");
+        assertThat(work.getAcceptHeader()).isEqualTo("application/json");
+        assertThat(work.getCriticality()).isEqualTo(Criticality.SHEDDABLE);
+        assertThat(work.getForwardedFor()).isEqualTo("198.51.100.7,10.0.0.1");
+    }
+
+    @Test
+    public void criticalityHeaderMayNotRaiseCriticality() {
+        ReactiveWork work = new ReactiveWork(MockServerHttpRequest.post("/orders/12")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 8080))
+                .header("X-Criticality", "critical")
+                .build());
+
+        assertThat(work.getCriticality()).isEqualTo(Criticality.DEFAULT);
+    }
+
+    @Test
+    public void nullRequestHasNoValues() {
+        ReactiveWork work = new ReactiveWork(null);
+
+        assertThat(work.getService()).isNull();
+        assertThat(work.getRemoteAddress()).isNull();
+        assertThat(work.getForwardedFor()).isNull();
+    }
+
+    @Test
+    public void killFailsKilledInsteadOfInterrupting() {
+        ReactiveWork work = new ReactiveWork(null);
+
+        work.kill();
+
+        assertThat(Thread.interrupted()).isFalse();
+        StepVerifier.create(work.killed()).verifyError(ZombieException.class);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.webflux;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WorkContextTest {
+    @Test
+    public void currentIsWorkInContext() {
+        ReactiveWork work = new ReactiveWork(null);
+
+        StepVerifier.create(WorkContext.current().contextWrite(context -> WorkContext.put(context, work)))
+                .expectNext(work)
+                .verifyComplete();
+    }
+
+    @Test
+    public void currentIsEmptyWithoutWork() {
+        StepVerifier.create(WorkContext.current()).verifyComplete();
+    }
+
+    @Test
+    public void getReadsContextView() {
+        ReactiveWork work = new ReactiveWork(null);
+
+        assertThat(WorkContext.get(WorkContext.put(Context.empty(), work))).contains(work);
+        assertThat(WorkContext.get(Context.empty())).isEmpty();
+        StepVerifier.create(Mono.deferContextual(context -> Mono.justOrEmpty(WorkContext.get(context))))
+                .verifyComplete();
+    }
+}
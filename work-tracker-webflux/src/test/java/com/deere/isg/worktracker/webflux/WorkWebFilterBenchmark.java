@@ -0,0 +1,116 @@
+/**
+ * Copyright 2018-2026 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.deere.isg.worktracker.webflux;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.servlet.HttpFloodSensor;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link WorkWebFilter} adds to every exchange, against a bare filter that only calls the chain:
+ * building the work, tracking it in the context, checking the connection limits, and logging its start and end,
+ * with a handler that does nothing. The logs are encoded but thrown away.
+ * <p>
+ * It sits with the tests because the benchmarks module is built against Spring 4. Run with
+ * <pre>{@code
+ *  mvn -pl work-tracker-webflux test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *  java -cp work-tracker-webflux/target/test-classes:work-tracker-webflux/target/classes:$(cat work-tracker-webflux/target/cp.txt) \
+ *      org.openjdk.jmh.Main WorkWebFilter
+ * }</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WorkWebFilterBenchmark {
+    private static final WebFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+    private static final WebFilter BARE_FILTER = (exchange, chain) -> chain.filter(exchange);
+
+    @Param({"bare", "tracked"})
+    private String filter;
+
+    private WebFilter webFilter;
+    private MockServerWebExchange exchange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        discardLogs();
+        OutstandingWork<ReactiveWork> outstanding = new OutstandingWork<>();
+        webFilter = "tracked".equals(filter)
+                ? new WorkWebFilter<>(outstanding, ex -> new ReactiveWork(ex.getRequest()), new HttpFloodSensor<>(outstanding))
+                : BARE_FILTER;
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users/123/orders")
+                .header("Accept", "application/json"));
+    }
+
+    @Benchmark
+    public void filter() {
+        webFilter.filter(exchange, NO_OP_CHAIN).block();
+    }
+
+    private void discardLogs() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+        appender.start();
+
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+    }
+}
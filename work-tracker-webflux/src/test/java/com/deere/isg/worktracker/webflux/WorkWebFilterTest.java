@@ -0,0 +1,203 @@
+/**
+ * Copyright 2018-2023 Deere & Company
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.deere.isg.worktracker.webflux;
+
+import com.deere.isg.worktracker.BoundedOutstandingWork;
+import com.deere.isg.worktracker.OutstandingWork;
+import com.deere.isg.worktracker.SampledOutstandingWork;
+import com.deere.isg.worktracker.servlet.ConnectionLimits;
+import com.deere.isg.worktracker.servlet.HttpFloodSensor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WorkWebFilterTest {
+    @Mock
+    private ExchangeLogger logger;
+
+    private OutstandingWork<ReactiveWork> outstanding;
+    private WorkWebFilter<ReactiveWork> filter;
+    private MockServerWebExchange exchange;
+
+    @Before
+    public void setUp() {
+        outstanding = new OutstandingWork<>();
+        filter = createFilter(null);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/some/path"));
+    }
+
+    @Test
+    public void workIsOutstandingAndInContextDuringChain() {
+        AtomicReference<ReactiveWork> inContext = new AtomicReference<>();
+        WebFilterChain chain = ex -> WorkContext.current()
+                .doOnNext(inContext::set)
+                .doOnNext(work -> assertThat(outstanding.stream()).containsExactly(work))
+                .then();
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(inContext.get()).isNotNull();
+        assertThat(inContext.get().getService()).isEqualTo("GET /some/path");
+        assertThat(outstanding.stream()).isEmpty();
+        verify(logger).logStart(exchange.getRequest(), inContext.get());
+        verify(logger).logEnd(exchange.getRequest(), exchange.getResponse(), inContext.get());
+    }
+
+    @Test
+    public void mdcIsClearedOnceWorkIsCreated() {
+        Mono<Void> result = filter.filter(exchange, ex -> Mono.empty());
+
+        StepVerifier.create(result).verifyComplete();
+
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+
+    @Test
+    public void overConnectionLimitRespondsTooManyRequests() {
+        ConnectionLimits<ReactiveWork> limits = new ConnectionLimits<>(false);
+        limits.addConnectionLimit(0, ConnectionLimits.TOTAL).test(work -> true);
+        filter = createFilter(new HttpFloodSensor<>(outstanding, limits));
+        AtomicBoolean called = new AtomicBoolean();
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.fromRunnable(() -> called.set(true)))).verifyComplete();
+
+        assertThat(called).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isNotNull();
+        assertThat(outstanding.stream()).isEmpty();
+    }
+
+    @Test
+    public void workIsNotLeftCurrentOnThreadOnceAdmitted() {
+        Mono<Void> result = filter.filter(exchange, ex -> Mono.never());
+
+        StepVerifier.create(result)
+                .then(() -> {
+                    assertThat(outstanding.stream()).hasSize(1);
+                    assertThat(outstanding.current()).isEmpty();
+                })
+                .thenCancel()
+                .verify();
+
+        assertThat(outstanding.stream()).isEmpty();
+    }
+
+    @Test
+    public void failedAdmissionCheckClosesTicket() {
+        HttpFloodSensor<ReactiveWork> floodSensor = mock(HttpFloodSensor.class);
+        when(floodSensor.shouldRetryLater(any())).thenThrow(new IllegalStateException());
+        filter = createFilter(floodSensor);
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyError(IllegalStateException.class);
+
+        assertThat(outstanding.stream()).isEmpty();
+        assertThat(outstanding.current()).isEmpty();
+    }
+
+    @Test
+    public void failedStartLogClosesTicket() {
+        doThrow(new IllegalStateException()).when(logger).logStart(any(), any());
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyError(IllegalStateException.class);
+
+        assertThat(outstanding.stream()).isEmpty();
+    }
+
+    @Test
+    public void overCapacityRespondsTooManyRequests() {
+        filter = new WorkWebFilter<>(new BoundedOutstandingWork<>(0, true), ex -> new ReactiveWork(ex.getRequest()));
+        filter.setLogger(logger);
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        verifyZeroInteractions(logger);
+    }
+
+    @Test
+    public void killCancelsChainAndRespondsGatewayTimeout() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<Void> result = filter.filter(exchange, ex -> Mono.<Void>never().doOnCancel(() -> cancelled.set(true)));
+
+        StepVerifier.create(result)
+                .then(() -> outstanding.stream().forEach(ReactiveWork::kill))
+                .verifyComplete();
+
+        assertThat(cancelled).isTrue();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(outstanding.stream()).isEmpty();
+        verify(logger).logEnd(eq(exchange.getRequest()), eq(exchange.getResponse()), any());
+    }
+
+    @Test
+    public void unsampledWorkIsNotLogged() {
+        outstanding = new SampledOutstandingWork<>(2);
+        outstanding.doInTransaction(new ReactiveWork(null), () -> {
+        });
+        filter = createFilter(null);
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        verify(logger, never()).logStart(any(), any());
+        verify(logger, never()).logEnd(any(), any(), any());
+    }
+
+    @Test
+    public void unsampledWorkWithErrorLogsEnd() {
+        outstanding = new SampledOutstandingWork<>(2);
+        outstanding.doInTransaction(new ReactiveWork(null), () -> {
+        });
+        filter = createFilter(null);
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+
+        verify(logger, never()).logStart(any(), any());
+        verify(logger).logEnd(eq(exchange.getRequest()), eq(exchange.getResponse()), any());
+    }
+
+    private WorkWebFilter<ReactiveWork> createFilter(HttpFloodSensor<ReactiveWork> floodSensor) {
+        WorkWebFilter<ReactiveWork> workFilter =
+                new WorkWebFilter<>(outstanding, ex -> new ReactiveWork(ex.getRequest()), floodSensor);
+        workFilter.setLogger(logger);
+        return workFilter;
+    }
+}